@@ -1,5 +1,6 @@
 package com.ooter.backend;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
@@ -17,7 +18,7 @@ public class OoterBackendApplication {
 	}
 
 	@Bean
-	public BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public BCryptPasswordEncoder passwordEncoder(@Value("${ooter.auth.bcrypt.strength:10}") int strength) {
+		return new BCryptPasswordEncoder(strength);
 	}
 }
@@ -0,0 +1,29 @@
+package com.ooter.backend.cache;
+
+/**
+ * One eviction, as broadcast to the other instances. {@code key} is the canonical string
+ * key for {@link Scope#KEY}, the tag value for {@link Scope#TAG} and {@code null} for
+ * {@link Scope#ALL}.
+ */
+public record CacheInvalidation(String origin, String cacheName, Scope scope, String key) {
+
+    public enum Scope {
+        KEY,
+        TAG,
+        ALL
+    }
+
+    /** Tab-separated wire form; the key goes last so it may contain tabs itself. */
+    String encode() {
+        return origin + '\t' + cacheName + '\t' + scope + '\t' + (key == null ? "" : key);
+    }
+
+    static CacheInvalidation decode(String payload) {
+        String[] parts = payload.split("\t", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed cache invalidation: " + payload);
+        }
+        Scope scope = Scope.valueOf(parts[2]);
+        return new CacheInvalidation(parts[0], parts[1], scope, scope == Scope.ALL ? null : parts[3]);
+    }
+}
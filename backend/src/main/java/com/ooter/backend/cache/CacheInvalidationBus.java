@@ -0,0 +1,21 @@
+package com.ooter.backend.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache evictions between instances. Subscribers also receive the messages this
+ * instance published and are expected to skip them by {@link CacheInvalidation#origin()}.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> subscriber);
+
+    /**
+     * Registers a callback run after the bus reconnects, when messages sent while it was
+     * disconnected are lost. Buses that cannot lose messages never call it.
+     */
+    default void onReconnect(Runnable callback) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.ooter.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ooter.backend.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Point-in-time statistics of every cache in {@link CacheConfig#CACHE_NAMES} and of the
+ * hoarding response cache.
+ * <p>
+ * Sizes of the object caches are the JSON size of a few sampled values times the entry
+ * count. That is what an entry would cost on the wire or in a remote L2, not its retained
+ * heap, which for entities and collections is usually several times larger; use it to
+ * compare caches, not to size the heap. When the L2 tier lives in this heap too, its entries
+ * and size are reported next to L1's. The response cache holds the serialized bodies
+ * themselves, so its size is exact.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetrics {
+
+    private static final int SIZE_SAMPLES = 16;
+
+    private final CacheManager cacheManager;
+    private final HoardingResponseCacheFilter responseCacheFilter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * {@code sharedHits} counts L1 misses answered by L2; null for caches without one.
+     * {@code sharedEntries} and {@code sharedEstimatedSerializedBytes} describe an L2 held in
+     * this heap and are null otherwise.
+     */
+    public record CacheReport(
+            String name,
+            long entries,
+            Long maximumSize,
+            Long maximumWeight,
+            long hits,
+            long misses,
+            double hitRate,
+            Long sharedHits,
+            long evictions,
+            long estimatedSerializedBytes,
+            Long sharedEntries,
+            Long sharedEstimatedSerializedBytes,
+            LatencyHistogram.Snapshot loadTimes) {
+    }
+
+    public List<CacheReport> report() {
+        List<CacheReport> reports = new ArrayList<>();
+        for (String name : CacheConfig.CACHE_NAMES) {
+            if (cacheManager.getCache(name) instanceof TwoTierCache cache) {
+                Cache<String, Object> local = cache.getNativeCache();
+                Cache<String, Object> shared = cache.sharedHeapCache();
+                reports.add(report(name, local, cache.sharedHitCount(), estimateSerializedBytes(local),
+                        shared != null ? shared.estimatedSize() : null,
+                        shared != null ? estimateSerializedBytes(shared) : null,
+                        cache.loadTimes().snapshot()));
+            }
+        }
+        Cache<String, HoardingResponseCacheFilter.CachedResponse> responses = responseCacheFilter.getNativeCache();
+        long bytes = responses.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        reports.add(report("hoardingResponses", responses, null, bytes, null, null, null));
+        return reports;
+    }
+
+    private static CacheReport report(String name, Cache<?, ?> cache, Long sharedHits,
+                                      long estimatedSerializedBytes, Long sharedEntries,
+                                      Long sharedEstimatedSerializedBytes,
+                                      LatencyHistogram.Snapshot loadTimes) {
+        CacheStats stats = cache.stats();
+        Policy.Eviction<?, ?> eviction = cache.policy().eviction().orElse(null);
+        boolean weighted = eviction != null && eviction.isWeighted();
+        Long maximum = eviction != null ? eviction.getMaximum() : null;
+        return new CacheReport(
+                name,
+                cache.estimatedSize(),
+                weighted ? null : maximum,
+                weighted ? maximum : null,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                sharedHits,
+                stats.evictionCount(),
+                estimatedSerializedBytes,
+                sharedEntries,
+                sharedEstimatedSerializedBytes,
+                loadTimes);
+    }
+
+    private long estimateSerializedBytes(Cache<String, Object> cache) {
+        long entries = cache.estimatedSize();
+        if (entries == 0) {
+            return 0;
+        }
+        long sampledBytes = 0;
+        int sampled = 0;
+        Iterator<Object> values = cache.asMap().values().iterator();
+        while (values.hasNext() && sampled < SIZE_SAMPLES) {
+            try {
+                sampledBytes += objectMapper.writeValueAsBytes(values.next()).length;
+                sampled++;
+            } catch (Exception e) {
+                // Not serializable as JSON; leave it out of the estimate
+            }
+        }
+        return sampled == 0 ? 0 : sampledBytes / sampled * entries;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ooter.backend.cache;
+
+/**
+ * A label shared by cache entries that depend on the same record. Passing a tag as the key
+ * of {@code Cache.evict} (or {@code @CacheEvict}) evicts every entry carrying it:
+ * <pre>
+ * &#64;CacheEvict(value = "vendorDashboard", key = "T(com.ooter.backend.cache.CacheTag).vendor(#user.id)")
+ * </pre>
+ */
+public record CacheTag(String value) {
+
+    public static CacheTag vendor(Long vendorId) {
+        return new CacheTag("vendor:" + vendorId);
+    }
+
+    public static CacheTag hoarding(Long hoardingId) {
+        return new CacheTag("hoarding:" + hoardingId);
+    }
+
+    public static CacheTag user(Long userId) {
+        return new CacheTag("user:" + userId);
+    }
+}
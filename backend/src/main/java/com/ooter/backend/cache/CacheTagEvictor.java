@@ -0,0 +1,47 @@
+package com.ooter.backend.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Programmatic counterpart of {@code @CacheEvict}, by tag or by key. Inside a transaction
+ * the eviction runs after commit, so a read that starts before the commit cannot put the
+ * old view back; without one it runs immediately. Controllers call it after their write
+ * rather than using {@code @CacheEvict}, so a rejected request evicts nothing.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheTagEvictor {
+
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** {@code key} is a {@link CacheTag} or a plain cache key. */
+    public record Eviction(Object key, List<String> cacheNames) {
+    }
+
+    public void evict(CacheTag tag, String... cacheNames) {
+        eventPublisher.publishEvent(new Eviction(tag, List.of(cacheNames)));
+    }
+
+    /** Evicts one entry, such as a booking by order id, from each of the caches. */
+    public void evictKey(Object key, String... cacheNames) {
+        eventPublisher.publishEvent(new Eviction(key, List.of(cacheNames)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEviction(Eviction eviction) {
+        for (String name : eviction.cacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.evict(eviction.key());
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ooter.backend.cache;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Derives the tags of a cache entry when it is stored. Taggers must be cheap and must not
+ * throw; an entry without tags can still be evicted by key or by clearing its cache.
+ */
+@FunctionalInterface
+public interface CacheTagger {
+
+    Set<CacheTag> tags(Object key, Object value);
+
+    /**
+     * Tags by the key itself, or by its first element for composite keys such as
+     * {@code {#user.id, 'booked', #page}}.
+     */
+    static CacheTagger byLeadingKey(Function<Long, CacheTag> tag) {
+        return (key, value) -> {
+            Object leading = key instanceof List<?> parts && !parts.isEmpty() ? parts.get(0) : key;
+            return leading instanceof Number id ? Set.of(tag.apply(id.longValue())) : Set.of();
+        };
+    }
+}
@@ -0,0 +1,210 @@
+package com.ooter.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ooter.backend.entity.Role;
+import com.ooter.backend.entity.User;
+import com.ooter.backend.repository.UserRepository;
+import com.ooter.backend.search.HoardingCatalog;
+import com.ooter.backend.service.HoardingListingService;
+import com.ooter.backend.service.VendorViewService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the caches behind the most requested views before clients ask for them: the
+ * default and per-city hoarding listing in {@link HoardingResponseCacheFilter}, and the
+ * {@code /dashboard} and {@code /listing-dashboard} caches of active vendors.
+ * <p>
+ * The keys are the configured ones plus the hottest ones {@link HotKeyRecorder} saw. They
+ * are replayed after startup and after bulk evictions, on at most {@code concurrency}
+ * threads so the warm-up never takes the whole connection pool.
+ */
+@Slf4j
+@Component
+public class CacheWarmer {
+
+    private static final String HOARDINGS_PATH = "/api/hoardings";
+    private static final long CATALOG_POLL_MILLIS = 1000;
+
+    private final HotKeyRecorder hotKeyRecorder;
+    private final UserRepository userRepository;
+    private final VendorViewService vendorViewService;
+    private final HoardingListingService hoardingListingService;
+    private final HoardingResponseCacheFilter responseCacheFilter;
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+    private final HoardingCatalog hoardingCatalog;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int concurrency;
+    private final List<String> cities;
+    private final List<Long> vendorIds;
+    private final int topCities;
+    private final int topVendors;
+    private final Duration catalogTimeout;
+    private final String contextPath;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CacheWarmer(HotKeyRecorder hotKeyRecorder, UserRepository userRepository,
+                       VendorViewService vendorViewService, HoardingListingService hoardingListingService,
+                       HoardingResponseCacheFilter responseCacheFilter,
+                       ConditionalGetInterceptor conditionalGetInterceptor,
+                       HoardingCatalog hoardingCatalog, ObjectMapper objectMapper,
+                       @Value("${ooter.cache.warmup.enabled:true}") boolean enabled,
+                       @Value("${ooter.cache.warmup.concurrency:3}") int concurrency,
+                       @Value("${ooter.cache.warmup.cities:}") List<String> cities,
+                       @Value("${ooter.cache.warmup.vendor-ids:}") List<Long> vendorIds,
+                       @Value("${ooter.cache.warmup.top-cities:20}") int topCities,
+                       @Value("${ooter.cache.warmup.top-vendors:50}") int topVendors,
+                       @Value("${ooter.cache.warmup.catalog-timeout:5m}") Duration catalogTimeout,
+                       @Value("${server.servlet.context-path:}") String contextPath) {
+        this.hotKeyRecorder = hotKeyRecorder;
+        this.userRepository = userRepository;
+        this.vendorViewService = vendorViewService;
+        this.hoardingListingService = hoardingListingService;
+        this.responseCacheFilter = responseCacheFilter;
+        this.conditionalGetInterceptor = conditionalGetInterceptor;
+        this.hoardingCatalog = hoardingCatalog;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.concurrency = Math.max(1, concurrency);
+        this.cities = cities;
+        this.vendorIds = vendorIds;
+        this.topCities = topCities;
+        this.topVendors = topVendors;
+        this.catalogTimeout = catalogTimeout;
+        this.contextPath = contextPath;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmInBackground() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        Thread warmer = new Thread(() -> {
+            try {
+                warm();
+            } finally {
+                running.set(false);
+            }
+        }, "cache-warmup");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    void warm() {
+        long started = System.currentTimeMillis();
+        AtomicInteger warmed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Set<Long> vendors = new LinkedHashSet<>(vendorIds);
+            hotKeyRecorder.hottest(HotKeyRecorder.VENDOR, topVendors).forEach(id -> vendors.add(Long.valueOf(id)));
+            for (Long vendorId : vendors) {
+                pool.execute(() -> warmVendor(vendorId, warmed));
+            }
+
+            // Listing responses are keyed on the catalog version, so they wait for it.
+            if (awaitCatalog()) {
+                Set<String> warmCities = new LinkedHashSet<>();
+                warmCities.add("");
+                warmCities.addAll(cities);
+                warmCities.addAll(hotKeyRecorder.hottest(HotKeyRecorder.CITY, topCities));
+                for (String city : warmCities) {
+                    pool.execute(() -> run(warmed, "city '" + city + "'", () -> warmListing(city)));
+                }
+            } else {
+                log.warn("Hoarding catalog not ready after {}, skipping listing warm-up", catalogTimeout);
+            }
+
+            pool.shutdown();
+            pool.awaitTermination(catalogTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Cache warm-up: {} views in {} ms", warmed.get(), System.currentTimeMillis() - started);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Cache warm-up failed", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private boolean awaitCatalog() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + catalogTimeout.toMillis();
+        while (!hoardingCatalog.isReady()) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            Thread.sleep(CATALOG_POLL_MILLIS);
+        }
+        return true;
+    }
+
+    private void warmVendor(long vendorId, AtomicInteger warmed) {
+        User vendor;
+        try {
+            vendor = userRepository.findById(vendorId).orElse(null);
+        } catch (Exception e) {
+            log.warn("Cache warm-up of vendor {} failed: {}", vendorId, e.getMessage());
+            return;
+        }
+        if (vendor == null || vendor.getRole() != Role.VENDOR) {
+            return;
+        }
+        run(warmed, "dashboard of vendor " + vendorId, () -> vendorViewService.dashboard(vendorId));
+        run(warmed, "listing stats of vendor " + vendorId, () -> vendorViewService.listingStats(vendorId));
+    }
+
+    private void warmListing(String city) throws Exception {
+        String cityParam = city.isEmpty() ? null : city;
+        Map<String, String[]> params = cityParam == null ? Map.of() : Map.of("city", new String[]{cityParam});
+        responseCacheFilter.prime(contextPath + HOARDINGS_PATH, params, () -> {
+            ConditionalGetInterceptor.Validators validators = conditionalGetInterceptor.validators(
+                    new LastModifiedRegistry.Scope[]{LastModifiedRegistry.Scope.HOARDINGS}, 0L);
+            HoardingListingService.ListingPage listing =
+                    hoardingListingService.list(HoardingListingService.ListingQuery.ofCity(cityParam));
+            HttpHeaders headers = listing.headers();
+            headers.setETag(validators.etag());
+            headers.setLastModified(validators.lastModified());
+            List<Map.Entry<String, String>> flat = new ArrayList<>();
+            headers.forEach((name, values) -> values.forEach(value -> flat.add(Map.entry(name, value))));
+            return new HoardingResponseCacheFilter.Rendered(MediaType.APPLICATION_JSON_VALUE, flat,
+                    objectMapper.writeValueAsBytes(listing.content()));
+        });
+    }
+
+    private static void run(AtomicInteger warmed, String what, WarmTask task) {
+        try {
+            task.run();
+            warmed.incrementAndGet();
+        } catch (Exception e) {
+            log.warn("Cache warm-up of {} failed: {}", what, e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface WarmTask {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ooter.backend.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response only changes when one of the given
+ * {@link LastModifiedRegistry} scopes is bumped. {@link ConditionalGetInterceptor} answers
+ * matching {@code If-None-Match} / {@code If-Modified-Since} requests with 304 before the
+ * handler runs, and sets {@code ETag} and {@code Last-Modified} on the 2xx responses it
+ * lets through.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    /** Scopes the response is built from; the latest of them wins. */
+    LastModifiedRegistry.Scope[] value();
+
+    /** Where the scope id comes from; scopes such as {@code HOARDINGS} need none. */
+    Id id() default Id.NONE;
+
+    /** Name of the path variable holding the id, for {@link Id#PATH_VARIABLE}. */
+    String pathVariable() default "";
+
+    /**
+     * Query parameters that make the response depend on more than the scopes, such as a
+     * date range checked against bookings. Requests carrying one are left alone.
+     */
+    String[] unlessParams() default {};
+
+    /**
+     * Whether the response also depends on today's date, such as a range that defaults to
+     * the current month. Validators then change at midnight.
+     */
+    boolean dependsOnDate() default false;
+
+    enum Id {
+        NONE,
+        /** The authenticated user; unauthenticated requests go through to the handler. */
+        CURRENT_USER,
+        PATH_VARIABLE
+    }
+}
@@ -0,0 +1,201 @@
+package com.ooter.backend.cache;
+
+import com.ooter.backend.security.AuthenticatedUser;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Conditional GET handling for {@link ConditionalGet} handlers, driven by
+ * {@link LastModifiedRegistry} so a revalidation costs a map lookup and no query.
+ * <p>
+ * The strong ETag is derived from the scopes, their ids and their last-modified times in
+ * milliseconds, which the registry keeps identical across instances, plus the representation
+ * version, so a release that changes a response body also changes its ETag. Handlers marked
+ * {@link ConditionalGet#dependsOnDate()} also mix in today's date. Gzipped bodies served by
+ * {@link HoardingResponseCacheFilter} carry the ETag with a {@code -gz} suffix, and
+ * {@code If-None-Match} accepts either form. It takes precedence over
+ * {@code If-Modified-Since}; the latter accepts RFC 1123 dates as well as the ISO-8601
+ * instants older app builds send.
+ * <p>
+ * Validators are only attached to 2xx responses, by {@link ConditionalGetResponseAdvice};
+ * this interceptor leaves them in a request attribute.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    /** Request attribute holding the {@link Validators} of the current request. */
+    static final String VALIDATORS_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".validators";
+    private static final String GZIP_ETAG_SUFFIX = "-gz";
+
+    private final LastModifiedRegistry lastModifiedRegistry;
+    private final long representationVersion;
+
+    /**
+     * The version is {@code ooter.http.representation-version} when set (a deploy id such
+     * as the git commit), otherwise the build's version and time from build-info.
+     */
+    public ConditionalGetInterceptor(LastModifiedRegistry lastModifiedRegistry,
+                                     ObjectProvider<BuildProperties> buildProperties,
+                                     @Value("${ooter.http.representation-version:}") String configuredVersion) {
+        this.lastModifiedRegistry = lastModifiedRegistry;
+        String version = configuredVersion;
+        if (version.isBlank()) {
+            BuildProperties build = buildProperties.getIfAvailable();
+            version = build != null ? build.getVersion() + "@" + build.getTime() : "dev";
+        }
+        this.representationVersion = version.hashCode();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        ConditionalGet conditional = method.getMethodAnnotation(ConditionalGet.class);
+        if (conditional == null) {
+            return true;
+        }
+        for (String param : conditional.unlessParams()) {
+            if (request.getParameter(param) != null) {
+                return true;
+            }
+        }
+        Long id = resolveId(conditional, request);
+        if (id == null) {
+            return true;
+        }
+
+        Validators validators = validators(conditional.value(), id, conditional.dependsOnDate());
+        String matched = notModified(request, validators.etag(), validators.lastModified());
+        if (matched != null) {
+            response.setHeader(HttpHeaders.ETAG, matched);
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, validators.lastModified().toEpochMilli());
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        request.setAttribute(VALIDATORS_ATTRIBUTE, validators);
+        return true;
+    }
+
+    /** The ETag and Last-Modified a response built from {@code scopes} currently carries. */
+    public Validators validators(LastModifiedRegistry.Scope[] scopes, long id) {
+        return validators(scopes, id, false);
+    }
+
+    private Validators validators(LastModifiedRegistry.Scope[] scopes, long id, boolean dependsOnDate) {
+        Instant lastModified = Instant.EPOCH;
+        long hash = 31 * representationVersion + id;
+        if (dependsOnDate) {
+            LocalDate today = LocalDate.now();
+            hash = 31 * hash + today.toEpochDay();
+            lastModified = today.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        }
+        for (LastModifiedRegistry.Scope scope : scopes) {
+            Instant time = lastModifiedRegistry.lastModified(scope, id);
+            if (time.isAfter(lastModified)) {
+                lastModified = time;
+            }
+            hash = 31 * hash + scope.ordinal();
+            hash = 31 * hash + time.toEpochMilli();
+        }
+        return new Validators("\"" + Long.toHexString(hash) + "\"", lastModified);
+    }
+
+    public record Validators(String etag, Instant lastModified) {
+    }
+
+    /**
+     * The ETag of the gzipped body of a response whose identity body carries {@code etag}.
+     * The two bodies differ byte for byte, so they need different strong validators.
+     */
+    static String gzipEtag(String etag) {
+        return etag.endsWith("\"")
+                ? etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX + "\""
+                : etag + GZIP_ETAG_SUFFIX;
+    }
+
+    /**
+     * The ETag to send with a 304, the gzip variant when that is what the client holds, or
+     * null when the response has to be sent in full.
+     */
+    private static String notModified(HttpServletRequest request, String etag, Instant lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String gzipEtag = gzipEtag(etag);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return etag;
+                }
+                if (tag.equals(gzipEtag)) {
+                    return gzipEtag;
+                }
+            }
+            return null;
+        }
+        Instant modifiedSince = parseHttpDate(request.getHeader(HttpHeaders.IF_MODIFIED_SINCE));
+        // HTTP dates have one-second precision.
+        return modifiedSince != null && lastModified.getEpochSecond() <= modifiedSince.getEpochSecond()
+                ? etag : null;
+    }
+
+    private static Long resolveId(ConditionalGet conditional, HttpServletRequest request) {
+        switch (conditional.id()) {
+            case CURRENT_USER -> {
+                Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+                return auth != null && auth.getPrincipal() instanceof AuthenticatedUser user ? user.id() : null;
+            }
+            case PATH_VARIABLE -> {
+                @SuppressWarnings("unchecked")
+                Map<String, String> variables = (Map<String, String>)
+                        request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+                String value = variables != null ? variables.get(conditional.pathVariable()) : null;
+                try {
+                    return value != null ? Long.valueOf(value) : null;
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            default -> {
+                return 0L;
+            }
+        }
+    }
+
+    static Instant parseHttpDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        } catch (DateTimeParseException e) {
+            try {
+                return Instant.parse(value);
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+}
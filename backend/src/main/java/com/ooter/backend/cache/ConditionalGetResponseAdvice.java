@@ -0,0 +1,42 @@
+package com.ooter.backend.cache;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Attaches the validators {@link ConditionalGetInterceptor} computed for a
+ * {@link ConditionalGet} handler, but only when the handler answered with 2xx, so error
+ * responses such as 403 or 503 never carry an ETag a client could revalidate against.
+ */
+@ControllerAdvice
+public class ConditionalGetResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(ConditionalGet.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletRequest.getServletRequest().getAttribute(ConditionalGetInterceptor.VALIDATORS_ATTRIBUTE)
+                        instanceof ConditionalGetInterceptor.Validators validators) {
+            int status = servletResponse.getServletResponse().getStatus();
+            if (status >= 200 && status < 300) {
+                response.getHeaders().setETag(validators.etag());
+                response.getHeaders().setLastModified(validators.lastModified());
+            }
+        }
+        return body;
+    }
+}
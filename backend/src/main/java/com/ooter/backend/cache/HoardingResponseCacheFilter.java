@@ -0,0 +1,230 @@
+package com.ooter.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ooter.backend.search.HoardingCatalog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves repeated public hoarding reads from pre-serialized JSON bytes.
+ * <p>
+ * Responses of {@code GET /api/hoardings}, {@code /search}, {@code /nearby} and
+ * {@code /{id}} are stored as raw and gzipped bytes, keyed by path, sorted query parameters
+ * and the {@link HoardingCatalog#version()} read before the controller ran. Any hoarding write
+ * bumps the version, so stale entries become unreachable and are dropped on the next request.
+ * The key also holds the {@link LastModifiedRegistry} time, so a replayed {@code ETag} always
+ * matches the one {@link ConditionalGetInterceptor} would hand out now.
+ * Runs after Spring Security, so access rules still apply to cache hits.
+ * <p>
+ * Every response here sends {@code Vary: Accept-Encoding}, and a gzipped body carries its
+ * own ETag, so shared caches never hand one encoding to a client that asked for the other.
+ * <p>
+ * Requests with an {@code available} date filter are skipped because their result also
+ * depends on bookings. Conditional requests are skipped and answered by
+ * {@link ConditionalGetInterceptor}.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class HoardingResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern CACHEABLE_PATH = Pattern.compile("/api/hoardings(/search|/nearby|/\\d+)?/?");
+    private static final int MIN_GZIP_BYTES = 1024;
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "content-length", "content-type", "transfer-encoding", "set-cookie", "date");
+
+    private final HoardingCatalog hoardingCatalog;
+    private final LastModifiedRegistry lastModifiedRegistry;
+    private final Cache<String, CachedResponse> responses;
+    private final AtomicLong latestVersion = new AtomicLong(-1);
+
+    record CachedResponse(String contentType, List<Map.Entry<String, String>> headers, byte[] body, byte[] gzipped) {
+
+        int weight() {
+            return body.length + (gzipped != null ? gzipped.length : 0);
+        }
+    }
+
+    public HoardingResponseCacheFilter(HoardingCatalog hoardingCatalog, LastModifiedRegistry lastModifiedRegistry,
+                                       @Value("${ooter.response-cache.max-bytes:67108864}") long maxBytes,
+                                       @Value("${ooter.response-cache.ttl:10m}") Duration ttl) {
+        this.hoardingCatalog = hoardingCatalog;
+        this.lastModifiedRegistry = lastModifiedRegistry;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> value.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Cache<String, CachedResponse> getNativeCache() {
+        return responses;
+    }
+
+    /** A response rendered outside a request. */
+    public record Rendered(String contentType, List<Map.Entry<String, String>> headers, byte[] body) {
+    }
+
+    /**
+     * Renders and stores a response outside a request, as {@link CacheWarmer} does, under the
+     * key a plain GET of {@code uri} with {@code params} and no {@code Origin} would use.
+     */
+    public void prime(String uri, Map<String, String[]> params, Callable<Rendered> renderer) throws Exception {
+        if (!hoardingCatalog.isReady()) {
+            return;
+        }
+        // Read before rendering, like a request does, so a concurrent write cannot be hidden.
+        long version = hoardingCatalog.version();
+        Instant lastModified = lastModifiedRegistry.lastModified(LastModifiedRegistry.Scope.HOARDINGS);
+        Rendered rendered = renderer.call();
+        if (rendered != null) {
+            responses.put(key(version, lastModified, uri, params, null),
+                    cachedResponse(rendered.contentType(), rendered.headers(), rendered.body()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !"GET".equals(request.getMethod())
+                || !CACHEABLE_PATH.matcher(path).matches()
+                || request.getParameter("available") != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null
+                || request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Any of these responses may be replayed gzipped later, so caches must always key on it.
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!hoardingCatalog.isReady()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long version = hoardingCatalog.version();
+        if (latestVersion.getAndAccumulate(version, Math::max) < version) {
+            responses.invalidateAll();
+        }
+        String key = key(request, version, lastModifiedRegistry.lastModified(LastModifiedRegistry.Scope.HOARDINGS));
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && isJson(wrapper.getContentType())) {
+            responses.put(key, capture(wrapper));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static String key(HttpServletRequest request, long version, Instant lastModified) {
+        return key(version, lastModified, request.getRequestURI(), request.getParameterMap(),
+                request.getHeader(HttpHeaders.ORIGIN));
+    }
+
+    private static String key(long version, Instant lastModified, String uri,
+                              Map<String, String[]> params, String origin) {
+        StringBuilder key = new StringBuilder().append(version).append(':').append(lastModified.toEpochMilli())
+                .append('|').append(uri);
+        new TreeMap<>(params).forEach((name, values) ->
+                key.append('&').append(name).append('=').append(String.join(",", values)));
+        // CORS headers differ between requests with and without an Origin
+        if (origin != null) {
+            key.append('|').append(origin);
+        }
+        return key.toString();
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    private static CachedResponse capture(ContentCachingResponseWrapper wrapper) throws IOException {
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (String name : wrapper.getHeaderNames()) {
+            wrapper.getHeaders(name).forEach(value -> headers.add(Map.entry(name, value)));
+        }
+        return cachedResponse(wrapper.getContentType(), headers, wrapper.getContentAsByteArray());
+    }
+
+    private static CachedResponse cachedResponse(String contentType, List<Map.Entry<String, String>> headers,
+                                                 byte[] body) throws IOException {
+        List<Map.Entry<String, String>> kept = new ArrayList<>(headers.stream()
+                .filter(header -> !SKIPPED_HEADERS.contains(header.getKey().toLowerCase()))
+                .toList());
+        // Replayed headers replace the live ones, so Vary must survive in the stored copy.
+        boolean variesByEncoding = kept.stream().anyMatch(header ->
+                header.getKey().equalsIgnoreCase(HttpHeaders.VARY)
+                        && header.getValue().toLowerCase().contains("accept-encoding"));
+        if (!variesByEncoding) {
+            kept.add(Map.entry(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+        }
+        byte[] gzipped = null;
+        if (body.length >= MIN_GZIP_BYTES) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            }
+            gzipped = out.toByteArray();
+        }
+        return new CachedResponse(contentType, kept, body, gzipped);
+    }
+
+    private static void write(CachedResponse cached, HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        Set<String> written = new HashSet<>();
+        for (Map.Entry<String, String> header : cached.headers()) {
+            if (written.add(header.getKey().toLowerCase())) {
+                response.setHeader(header.getKey(), header.getValue());
+            } else {
+                response.addHeader(header.getKey(), header.getValue());
+            }
+        }
+        response.setContentType(cached.contentType());
+        byte[] bytes = cached.body();
+        if (cached.gzipped() != null) {
+            String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                String etag = response.getHeader(HttpHeaders.ETAG);
+                if (etag != null) {
+                    response.setHeader(HttpHeaders.ETAG, ConditionalGetInterceptor.gzipEtag(etag));
+                }
+                bytes = cached.gzipped();
+            }
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+}
@@ -0,0 +1,117 @@
+package com.ooter.backend.cache;
+
+import com.ooter.backend.entity.CacheHotKey;
+import com.ooter.backend.repository.CacheHotKeyRepository;
+import com.ooter.backend.search.FacetIndex;
+import com.ooter.backend.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts requests for the views {@link CacheWarmer} can replay: the default and per-city
+ * hoarding listing, and each vendor's dashboards. Counts are summed in memory and flushed
+ * to {@link CacheHotKey} rows periodically, so the next deploy knows what was hot.
+ * <p>
+ * Only cities some listing has are counted, under that listing's spelling, so anonymous
+ * requests cannot add rows at will. Rows not seen for {@link #RETENTION} are deleted on flush.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotKeyRecorder implements HandlerInterceptor {
+
+    public static final String CITY = "city:";
+    public static final String VENDOR = "vendor:";
+    /** Keys not requested for this long are no longer warmed. */
+    private static final Duration RETENTION = Duration.ofDays(14);
+    private static final int MAX_PENDING_KEYS = 10_000;
+
+    private final CacheHotKeyRepository hotKeyRepository;
+    private final FacetIndex facetIndex;
+    private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (!"GET".equals(request.getMethod()) || response.getStatus() >= 400) {
+            return;
+        }
+        String key = keyOf(request);
+        if (key != null && (pending.size() < MAX_PENDING_KEYS || pending.containsKey(key))) {
+            pending.computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+    }
+
+    /** Only requests a warm-up can reproduce exactly are counted. */
+    private String keyOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals("/api/hoardings")) {
+            Map<String, String[]> params = request.getParameterMap();
+            if (params.size() == 1 && params.containsKey("city") && params.get("city").length == 1) {
+                String city = facetIndex.label(FacetIndex.Facet.CITY, params.get("city")[0]);
+                return city == null || city.length() > 100 ? null : CITY + city;
+            }
+            return null;
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof AuthenticatedUser user ? VENDOR + user.id() : null;
+    }
+
+    /** The most requested values of one kind, e.g. city names for {@link #CITY}. */
+    public List<String> hottest(String kind, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return hotKeyRepository.findByHotKeyStartingWithAndLastSeenAfterOrderByHitsDesc(
+                        kind, Instant.now().minus(RETENTION), Limit.of(limit)).stream()
+                .map(hotKey -> hotKey.getHotKey().substring(kind.length()))
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${ooter.cache.warmup.flush-interval-ms:600000}",
+            initialDelayString = "${ooter.cache.warmup.flush-interval-ms:600000}")
+    @PreDestroy
+    public void flush() {
+        List<Map.Entry<String, Long>> counts = new ArrayList<>();
+        pending.forEach((key, adder) -> {
+            long hits = adder.sumThenReset();
+            if (hits > 0) {
+                counts.add(Map.entry(key, hits));
+            }
+        });
+        pending.values().removeIf(adder -> adder.sum() == 0);
+        Instant now = Instant.now();
+        try {
+            for (Map.Entry<String, Long> count : counts) {
+                hotKeyRepository.addHits(count.getKey(), count.getValue(), now);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to record {} hot cache keys", counts.size(), e);
+        }
+        try {
+            int deleted = hotKeyRepository.deleteSeenBefore(now.minus(RETENTION));
+            if (deleted > 0) {
+                log.debug("Deleted {} hot cache keys not seen for {}", deleted, RETENTION);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to delete stale hot cache keys", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.ooter.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.ooter.backend.config.CachePolicyProperties;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for a networked second level, using the same per-cache policies as
+ * the first level. It is not shared between processes and keeps a second heap copy of every
+ * entry, so it is only selected explicitly ({@code ooter.cache.l2=memory}), for tests.
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+    private final CachePolicyProperties policies;
+    private final Map<String, Tier> tiers = new ConcurrentHashMap<>();
+
+    private record Tier(Cache<String, Object> cache, TagIndex tags) {
+    }
+
+    public InMemorySharedCacheStore(CachePolicyProperties policies) {
+        this.policies = policies;
+    }
+
+    @Override
+    public Object get(String cacheName, String key) {
+        return tier(cacheName).cache().getIfPresent(key);
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, Set<CacheTag> tags) {
+        Tier tier = tier(cacheName);
+        tier.cache().put(key, value);
+        tier.tags().add(key, tags);
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        Tier tier = tier(cacheName);
+        tier.cache().invalidate(key);
+        tier.tags().remove(key);
+    }
+
+    @Override
+    public void evictTag(String cacheName, CacheTag tag) {
+        Tier tier = tier(cacheName);
+        tier.cache().invalidateAll(tier.tags().removeTag(tag));
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        Tier tier = tier(cacheName);
+        tier.cache().invalidateAll();
+        tier.tags().clear();
+    }
+
+    @Override
+    public Cache<String, Object> heapCache(String cacheName) {
+        return tier(cacheName).cache();
+    }
+
+    private Tier tier(String cacheName) {
+        return tiers.computeIfAbsent(cacheName, name -> {
+            TagIndex tags = new TagIndex();
+            Caffeine<String, Object> builder = policies.policyFor(name).newBuilder()
+                    .evictionListener((String key, Object value, RemovalCause cause) -> tags.remove(key));
+            return new Tier(builder.build(), tags);
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.ooter.backend.cache;
+
+import java.util.List;
+
+/** Published by {@link LastModifiedListener} for every committed write it observes. */
+public record LastModifiedEvent(List<LastModifiedRegistry.Key> keys) {
+}
@@ -0,0 +1,71 @@
+package com.ooter.backend.cache;
+
+import com.ooter.backend.entity.Booking;
+import com.ooter.backend.entity.CartItem;
+import com.ooter.backend.entity.Hoarding;
+import com.ooter.backend.search.HoardingCatalog;
+import com.ooter.backend.search.HoardingSnapshot;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA entity listener on {@link Hoarding}, {@link Booking} and {@link CartItem} that tells
+ * {@link LastModifiedRegistry} which views a write affects.
+ */
+@Component
+@RequiredArgsConstructor
+public class LastModifiedListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+    /** Looked up lazily; the catalog depends on the repositories this listener is part of. */
+    private final ObjectProvider<HoardingCatalog> hoardingCatalog;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWritten(Object entity) {
+        List<LastModifiedRegistry.Key> keys = new ArrayList<>(3);
+        if (entity instanceof Hoarding hoarding) {
+            keys.add(LastModifiedRegistry.Key.of(LastModifiedRegistry.Scope.HOARDINGS));
+            keys.add(LastModifiedRegistry.Key.of(LastModifiedRegistry.Scope.HOARDING, hoarding.getId()));
+            if (hoarding.getOwner() != null) {
+                keys.add(LastModifiedRegistry.Key.of(LastModifiedRegistry.Scope.OWNER_HOARDINGS, hoarding.getOwner().getId()));
+            }
+        } else if (entity instanceof Booking booking) {
+            if (booking.getUser() != null) {
+                keys.add(LastModifiedRegistry.Key.of(LastModifiedRegistry.Scope.USER_BOOKINGS, booking.getUser().getId()));
+            }
+            Long vendorId = ownerOf(booking.getHoarding());
+            if (vendorId != null) {
+                keys.add(LastModifiedRegistry.Key.of(LastModifiedRegistry.Scope.VENDOR_BOOKINGS, vendorId));
+            }
+        } else if (entity instanceof CartItem item && item.getUser() != null) {
+            keys.add(LastModifiedRegistry.Key.of(LastModifiedRegistry.Scope.USER_CART, item.getUser().getId()));
+        }
+        if (!keys.isEmpty()) {
+            eventPublisher.publishEvent(new LastModifiedEvent(keys));
+        }
+    }
+
+    /** Resolves the owner without initializing a lazy hoarding inside a flush. */
+    private Long ownerOf(Hoarding hoarding) {
+        if (hoarding == null) {
+            return null;
+        }
+        HoardingCatalog catalog = hoardingCatalog.getIfAvailable();
+        HoardingSnapshot snapshot = catalog != null && hoarding.getId() != null ? catalog.get(hoarding.getId()) : null;
+        if (snapshot != null) {
+            return snapshot.ownerId();
+        }
+        return Hibernate.isInitialized(hoarding) && hoarding.getOwner() != null ? hoarding.getOwner().getId() : null;
+    }
+}
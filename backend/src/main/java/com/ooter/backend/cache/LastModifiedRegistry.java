@@ -0,0 +1,199 @@
+package com.ooter.backend.cache;
+
+import com.ooter.backend.repository.BookingRepository;
+import com.ooter.backend.repository.CartRepository;
+import com.ooter.backend.repository.HoardingRepository;
+import com.ooter.backend.search.HoardingCatalog;
+import com.ooter.backend.search.HoardingSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last-modified times for conditional GETs, kept in memory so a revalidation needs no
+ * aggregate query.
+ * <p>
+ * Seeded after startup from {@code MAX(updatedAt)} per scope, then bumped after every
+ * committed write seen by {@link LastModifiedListener}. Bumps are shared with the other
+ * instances over the {@link CacheInvalidationBus} together with their time, so every
+ * instance reports the same value and hands out the same ETag. Until seeding finishes,
+ * unknown keys report the current time, so nothing is answered with 304 by mistake.
+ * <p>
+ * The bus can lose bumps, so the seed is merged in again on a schedule and whenever the
+ * bus reconnects. A reseed cannot see deletes, so after a reconnect every known key is
+ * also bumped to the current time; that costs one full response per client instead of a
+ * 304 for a view that may have changed.
+ */
+@Slf4j
+@Component
+public class LastModifiedRegistry {
+
+    /** Pseudo cache name under which bumps travel on the invalidation bus. */
+    static final String BUS_CHANNEL = "lastModified";
+
+    public enum Scope {
+        /** Every hoarding; the id is always 0. */
+        HOARDINGS,
+        /** One hoarding; not seeded, unknown ids fall back to the catalog snapshot. */
+        HOARDING,
+        /** Hoardings of one owner. */
+        OWNER_HOARDINGS,
+        /** Bookings on one vendor's hoardings. */
+        VENDOR_BOOKINGS,
+        /** Bookings made by one user. */
+        USER_BOOKINGS,
+        /** Cart items of one user. */
+        USER_CART
+    }
+
+    public record Key(Scope scope, long id) {
+
+        public static Key of(Scope scope) {
+            return new Key(scope, 0L);
+        }
+
+        public static Key of(Scope scope, Long id) {
+            return new Key(scope, id != null ? id : 0L);
+        }
+
+        String encode() {
+            return scope + ":" + id;
+        }
+
+        static Key decode(String value) {
+            int colon = value.indexOf(':');
+            return new Key(Scope.valueOf(value.substring(0, colon)), Long.parseLong(value.substring(colon + 1)));
+        }
+    }
+
+    private final HoardingRepository hoardingRepository;
+    private final BookingRepository bookingRepository;
+    private final CartRepository cartRepository;
+    private final CacheInvalidationBus bus;
+    private final ObjectProvider<HoardingCatalog> hoardingCatalog;
+    private final String origin = UUID.randomUUID().toString();
+
+    private final Map<Key, Instant> stamps = new ConcurrentHashMap<>();
+    /**
+     * Reported for keys without writes: the epoch once seeded, so every instance and every
+     * restart agrees on it; null until then.
+     */
+    private volatile Instant baseline;
+
+    public LastModifiedRegistry(HoardingRepository hoardingRepository, BookingRepository bookingRepository,
+                                CartRepository cartRepository, CacheInvalidationBus bus,
+                                ObjectProvider<HoardingCatalog> hoardingCatalog) {
+        this.hoardingRepository = hoardingRepository;
+        this.bookingRepository = bookingRepository;
+        this.cartRepository = cartRepository;
+        this.bus = bus;
+        this.hoardingCatalog = hoardingCatalog;
+        bus.subscribe(this::onRemoteBump);
+        bus.onReconnect(this::onBusReconnected);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reseed();
+    }
+
+    /** Merges the database's last-modified times in again, picking up bumps the bus lost. */
+    @Scheduled(fixedDelayString = "${ooter.cache.last-modified.reseed-interval-ms:300000}",
+            initialDelayString = "${ooter.cache.last-modified.reseed-interval-ms:300000}")
+    public void reseed() {
+        long started = System.currentTimeMillis();
+        try {
+            Map<Key, Instant> seeded = new HashMap<>();
+            hoardingRepository.findMaxUpdatedAt().ifPresent(t -> seeded.put(Key.of(Scope.HOARDINGS), t));
+            put(seeded, Scope.OWNER_HOARDINGS, hoardingRepository.findLastModifiedPerOwner());
+            put(seeded, Scope.VENDOR_BOOKINGS, bookingRepository.findLastModifiedPerVendor());
+            put(seeded, Scope.USER_BOOKINGS, bookingRepository.findLastModifiedPerUser());
+            put(seeded, Scope.USER_CART, cartRepository.findLastModifiedPerUser());
+            // Writes during seeding already carry a later time and win the merge.
+            seeded.forEach((key, time) -> stamps.merge(key, time, LastModifiedRegistry::later));
+            baseline = Instant.EPOCH;
+            log.debug("Last-modified registry seeded: {} keys in {} ms", seeded.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            if (baseline == null) {
+                log.error("Failed to seed last-modified registry, conditional GETs will always return 200", e);
+            } else {
+                log.warn("Failed to reseed last-modified registry, keeping the current times", e);
+            }
+        }
+    }
+
+    private void onBusReconnected() {
+        Instant now = Instant.now();
+        stamps.replaceAll((key, time) -> later(time, now));
+        reseed();
+    }
+
+    public Instant lastModified(Scope scope) {
+        return lastModified(scope, 0L);
+    }
+
+    public Instant lastModified(Scope scope, long id) {
+        Instant stamp = stamps.get(new Key(scope, id));
+        if (stamp != null) {
+            return stamp;
+        }
+        if (scope == Scope.HOARDING) {
+            return hoardingLastModified(id);
+        }
+        Instant fallback = baseline;
+        return fallback != null ? fallback : Instant.now();
+    }
+
+    private Instant hoardingLastModified(long id) {
+        HoardingCatalog catalog = hoardingCatalog.getIfAvailable();
+        HoardingSnapshot snapshot = catalog != null && catalog.isReady() ? catalog.get(id) : null;
+        return snapshot != null && snapshot.updatedAt() != null
+                ? snapshot.updatedAt()
+                : lastModified(Scope.HOARDINGS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWritten(LastModifiedEvent event) {
+        Instant now = Instant.now();
+        for (Key key : event.keys()) {
+            bump(key, now);
+            bus.publish(new CacheInvalidation(origin, BUS_CHANNEL, CacheInvalidation.Scope.KEY,
+                    key.encode() + '@' + now.toEpochMilli()));
+        }
+    }
+
+    private void onRemoteBump(CacheInvalidation invalidation) {
+        if (BUS_CHANNEL.equals(invalidation.cacheName()) && !origin.equals(invalidation.origin())) {
+            String value = invalidation.key();
+            int at = value.lastIndexOf('@');
+            bump(Key.decode(value.substring(0, at)), Instant.ofEpochMilli(Long.parseLong(value.substring(at + 1))));
+        }
+    }
+
+    private void bump(Key key, Instant time) {
+        stamps.merge(key, time, LastModifiedRegistry::later);
+    }
+
+    private static Instant later(Instant a, Instant b) {
+        return b.isAfter(a) ? b : a;
+    }
+
+    private static void put(Map<Key, Instant> seeded, Scope scope, List<LastModifiedRow> rows) {
+        for (LastModifiedRow row : rows) {
+            if (row.id() != null && row.lastModified() != null) {
+                seeded.put(Key.of(scope, row.id()), row.lastModified());
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.ooter.backend.cache;
+
+import java.time.Instant;
+
+/** Latest write time of the records belonging to one owner, vendor or user. */
+public record LastModifiedRow(Long id, Instant lastModified) {
+}
@@ -0,0 +1,47 @@
+package com.ooter.backend.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** A lock-free, fixed-bucket histogram of load times. */
+public class LatencyHistogram {
+
+    /** Upper bucket bounds in milliseconds; slower loads fall into a final open bucket. */
+    private static final long[] BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MILLIS.length + 1];
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < BOUNDS_MILLIS.length && millis >= BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        totalNanos.add(nanos);
+    }
+
+    public Snapshot snapshot() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long count = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            long n = buckets[i].sum();
+            count += n;
+            counts.put(i < BOUNDS_MILLIS.length ? "<" + BOUNDS_MILLIS[i] + "ms" : ">=" + BOUNDS_MILLIS[i - 1] + "ms", n);
+        }
+        double meanMillis = count == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / count;
+        return new Snapshot(count, meanMillis, counts);
+    }
+
+    public record Snapshot(long count, double meanMillis, Map<String, Long> buckets) {
+    }
+}
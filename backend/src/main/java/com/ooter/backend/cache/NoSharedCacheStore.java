@@ -0,0 +1,32 @@
+package com.ooter.backend.cache;
+
+import java.util.Set;
+
+/**
+ * Second level that stores nothing, so every {@link TwoTierCache} runs as its local cache
+ * alone. Evictions still travel on the {@link CacheInvalidationBus}, which is what keeps
+ * instances consistent; a miss goes straight to the loader.
+ */
+public class NoSharedCacheStore implements SharedCacheStore {
+
+    @Override
+    public Object get(String cacheName, String key) {
+        return null;
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, Set<CacheTag> tags) {
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+    }
+
+    @Override
+    public void evictTag(String cacheName, CacheTag tag) {
+    }
+
+    @Override
+    public void clear(String cacheName) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.ooter.backend.cache;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts evictions with Postgres {@code NOTIFY}, so every instance sharing the database
+ * hears them without extra infrastructure.
+ * <p>
+ * One thread owns a dedicated connection outside the pool, because the pool would recycle
+ * it and report it as leaked. It listens on that connection and also sends: {@link #publish}
+ * only queues the eviction, and the thread sends everything queued in one batch between
+ * polls, so callers never borrow a pooled connection or wait on the database.
+ * <p>
+ * After each {@code LISTEN} the thread notifies itself once. If that notification does not
+ * come back, the connection goes through a transaction-mode pooler that drops LISTEN, and
+ * no instance will hear evictions; that is logged as an error.
+ * <p>
+ * The listener reconnects on failure; evictions sent to it while it is disconnected are
+ * lost. The cache TTLs bound how stale those entries can get, and state without a TTL
+ * reloads itself through {@link #onReconnect}.
+ */
+@Slf4j
+public class PostgresInvalidationBus implements CacheInvalidationBus, DisposableBean {
+
+    static final String CHANNEL = "ooter_cache_invalidation";
+    private static final String PROBE_PREFIX = "probe\t";
+    /** Longest a queued eviction waits to be sent, and the idle poll interval. */
+    private static final int SEND_INTERVAL_MS = 50;
+    private static final long PROBE_TIMEOUT_MS = 10_000;
+    private static final long RECONNECT_DELAY_MS = 5_000;
+    private static final int MAX_QUEUED = 10_000;
+
+    private final DataSource dataSource;
+    private final BlockingQueue<String> outbox = new LinkedBlockingQueue<>(MAX_QUEUED);
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+    private final List<Runnable> reconnectCallbacks = new CopyOnWriteArrayList<>();
+    private final Thread listener;
+    private volatile boolean running = true;
+
+    public PostgresInvalidationBus(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.listener = new Thread(this::listen, "cache-invalidation-listener");
+        this.listener.setDaemon(true);
+        this.listener.start();
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        if (!outbox.offer(invalidation.encode())) {
+            log.warn("Invalidation queue full, dropping eviction of {} in cache {}",
+                    invalidation.key(), invalidation.cacheName());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void onReconnect(Runnable callback) {
+        reconnectCallbacks.add(callback);
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        listener.interrupt();
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = openListenConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for cache invalidations on channel {}", CHANNEL);
+                if (connectedBefore) {
+                    // Notifications arriving meanwhile queue on the connection.
+                    reconnectCallbacks.forEach(this::runReconnectCallback);
+                }
+                connectedBefore = true;
+                String probe = PROBE_PREFIX + UUID.randomUUID();
+                long probeSentAt = System.currentTimeMillis();
+                send(connection, List.of(probe));
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    sendQueued(connection);
+                    PGNotification[] notifications = pg.getNotifications(SEND_INTERVAL_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            if (notification.getParameter().equals(probe)) {
+                                probe = null;
+                            } else if (!notification.getParameter().startsWith(PROBE_PREFIX)) {
+                                deliver(notification.getParameter());
+                            }
+                        }
+                    }
+                    if (probe != null && System.currentTimeMillis() - probeSentAt > PROBE_TIMEOUT_MS) {
+                        log.error("LISTEN on channel {} did not receive its own NOTIFY within {} ms; caches are "
+                                + "not invalidated across instances. The database URL must be a session-mode "
+                                + "connection, not a transaction-mode pooler", CHANNEL, PROBE_TIMEOUT_MS);
+                        probe = null;
+                    }
+                }
+                sendQueued(connection);
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener disconnected, retrying in {} ms", RECONNECT_DELAY_MS, e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Sends what is queued, deduplicated; puts the batch back if the connection fails. */
+    private void sendQueued(Connection connection) throws SQLException {
+        List<String> drained = new ArrayList<>();
+        outbox.drainTo(drained);
+        if (drained.isEmpty()) {
+            return;
+        }
+        Set<String> batch = new LinkedHashSet<>(drained);
+        try {
+            send(connection, batch);
+        } catch (SQLException e) {
+            batch.forEach(outbox::offer);
+            throw e;
+        }
+    }
+
+    private void send(Connection connection, Iterable<String> payloads) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String payload : payloads) {
+                statement.setString(1, CHANNEL);
+                statement.setString(2, payload);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void runReconnectCallback(Runnable callback) {
+        try {
+            callback.run();
+        } catch (RuntimeException e) {
+            log.warn("Reconnect callback failed", e);
+        }
+    }
+
+    private void deliver(String payload) {
+        try {
+            CacheInvalidation invalidation = CacheInvalidation.decode(payload);
+            subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring cache invalidation {}", payload, e);
+        }
+    }
+
+    private Connection openListenConnection() throws SQLException {
+        if (dataSource instanceof HikariDataSource hikari) {
+            Properties properties = new Properties();
+            properties.putAll(hikari.getDataSourceProperties());
+            properties.setProperty("user", hikari.getUsername());
+            properties.setProperty("password", hikari.getPassword());
+            return DriverManager.getConnection(hikari.getJdbcUrl(), properties);
+        }
+        return dataSource.getConnection();
+    }
+}
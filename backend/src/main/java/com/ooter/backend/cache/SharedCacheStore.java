@@ -0,0 +1,36 @@
+package com.ooter.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.Set;
+
+/**
+ * Second-level store shared by all instances, behind each instance's local cache. Keys are
+ * the canonical strings produced by {@link TwoTierCache}. Implementations apply their own
+ * expiry per cache name and must tolerate evictions for entries they do not hold.
+ * <p>
+ * No networked implementation exists yet. {@link NoSharedCacheStore} is the default and
+ * {@link InMemorySharedCacheStore} is a per-process stand-in for tests.
+ */
+public interface SharedCacheStore {
+
+    /** Returns the stored value, or {@code null} on a miss. */
+    Object get(String cacheName, String key);
+
+    void put(String cacheName, String key, Object value, Set<CacheTag> tags);
+
+    void evict(String cacheName, String key);
+
+    /** Evicts every entry of the cache stored with the tag. */
+    void evictTag(String cacheName, CacheTag tag);
+
+    void clear(String cacheName);
+
+    /**
+     * The cache holding this name's entries when they live in this process's heap, for
+     * statistics; {@code null} for stores that keep nothing here.
+     */
+    default Cache<String, Object> heapCache(String cacheName) {
+        return null;
+    }
+}
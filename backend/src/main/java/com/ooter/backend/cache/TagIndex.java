@@ -0,0 +1,54 @@
+package com.ooter.backend.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/** Two-way map between cache keys and their tags, for one tier of one cache. */
+class TagIndex {
+
+    private final Map<String, Set<String>> keysByTag = new HashMap<>();
+    private final Map<String, Set<CacheTag>> tagsByKey = new HashMap<>();
+
+    synchronized void add(String key, Set<CacheTag> tags) {
+        remove(key);
+        if (tags.isEmpty()) {
+            return;
+        }
+        tagsByKey.put(key, tags);
+        for (CacheTag tag : tags) {
+            keysByTag.computeIfAbsent(tag.value(), t -> new HashSet<>()).add(key);
+        }
+    }
+
+    synchronized void remove(String key) {
+        Set<CacheTag> tags = tagsByKey.remove(key);
+        if (tags == null) {
+            return;
+        }
+        for (CacheTag tag : tags) {
+            Set<String> keys = keysByTag.get(tag.value());
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByTag.remove(tag.value());
+            }
+        }
+    }
+
+    /** Forgets the tag and returns the keys that carried it. */
+    synchronized List<String> removeTag(CacheTag tag) {
+        Set<String> keys = keysByTag.get(tag.value());
+        if (keys == null) {
+            return List.of();
+        }
+        List<String> removed = List.copyOf(keys);
+        removed.forEach(this::remove);
+        return removed;
+    }
+
+    synchronized void clear() {
+        keysByTag.clear();
+        tagsByKey.clear();
+    }
+}
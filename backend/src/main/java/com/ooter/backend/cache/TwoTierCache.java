@@ -0,0 +1,298 @@
+package com.ooter.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local Caffeine cache (L1) in front of a {@link SharedCacheStore} (L2). No shared L2
+ * ships yet: production runs with {@link NoSharedCacheStore}, so each instance has its L1
+ * alone and the invalidation bus is what keeps instances consistent.
+ * <p>
+ * Reads try L1, then L2, and copy L2 hits into L1. Writes go to both tiers. Evictions clear
+ * both tiers and are broadcast, so other instances drop their L1 copy and their next read
+ * goes to L2, or to the loader when there is no L2.
+ * <p>
+ * Puts are not broadcast. A @Cacheable put follows a miss on both tiers, which already
+ * means the key was evicted everywhere or has expired.
+ * <p>
+ * Entries are tagged by the cache's {@link CacheTagger} when stored. Evicting a
+ * {@link CacheTag} instead of a key removes every entry carrying that tag.
+ * <p>
+ * Keys are stored in canonical string form ({@link #canonicalKey}) so a broadcast key can be
+ * matched on the receiving side without knowing its original type.
+ * <p>
+ * {@link #get(Object, Callable)}, used by {@code @Cacheable(sync = true)}, runs one loader per
+ * key at a time. Concurrent callers for the same key wait up to the load timeout for its
+ * result, then load on their own. A load that overlapped an eviction of its own key, of a
+ * tag its result carries, or of the whole cache is returned but not stored, and neither is
+ * a {@code null} result. Evictions of other keys do not affect it.
+ * <p>
+ * Load times are measured around that loader, or from a miss on both tiers to the put that
+ * follows it on the same thread, which is how a plain @Cacheable fills a cache.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<String, Object> local;
+    private final TagIndex localTags;
+    private final CacheTagger tagger;
+    private final SharedCacheStore shared;
+    private final CacheInvalidationBus bus;
+    private final String origin;
+    private final Duration loadTimeout;
+    private final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    /** Loads in progress, including ones that gave up waiting; evictions mark those they overlap. */
+    private final Set<InFlightLoad> inFlight = ConcurrentHashMap.newKeySet();
+    private final LongAdder sharedHits = new LongAdder();
+    private final LatencyHistogram loadTimes = new LatencyHistogram();
+    /** The key this thread missed last and when, until its put arrives. */
+    private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+
+    private record PendingLoad(String key, long startedNanos) {
+    }
+
+    private static final class InFlightLoad {
+        final String key;
+        volatile boolean evicted;
+        /** Tags evicted meanwhile; the result's tags are only known once it is loaded. */
+        final Set<CacheTag> evictedTags = ConcurrentHashMap.newKeySet();
+
+        InFlightLoad(String key) {
+            this.key = key;
+        }
+
+        boolean overlapped(Set<CacheTag> tags) {
+            return evicted || (!evictedTags.isEmpty() && tags.stream().anyMatch(evictedTags::contains));
+        }
+    }
+
+    TwoTierCache(String name, Cache<String, Object> local, TagIndex localTags, CacheTagger tagger,
+                 SharedCacheStore shared, CacheInvalidationBus bus, String origin, Duration loadTimeout) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.localTags = localTags;
+        this.tagger = tagger;
+        this.shared = shared;
+        this.bus = bus;
+        this.origin = origin;
+        this.loadTimeout = loadTimeout;
+    }
+
+    static String canonicalKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /** The L1 cache, for statistics. */
+    @Override
+    public Cache<String, Object> getNativeCache() {
+        return local;
+    }
+
+    /** The L2 entries when L2 lives in this heap, else {@code null}. */
+    public Cache<String, Object> sharedHeapCache() {
+        return shared.heapCache(name);
+    }
+
+    /** L1 misses answered by L2. */
+    public long sharedHitCount() {
+        return sharedHits.sum();
+    }
+
+    public LatencyHistogram loadTimes() {
+        return loadTimes;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String k = canonicalKey(key);
+        Object value = read(k, key);
+        if (value == null) {
+            pendingLoad.set(new PendingLoad(k, System.nanoTime()));
+        } else {
+            pendingLoad.remove();
+        }
+        return value;
+    }
+
+    private Object read(String k, Object key) {
+        Object value = local.getIfPresent(k);
+        if (value == null) {
+            value = shared.get(name, k);
+            if (value != null) {
+                sharedHits.increment();
+                local.put(k, value);
+                localTags.add(k, tagger.tags(key, value));
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String k = canonicalKey(key);
+        Object value = read(k, key);
+        if (value != null) {
+            return (T) value;
+        }
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(k, load);
+        if (running != null) {
+            try {
+                return (T) running.get(loadTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // The loader is stuck; do not queue behind it any longer
+                return (T) load(key, k, valueLoader);
+            } catch (ExecutionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+        try {
+            value = load(key, k, valueLoader);
+            load.complete(value);
+            return (T) value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e instanceof ValueRetrievalException ? e.getCause() : e);
+            throw e;
+        } finally {
+            loading.remove(k, load);
+        }
+    }
+
+    private Object load(Object key, String k, Callable<?> valueLoader) {
+        InFlightLoad flight = new InFlightLoad(k);
+        inFlight.add(flight);
+        try {
+            long started = System.nanoTime();
+            Object value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            } finally {
+                loadTimes.record(System.nanoTime() - started);
+            }
+            if (value != null) {
+                Set<CacheTag> tags = tagger.tags(key, value);
+                if (!flight.overlapped(tags)) {
+                    store(k, value, tags);
+                    // An eviction marks loads before clearing, so one that ran between the
+                    // check and the store is caught here.
+                    if (flight.overlapped(tags)) {
+                        local.invalidate(k);
+                        localTags.remove(k);
+                        shared.evict(name, k);
+                    }
+                }
+            }
+            return value;
+        } finally {
+            inFlight.remove(flight);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String k = canonicalKey(key);
+        PendingLoad pending = pendingLoad.get();
+        if (pending != null && pending.key().equals(k)) {
+            loadTimes.record(System.nanoTime() - pending.startedNanos());
+            pendingLoad.remove();
+        }
+        Object storeValue = toStoreValue(value);
+        store(k, storeValue, tagger.tags(key, storeValue));
+    }
+
+    private void store(String k, Object value, Set<CacheTag> tags) {
+        local.put(k, value);
+        localTags.add(k, tags);
+        shared.put(name, k, value, tags);
+    }
+
+    /** Evicts one key, or every entry tagged with it when given a {@link CacheTag}. */
+    @Override
+    public void evict(Object key) {
+        if (key instanceof CacheTag tag) {
+            markLoadsOf(tag);
+            local.invalidateAll(localTags.removeTag(tag));
+            shared.evictTag(name, tag);
+            bus.publish(new CacheInvalidation(origin, name, CacheInvalidation.Scope.TAG, tag.value()));
+            return;
+        }
+        String k = canonicalKey(key);
+        markLoadsOf(k);
+        local.invalidate(k);
+        localTags.remove(k);
+        shared.evict(name, k);
+        bus.publish(new CacheInvalidation(origin, name, CacheInvalidation.Scope.KEY, k));
+    }
+
+    @Override
+    public void clear() {
+        markAllLoads();
+        local.invalidateAll();
+        localTags.clear();
+        shared.clear(name);
+        bus.publish(new CacheInvalidation(origin, name, CacheInvalidation.Scope.ALL, null));
+    }
+
+    /** Applies an eviction broadcast by another instance, without re-broadcasting it. */
+    void apply(CacheInvalidation invalidation) {
+        switch (invalidation.scope()) {
+            case KEY -> {
+                markLoadsOf(invalidation.key());
+                local.invalidate(invalidation.key());
+                localTags.remove(invalidation.key());
+                shared.evict(name, invalidation.key());
+            }
+            case TAG -> {
+                CacheTag tag = new CacheTag(invalidation.key());
+                markLoadsOf(tag);
+                local.invalidateAll(localTags.removeTag(tag));
+                shared.evictTag(name, tag);
+            }
+            case ALL -> {
+                markAllLoads();
+                local.invalidateAll();
+                localTags.clear();
+                shared.clear(name);
+            }
+        }
+    }
+
+    private void markLoadsOf(String k) {
+        for (InFlightLoad flight : inFlight) {
+            if (flight.key.equals(k)) {
+                flight.evicted = true;
+            }
+        }
+    }
+
+    private void markLoadsOf(CacheTag tag) {
+        inFlight.forEach(flight -> flight.evictedTags.add(tag));
+    }
+
+    private void markAllLoads() {
+        inFlight.forEach(flight -> flight.evicted = true);
+    }
+}
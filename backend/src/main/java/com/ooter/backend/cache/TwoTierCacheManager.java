@@ -0,0 +1,71 @@
+package com.ooter.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.ooter.backend.config.CachePolicyProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates a {@link TwoTierCache} per name, with the L1 policy taken from
+ * {@link CachePolicyProperties} and the tagger registered for that name, and applies
+ * evictions that other instances broadcast.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CachePolicyProperties policies;
+    private final SharedCacheStore shared;
+    private final CacheInvalidationBus bus;
+    private final Map<String, CacheTagger> taggers;
+    /** Identifies this instance on the bus, so its own broadcasts are skipped. */
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    private static final CacheTagger NO_TAGS = (key, value) -> Set.of();
+
+    public TwoTierCacheManager(CachePolicyProperties policies, SharedCacheStore shared,
+                               CacheInvalidationBus bus, Map<String, CacheTagger> taggers,
+                               Collection<String> cacheNames) {
+        this.policies = policies;
+        this.shared = shared;
+        this.bus = bus;
+        this.taggers = Map.copyOf(taggers);
+        cacheNames.forEach(this::getCache);
+        bus.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::create);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoTierCache create(String name) {
+        TagIndex tags = new TagIndex();
+        Caffeine<String, Object> builder = policies.policyFor(name).newBuilder()
+                .evictionListener((String key, Object value, RemovalCause cause) -> tags.remove(key));
+        return new TwoTierCache(name, builder.build(), tags, taggers.getOrDefault(name, NO_TAGS),
+                shared, bus, origin, policies.getLoadTimeout());
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (origin.equals(invalidation.origin())) {
+            return;
+        }
+        TwoTierCache cache = caches.get(invalidation.cacheName());
+        if (cache != null) {
+            cache.apply(invalidation);
+        }
+    }
+}
@@ -1,15 +1,31 @@
 package com.ooter.backend.config;
 
+import com.ooter.backend.cache.CacheInvalidationBus;
+import com.ooter.backend.cache.CacheTag;
+import com.ooter.backend.cache.CacheTagger;
+import com.ooter.backend.cache.InMemorySharedCacheStore;
+import com.ooter.backend.cache.LocalInvalidationBus;
+import com.ooter.backend.cache.NoSharedCacheStore;
+import com.ooter.backend.cache.PostgresInvalidationBus;
+import com.ooter.backend.cache.SharedCacheStore;
+import com.ooter.backend.cache.TwoTierCacheManager;
+import com.ooter.backend.entity.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.Arrays;
+import javax.sql.DataSource;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CachePolicyProperties.class)
 public class CacheConfig {
 
     // User related caches
@@ -18,7 +34,6 @@ public class CacheConfig {
     public static final String USER_SEARCHES_CACHE = "userSearches";
     
     // Auth related caches
-    public static final String BLACKLIST_CACHE = "blacklistedTokens";
     public static final String JWT_CLAIMS_CACHE = "jwtClaims";
     
     // Vendor specific caches
@@ -26,15 +41,10 @@ public class CacheConfig {
     public static final String VENDOR_SALES = "vendorSales";
     public static final String VENDOR_LISTING_STATS = "vendorListingStats";
     public static final String VENDOR_LISTINGS = "vendorListings";
-    public static final String IN_PROGRESS_BOOKINGS = "inProgressBookings";
     public static final String BOOKING_DETAILS = "bookingDetails";
 
-    @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        cacheManager.setCacheNames(Arrays.asList(
+    public static final List<String> CACHE_NAMES = List.of(
             USER_CACHE,
-            BLACKLIST_CACHE,
             JWT_CLAIMS_CACHE,
             USER_PROFILE_CACHE,
             USER_SEARCHES_CACHE,
@@ -42,13 +52,70 @@ public class CacheConfig {
             VENDOR_SALES,
             VENDOR_LISTING_STATS,
             VENDOR_LISTINGS,
-            IN_PROGRESS_BOOKINGS,
             BOOKING_DETAILS
-        ));
-        
-        // Disallow null values in cache
-        cacheManager.setAllowNullValues(false);
-        
-        return cacheManager;
+    );
+
+    /** Caches holding per-vendor views of listings, stats, sales and bookings. */
+    public static final String[] VENDOR_VIEW_CACHES =
+            {VENDOR_LISTING_STATS, VENDOR_DASHBOARD, VENDOR_SALES, VENDOR_LISTINGS};
+
+    /**
+     * Every cache is bounded and records statistics. Named caches get their policy from
+     * {@code ooter.cache.caches.<name>}; any other name is created on demand with the defaults.
+     * Each cache is a local L1 with evictions broadcast on the bus. There is no shared L2
+     * backend yet; {@code ooter.cache.l2} is {@code none} in production and {@code memory}
+     * only in tests.
+     * Entries are tagged by {@link #taggers()} so writes can evict them by {@link CacheTag}.
+     */
+    @Bean
+    public CacheManager cacheManager(CachePolicyProperties properties, SharedCacheStore sharedCacheStore,
+                                     CacheInvalidationBus invalidationBus) {
+        Set<String> names = new LinkedHashSet<>(CACHE_NAMES);
+        names.addAll(properties.getCaches().keySet());
+        // Null values are never cached
+        return new TwoTierCacheManager(properties, sharedCacheStore, invalidationBus, taggers(), names);
+    }
+
+    /** Tags let a write evict only the entries of the vendor or user it touched. */
+    private static Map<String, CacheTagger> taggers() {
+        CacheTagger byVendor = CacheTagger.byLeadingKey(CacheTag::vendor);
+        CacheTagger byUser = CacheTagger.byLeadingKey(CacheTag::user);
+        return Map.of(
+                VENDOR_DASHBOARD, byVendor,
+                VENDOR_SALES, byVendor,
+                VENDOR_LISTING_STATS, byVendor,
+                VENDOR_LISTINGS, byVendor,
+                USER_PROFILE_CACHE, byUser,
+                USER_SEARCHES_CACHE, byUser,
+                // Keyed by phone or email, so tagged by the cached user's id
+                USER_CACHE, (key, value) -> value instanceof User user && user.getId() != null
+                        ? Set.of(CacheTag.user(user.getId()))
+                        : Set.of()
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ooter.cache.l2", havingValue = "none", matchIfMissing = true)
+    public SharedCacheStore noSharedCacheStore() {
+        return new NoSharedCacheStore();
+    }
+
+    /** Per-process only, so it shares nothing between instances; meant for tests. */
+    @Bean
+    @ConditionalOnProperty(name = "ooter.cache.l2", havingValue = "memory")
+    public SharedCacheStore inMemorySharedCacheStore(CachePolicyProperties properties) {
+        return new InMemorySharedCacheStore(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ooter.cache.invalidation", havingValue = "local", matchIfMissing = true)
+    public CacheInvalidationBus localInvalidationBus() {
+        return new LocalInvalidationBus();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ooter.cache.invalidation", havingValue = "postgres")
+    public CacheInvalidationBus postgresInvalidationBus(DataSource dataSource) {
+        return new PostgresInvalidationBus(dataSource);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package com.ooter.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size and expiry policy per named cache, bound from {@code ooter.cache.*}:
+ * <pre>
+ * ooter.cache.caches.users.maximum-size=10000
+ * ooter.cache.caches.users.expire-after-write=15m
+ * </pre>
+ * Unset fields fall back to {@code ooter.cache.defaults}. {@code ooter.cache.load-timeout}
+ * bounds how long a caller waits for another caller's load of the same key.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ooter.cache")
+public class CachePolicyProperties {
+
+    private Policy defaults = new Policy();
+    private Map<String, Policy> caches = new LinkedHashMap<>();
+    private Duration loadTimeout = Duration.ofSeconds(10);
+
+    public Policy policyFor(String cacheName) {
+        Policy specific = caches.get(cacheName);
+        return specific == null ? defaults : specific.withDefaults(defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+        private static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+        /** Entry count limit; ignored when {@code maximumWeight} is set. */
+        private Long maximumSize;
+        /** Limit on the summed {@link CacheWeigher} weight of all entries. */
+        private Long maximumWeight;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+
+        /** A statistics-recording Caffeine builder with this policy applied. */
+        public Caffeine<Object, Object> newBuilder() {
+            Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+            if (maximumWeight != null) {
+                builder.maximumWeight(maximumWeight).weigher(new CacheWeigher());
+            } else {
+                builder.maximumSize(maximumSize != null ? maximumSize : DEFAULT_MAXIMUM_SIZE);
+            }
+            if (expireAfterWrite != null) {
+                builder.expireAfterWrite(expireAfterWrite);
+            }
+            if (expireAfterAccess != null) {
+                builder.expireAfterAccess(expireAfterAccess);
+            }
+            return builder;
+        }
+
+        Policy withDefaults(Policy fallback) {
+            Policy merged = new Policy();
+            merged.maximumWeight = maximumWeight;
+            merged.maximumSize = maximumSize != null || maximumWeight != null ? maximumSize : fallback.maximumSize;
+            merged.expireAfterWrite = expireAfterWrite != null ? expireAfterWrite : fallback.expireAfterWrite;
+            merged.expireAfterAccess = expireAfterAccess != null ? expireAfterAccess : fallback.expireAfterAccess;
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ooter.backend.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.ooter.backend.service.VendorViewService;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Weighs cached values by the number of elements they hold, so a cache of listing pages
+ * is bounded by the listings it keeps rather than by the number of pages.
+ */
+public class CacheWeigher implements Weigher<Object, Object> {
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return Math.max(1, elements(value));
+    }
+
+    private static int elements(Object value) {
+        if (value instanceof VendorViewService.ListingPage page) {
+            return page.content().size();
+        }
+        if (value instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (value instanceof Map<?, ?> map) {
+            int total = 0;
+            for (Object nested : map.values()) {
+                total += Math.max(1, elements(nested));
+            }
+            return total;
+        }
+        return 1;
+    }
+}
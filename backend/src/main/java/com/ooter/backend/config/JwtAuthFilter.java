@@ -1,7 +1,9 @@
 package com.ooter.backend.config;
 
 import com.ooter.backend.entity.User;
-import com.ooter.backend.repository.UserRepository;
+import com.ooter.backend.security.AuthenticatedUser;
+import com.ooter.backend.security.TokenVersions;
+import com.ooter.backend.security.UserLookup;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -29,10 +31,22 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private static final String AUTH_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
     private static final String ROLE_PREFIX = "ROLE_";
+    /** Request attribute holding the {@link PresentedToken} of a verified, unrevoked token. */
+    public static final String PRESENTED_TOKEN_ATTRIBUTE = JwtAuthFilter.class.getName() + ".token";
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
     private final CacheManager cacheManager;
+    private final TokenRevocationStore revocationStore;
+    private final TokenVersions tokenVersions;
+    private final UserLookup userLookup;
+
+    /** The claims the filter needs from a token whose signature has been checked. */
+    record VerifiedToken(String subject, String role, Long userId, int version, long expiresAt) {
+    }
+
+    /** What logout needs to revoke the request's token without parsing it again. */
+    public record PresentedToken(String digest, long expiresAt) {
+    }
 
     @Override
     protected void doFilterInternal(
@@ -59,68 +73,77 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(BEARER_PREFIX.length());
-        
-        if (isTokenBlacklisted(token)) {
+        String digest = JwtUtil.digest(token);
+        VerifiedToken verified = verify(token, digest);
+
+        if (revocationStore.isRevoked(digest, verified.expiresAt())) {
             throw new JwtException("Token has been invalidated");
         }
-
-        Claims claims = jwtUtil.parseToken(token);
+        request.setAttribute(PRESENTED_TOKEN_ATTRIBUTE, new PresentedToken(digest, verified.expiresAt()));
         
-        if (shouldAuthenticate(claims)) {
-            authenticateUser(request, claims, token);
+        if (shouldAuthenticate(verified)) {
+            authenticateUser(request, verified);
         }
     }
 
-    private boolean isTokenBlacklisted(String token) {
-        Cache blacklistCache = cacheManager.getCache("blacklistedTokens");
-        return blacklistCache != null && blacklistCache.get(token) != null;
-    }
+    /**
+     * Returns the token's claims from the claims cache, keyed by the token's digest, or
+     * verifies its signature once and caches the result. Entries are only used before
+     * the token's expiry, whatever the cache's own lifetime.
+     */
+    private VerifiedToken verify(String token, String key) throws JwtException {
+        Cache claimsCache = cacheManager.getCache(CacheConfig.JWT_CLAIMS_CACHE);
+        if (claimsCache != null) {
+            VerifiedToken cached = claimsCache.get(key, VerifiedToken.class);
+            if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+                return cached;
+            }
+        }
 
-    private boolean shouldAuthenticate(Claims claims) {
-        return claims.getSubject() != null 
-            && SecurityContextHolder.getContext().getAuthentication() == null;
+        Claims claims = jwtUtil.parseToken(token);
+        Integer version = claims.get("ver", Integer.class);
+        VerifiedToken verified = new VerifiedToken(
+            claims.getSubject(),
+            claims.get("role", String.class),
+            claims.get("userId", Long.class),
+            version != null ? version : 0,
+            claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE
+        );
+        if (claimsCache != null) {
+            claimsCache.put(key, verified);
+        }
+        return verified;
     }
 
-    private void authenticateUser(HttpServletRequest request, Claims claims, String token) {
-        String userIdentifier = claims.getSubject();
-        String role = claims.get("role", String.class);
-        
-        findUser(userIdentifier)
-            .filter(user -> jwtUtil.isTokenValid(token))
-            .ifPresent(user -> setSecurityContext(request, user, role));
+    private boolean shouldAuthenticate(VerifiedToken verified) {
+        return verified.subject() != null 
+            && SecurityContextHolder.getContext().getAuthentication() == null;
     }
 
-    private Optional<User> findUser(String userIdentifier) {
-        // Try cache first
-        Cache userCache = cacheManager.getCache("users");
-        if (userCache != null) {
-            User cachedUser = userCache.get(userIdentifier, User.class);
-            if (cachedUser != null) {
-                return Optional.of(cachedUser);
+    private void authenticateUser(HttpServletRequest request, VerifiedToken verified) {
+        Long userId = verified.userId();
+        if (userId == null) {
+            // Tokens issued without a userId claim still need one lookup
+            Optional<User> user = userLookup.findUser(verified.subject());
+            if (user.isEmpty()) {
+                return;
             }
+            userId = user.get().getId();
         }
 
-        // Not in cache, fetch from database
-        Optional<User> user = userIdentifier.contains("@") 
-            ? userRepository.findByEmail(userIdentifier)
-            : userRepository.findByPhone(userIdentifier);
+        if (!tokenVersions.isCurrent(userId, verified.version())) {
+            throw new JwtException("Token has been invalidated");
+        }
 
-        // Cache the result
-        user.ifPresent(u -> {
-            if (userCache != null) {
-                userCache.put(userIdentifier, u);
-            }
-        });
-        
-        return user;
+        setSecurityContext(request, new AuthenticatedUser(userId, verified.subject(), verified.role()));
     }
 
-    private void setSecurityContext(HttpServletRequest request, User user, String role) {
+    private void setSecurityContext(HttpServletRequest request, AuthenticatedUser principal) {
         UsernamePasswordAuthenticationToken authToken =
             new UsernamePasswordAuthenticationToken(
-                user,
+                principal,
                 null,
-                List.of(new SimpleGrantedAuthority(ROLE_PREFIX + role))
+                List.of(new SimpleGrantedAuthority(ROLE_PREFIX + principal.role()))
             );
         
         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
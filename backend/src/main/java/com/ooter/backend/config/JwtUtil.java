@@ -5,9 +5,13 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 import com.ooter.backend.entity.User;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 
 @Component
@@ -18,6 +22,10 @@ public class JwtUtil {
     private static final String SECRET_KEY = "ooterappsecretkeyooterappsecretkeyooterapp"; // 32+ chars for HS256
     
     private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    // Thread-safe, so one parser serves every request
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
 
     /**
      * Generates JWT token for a user (supports both normal and Google login)
@@ -26,6 +34,7 @@ public class JwtUtil {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", user.getRole().name());
         claims.put("userId", user.getId());
+        claims.put("ver", user.getTokenVersion());
         
         return buildToken(
             user.getPhone() != null ? user.getPhone() : user.getEmail(),
@@ -54,11 +63,19 @@ public class JwtUtil {
      * Validates and parses JWT token
      */
     public Claims parseToken(String token) throws JwtException {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * SHA-256 of a token, hex encoded, for use as a cache key in place of the token itself
+     */
+    public static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
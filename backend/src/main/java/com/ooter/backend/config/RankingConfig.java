@@ -0,0 +1,58 @@
+package com.ooter.backend.config;
+
+import com.ooter.backend.search.HoardingScorer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Default ranking signals for search and nearby results. Each returns a value in [0, 1]
+ * scaled by its weight; add another {@link HoardingScorer} bean to plug in a new signal.
+ */
+@Configuration
+public class RankingConfig {
+
+    @Bean
+    public HoardingScorer textMatchScorer(@Value("${ooter.ranking.text-weight:3.0}") double weight) {
+        return (c, ctx) -> ctx.maxTextScore() > 0 ? weight * c.textScore() / ctx.maxTextScore() : 0;
+    }
+
+    @Bean
+    public HoardingScorer distanceScorer(@Value("${ooter.ranking.distance-weight:3.0}") double weight,
+                                         @Value("${ooter.ranking.distance-scale-km:5.0}") double scaleKm) {
+        return (c, ctx) -> Double.isNaN(c.distanceKm()) ? 0 : weight * Math.exp(-c.distanceKm() / scaleKm);
+    }
+
+    @Bean
+    public HoardingScorer qualityFlagScorer(@Value("${ooter.ranking.flags-weight:1.0}") double weight) {
+        return (c, ctx) -> {
+            int flags = (c.snapshot().verifiedProperty() ? 1 : 0)
+                    + (c.snapshot().eyeCatching() ? 1 : 0)
+                    + (c.snapshot().mainHighway() ? 1 : 0);
+            return weight * flags / 3.0;
+        };
+    }
+
+    /** Cheaper listings rank higher, relative to the other candidates. */
+    @Bean
+    public HoardingScorer priceScorer(@Value("${ooter.ranking.price-weight:0.5}") double weight) {
+        return (c, ctx) -> {
+            double range = ctx.maxPrice() - ctx.minPrice();
+            return range > 0 ? weight * (ctx.maxPrice() - c.snapshot().pricePerMonth()) / range : 0;
+        };
+    }
+
+    @Bean
+    public HoardingScorer recencyScorer(@Value("${ooter.ranking.recency-weight:0.5}") double weight,
+                                        @Value("${ooter.ranking.recency-half-life-days:30}") double halfLifeDays) {
+        return (c, ctx) -> {
+            if (c.snapshot().updatedAt() == null) {
+                return 0;
+            }
+            double ageDays = Math.max(0, Duration.between(c.snapshot().updatedAt(), ctx.now()).toHours() / 24.0);
+            return weight * Math.pow(0.5, ageDays / halfLifeDays);
+        };
+    }
+}
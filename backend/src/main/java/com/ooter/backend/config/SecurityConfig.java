@@ -43,6 +43,7 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/vendors/dashboard").hasAuthority("ROLE_VENDOR")
                 .requestMatchers(HttpMethod.POST, "/api/hoardings").hasAuthority("ROLE_VENDOR")
                 .requestMatchers("/api/hoardings/vendor/").hasAuthority("ROLE_VENDOR")
+                .requestMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN")
 
                 .requestMatchers("/api/bookings", "/api/bookings/", "/api/users/", "/api/cart/")
                     .hasAnyAuthority("ROLE_USER", "ROLE_VENDOR")
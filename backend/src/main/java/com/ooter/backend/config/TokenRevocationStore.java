@@ -0,0 +1,208 @@
+package com.ooter.backend.config;
+
+import com.ooter.backend.cache.CacheInvalidation;
+import com.ooter.backend.cache.CacheInvalidationBus;
+import com.ooter.backend.entity.RevokedToken;
+import com.ooter.backend.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked tokens, by {@link JwtUtil#digest} and kept only until the token would have
+ * expired anyway.
+ * <p>
+ * Digests are grouped in buckets of {@code bucket-width} by expiry, so expired revocations
+ * are dropped a whole bucket at a time and a lookup only searches the token's own bucket.
+ * A Bloom filter over all live digests answers the common "not revoked" case without
+ * touching the buckets; it is rebuilt whenever buckets are dropped.
+ * <p>
+ * Every revocation is written to the {@link RevokedToken} table before it takes effect, and
+ * the table is loaded before the application serves requests, so a restart does not bring
+ * logged-out tokens back. Revocations reach the other instances over the
+ * {@link CacheInvalidationBus} right away. Because the bus can lose messages, each instance
+ * also re-reads recent revocations on a short interval and whenever the bus reconnects.
+ * Expired rows are deleted by {@link #purge()}.
+ */
+@Slf4j
+@Component
+public class TokenRevocationStore {
+
+    /** Pseudo cache name under which revocations travel on the invalidation bus. */
+    static final String BUS_CHANNEL = "revokedTokens";
+    private static final int HASHES = 4;
+    /** Overlap between syncs, so a revocation stamped by a slightly slow clock is not skipped. */
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    private final CacheInvalidationBus bus;
+    private final RevokedTokenRepository repository;
+    private final long bucketMillis;
+    private final int bloomBits;
+    private final String origin = UUID.randomUUID().toString();
+
+    /** Digests by the last bucket their token is valid in. */
+    private final NavigableMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+    private volatile BloomFilter bloom;
+    /** Revocations made before this time have been loaded; null until the first load. */
+    private volatile Instant syncedUntil;
+
+    public TokenRevocationStore(CacheInvalidationBus bus, RevokedTokenRepository repository,
+                                @Value("${ooter.auth.revocation.bucket-width:1h}") Duration bucketWidth,
+                                @Value("${ooter.auth.revocation.bloom-bits:1048576}") int bloomBits) {
+        this.bus = bus;
+        this.repository = repository;
+        this.bucketMillis = bucketWidth.toMillis();
+        this.bloomBits = bloomBits;
+        this.bloom = new BloomFilter(bloomBits);
+        bus.subscribe(this::onRemoteRevoke);
+        bus.onReconnect(this::sync);
+    }
+
+    /**
+     * Revokes a token until {@code expiresAt}, in epoch millis. The revocation is stored
+     * first, so a failure surfaces to the caller instead of leaving the token usable after
+     * the next restart.
+     */
+    public void revoke(String digest, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        repository.save(new RevokedToken(digest, Instant.ofEpochMilli(expiresAt), Instant.now()));
+        if (add(digest, expiresAt)) {
+            bus.publish(new CacheInvalidation(origin, BUS_CHANNEL, CacheInvalidation.Scope.KEY,
+                    digest + '@' + expiresAt));
+        }
+    }
+
+    /** Loads every live revocation before the application starts serving requests. */
+    @PostConstruct
+    public void load() {
+        sync();
+    }
+
+    /** Adds revocations stored since the last sync, picking up any the bus lost. */
+    @Scheduled(fixedDelayString = "${ooter.auth.revocation.sync-interval-ms:60000}",
+            initialDelayString = "${ooter.auth.revocation.sync-interval-ms:60000}")
+    public void sync() {
+        Instant now = Instant.now();
+        Instant since = syncedUntil;
+        try {
+            List<RevokedToken> rows = since == null
+                    ? repository.findByExpiresAtAfter(now)
+                    : repository.findByRevokedAtAfterAndExpiresAtAfter(since.minus(CLOCK_SKEW), now);
+            rows.forEach(row -> add(row.getDigest(), row.getExpiresAt().toEpochMilli()));
+            syncedUntil = now;
+            if (since == null) {
+                log.info("Loaded {} token revocations", rows.size());
+            }
+        } catch (Exception e) {
+            if (since == null) {
+                log.error("Failed to load token revocations, retrying on the next sync", e);
+            } else {
+                log.warn("Failed to sync token revocations", e);
+            }
+        }
+    }
+
+    public boolean isRevoked(String digest, long expiresAt) {
+        if (!bloom.mightContain(digest)) {
+            return false;
+        }
+        Set<String> bucket = buckets.get(bucketOf(expiresAt));
+        return bucket != null && bucket.contains(digest);
+    }
+
+    private synchronized boolean add(String digest, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return false;
+        }
+        buckets.computeIfAbsent(bucketOf(expiresAt), b -> ConcurrentHashMap.newKeySet()).add(digest);
+        bloom.add(digest);
+        return true;
+    }
+
+    private void onRemoteRevoke(CacheInvalidation invalidation) {
+        if (BUS_CHANNEL.equals(invalidation.cacheName()) && !origin.equals(invalidation.origin())) {
+            String value = invalidation.key();
+            int at = value.lastIndexOf('@');
+            add(value.substring(0, at), Long.parseLong(value.substring(at + 1)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ooter.auth.revocation.purge-interval-ms:600000}")
+    public void purge() {
+        purgeBuckets();
+        try {
+            int deleted = repository.deleteExpired(Instant.now());
+            if (deleted > 0) {
+                log.debug("Deleted {} expired token revocations", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to delete expired token revocations", e);
+        }
+    }
+
+    private synchronized void purgeBuckets() {
+        Map<Long, Set<String>> expired = buckets.headMap(bucketOf(System.currentTimeMillis()));
+        if (expired.isEmpty()) {
+            return;
+        }
+        int dropped = expired.values().stream().mapToInt(Set::size).sum();
+        expired.clear();
+        BloomFilter rebuilt = new BloomFilter(bloomBits);
+        buckets.values().forEach(bucket -> bucket.forEach(rebuilt::add));
+        bloom = rebuilt;
+        log.debug("Dropped {} expired token revocations", dropped);
+    }
+
+    private long bucketOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, bucketMillis);
+    }
+
+    /** Sets {@value #HASHES} bits per digest, taken from the digest itself since it is already a hash. */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final int bits;
+
+        BloomFilter(int bits) {
+            this.bits = Math.max(64, bits);
+            this.words = new AtomicLongArray((this.bits + 63) / 64);
+        }
+
+        void add(String digest) {
+            long h1 = Long.parseUnsignedLong(digest, 0, 16, 16);
+            long h2 = Long.parseUnsignedLong(digest, 16, 32, 16);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (int) Math.floorMod(h1 + i * h2, (long) bits);
+                long mask = 1L << bit;
+                words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+            }
+        }
+
+        boolean mightContain(String digest) {
+            long h1 = Long.parseUnsignedLong(digest, 0, 16, 16);
+            long h2 = Long.parseUnsignedLong(digest, 16, 32, 16);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (int) Math.floorMod(h1 + i * h2, (long) bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
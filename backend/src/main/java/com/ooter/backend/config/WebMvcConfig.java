@@ -0,0 +1,38 @@
+package com.ooter.backend.config;
+
+import com.ooter.backend.cache.ConditionalGetInterceptor;
+import com.ooter.backend.cache.HotKeyRecorder;
+import com.ooter.backend.security.CurrentUserArgumentResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Ahead of Spring Security's configurer, so User principals are resolved here first
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+    private final HotKeyRecorder hotKeyRecorder;
+    private final CurrentUserArgumentResolver currentUserArgumentResolver;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Ahead of conditional GETs, so revalidations are counted too
+        registry.addInterceptor(hotKeyRecorder)
+                .addPathPatterns("/api/hoardings", "/api/vendors/dashboard", "/api/vendors/listing-dashboard");
+        registry.addInterceptor(conditionalGetInterceptor).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserArgumentResolver);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ooter.backend.controller;
+
+import com.ooter.backend.entity.Role;
+import com.ooter.backend.security.AuthenticatedUser;
+import com.ooter.backend.service.PasswordHasher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AuthAdminController {
+
+    private final PasswordHasher passwordHasher;
+
+    /** Pool size, queue depth, rejections and hash/queue latency of the password hashing pool. */
+    @GetMapping("/password-hashing")
+    public ResponseEntity<?> getPasswordHashingStats(@AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.hasRole(Role.ADMIN)) {
+            return ResponseEntity.status(403).body("Access denied");
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(passwordHasher.stats());
+    }
+}
@@ -2,11 +2,15 @@ package com.ooter.backend.controller;
 
 import com.ooter.backend.dto.*;
 import com.ooter.backend.exception.AuthException;
+import com.ooter.backend.exception.PasswordHashingBusyException;
 import com.ooter.backend.service.AuthService;
+import com.ooter.backend.config.JwtAuthFilter;
 import com.ooter.backend.config.JwtUtil;
+import com.ooter.backend.config.TokenRevocationStore;
 import com.ooter.backend.entity.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -21,12 +25,20 @@ public class AuthController {
 
     private final AuthService authService;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationStore tokenRevocationStore;
+
+    /** Sent with a 503 when the password hashing pool is saturated. */
+    private static final String RETRY_AFTER_SECONDS = "2";
 
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@RequestBody SignupRequest request) {
         try {
             LoginResponse response = authService.signup(request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(new ErrorResponse("Server busy", "Too many requests right now, please retry shortly"));
         } catch (AuthException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse("Signup failed", e.getMessage()));
         } catch (Exception e) {
@@ -40,6 +52,10 @@ public class AuthController {
         try {
             LoginResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -50,6 +66,10 @@ public class AuthController {
         try {
             LoginResponse response = authService.googleLogin(request.getIdToken());
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(new ErrorResponse("Server busy", "Too many requests right now, please retry shortly"));
         } catch (AuthException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(new ErrorResponse("Google authentication failed", e.getMessage()));
@@ -139,6 +159,10 @@ public class AuthController {
         try {
             String message = authService.resetPasswordAfterOtp(request.getPhone(), request.getNewPassword());
             return ResponseEntity.ok(new SuccessResponse(message));
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(new ErrorResponse("Server busy", "Too many requests right now, please retry shortly"));
         } catch (AuthException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse("Password reset failed", e.getMessage()));
         } catch (Exception e) {
@@ -147,6 +171,19 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestAttribute(value = JwtAuthFilter.PRESENTED_TOKEN_ATTRIBUTE, required = false)
+            JwtAuthFilter.PresentedToken token) {
+        if (token == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse("Unauthorized", "User not authenticated"));
+        }
+        // Set by the filter after it verified the token, so its expiry can be trusted
+        tokenRevocationStore.revoke(token.digest(), token.expiresAt());
+        return ResponseEntity.ok(new SuccessResponse("Logged out"));
+    }
+
     @PostMapping("/refresh-token")
     public ResponseEntity<?> refreshToken(@AuthenticationPrincipal User user) {
         try {
@@ -1,10 +1,13 @@
 package com.ooter.backend.controller;
 
+import com.ooter.backend.cache.ConditionalGet;
+import com.ooter.backend.cache.LastModifiedRegistry;
 import java.time.temporal.ChronoUnit;
 import com.ooter.backend.dto.*;
 import com.ooter.backend.entity.*;
 import com.ooter.backend.exception.BookingException;
 import com.ooter.backend.repository.*;
+import com.ooter.backend.security.AuthenticatedUser;
 import com.ooter.backend.service.*;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -218,7 +221,7 @@ public class BookingController {
     public ResponseEntity<?> uploadPhoto(
             @PathVariable Long bookingId,
             @RequestParam("file") MultipartFile file,
-            @AuthenticationPrincipal User user) throws IOException {
+            @AuthenticationPrincipal AuthenticatedUser user) throws IOException {
         if (user == null) return ResponseEntity.status(401).body("Unauthorized");
 
         Booking booking = bookingService.getById(bookingId)
@@ -237,7 +240,7 @@ public class BookingController {
     public ResponseEntity<?> uploadMultipleFiles(
             @PathVariable Long bookingId,
             @RequestParam("files") List<MultipartFile> files,
-            @AuthenticationPrincipal User user) throws IOException {
+            @AuthenticationPrincipal AuthenticatedUser user) throws IOException {
         try {
             if (user == null) return ResponseEntity.status(401).body("Unauthorized");
 
@@ -266,7 +269,7 @@ public class BookingController {
     @GetMapping("/{bookingId}/uploads")
     public ResponseEntity<?> getUploadedFiles(
             @PathVariable Long bookingId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) return ResponseEntity.status(401).body("Unauthorized");
 
         List<UploadedFile> files = uploadedFileRepository.findByBookingId(bookingId);
@@ -281,7 +284,7 @@ public class BookingController {
     public ResponseEntity<?> saveUploadedFiles(
             @PathVariable Long bookingId,
             @RequestBody List<UploadedFileRequest> files,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) return ResponseEntity.status(401).body("Unauthorized");
 
         try {
@@ -300,7 +303,7 @@ public class BookingController {
     @GetMapping("/{bookingId}/execution-proof")
     public ResponseEntity<?> getExecutionProof(
             @PathVariable Long bookingId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) return ResponseEntity.status(401).body("Unauthorized");
 
         try {
@@ -310,11 +313,11 @@ public class BookingController {
 
             // Allow booking owner (customer) OR booking vendor
             boolean isCustomer = booking.getUser() != null && booking.getUser().getId() != null
-                    && booking.getUser().getId().equals(user.getId());
+                    && booking.getUser().getId().equals(user.id());
             boolean isVendor = booking.getHoarding() != null
                     && booking.getHoarding().getOwner() != null
                     && booking.getHoarding().getOwner().getId() != null
-                    && booking.getHoarding().getOwner().getId().equals(user.getId());
+                    && booking.getHoarding().getOwner().getId().equals(user.id());
 
             if (!isCustomer && !isVendor) {
                 return ResponseEntity.status(403).body("Access denied");
@@ -331,7 +334,7 @@ public class BookingController {
     public ResponseEntity<?> saveExecutionProof(
             @PathVariable Long bookingId,
             @RequestBody List<UploadedFileRequest> files,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) return ResponseEntity.status(401).body("Unauthorized");
 
         try {
@@ -340,11 +343,11 @@ public class BookingController {
             Booking booking = bookingOpt.get();
 
             // Only vendor who owns this booking can upload proof
-            boolean isVendor = user.getRole() == Role.VENDOR
+            boolean isVendor = user.hasRole(Role.VENDOR)
                     && booking.getHoarding() != null
                     && booking.getHoarding().getOwner() != null
                     && booking.getHoarding().getOwner().getId() != null
-                    && booking.getHoarding().getOwner().getId().equals(user.getId());
+                    && booking.getHoarding().getOwner().getId().equals(user.id());
 
             if (!isVendor) {
                 return ResponseEntity.status(403).body("Access denied");
@@ -364,7 +367,7 @@ public class BookingController {
     @DeleteMapping("/uploads/{fileId}")
     public ResponseEntity<?> deleteUploadedFile(
             @PathVariable Long fileId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) return ResponseEntity.status(401).body("Unauthorized");
 
         Optional<UploadedFile> fileOpt = uploadedFileRepository.findById(fileId);
@@ -375,9 +378,9 @@ public class BookingController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<?> myBookings(@AuthenticationPrincipal User user) {
+    public ResponseEntity<?> myBookings(@AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) return ResponseEntity.status(401).body("Unauthorized");
-        return ResponseEntity.ok(bookingService.getBookingsByUserId(user.getId()));
+        return ResponseEntity.ok(bookingService.getBookingsByUserId(user.id()));
     }
 
     @GetMapping("/hoarding/{hoardingId}")
@@ -421,42 +424,22 @@ public class BookingController {
     }
 
     @GetMapping("/orders")
-    public ResponseEntity<?> getActiveBookings(
-            @AuthenticationPrincipal User user,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
-        
+    @ConditionalGet(value = LastModifiedRegistry.Scope.USER_BOOKINGS, id = ConditionalGet.Id.CURRENT_USER)
+    public ResponseEntity<?> getActiveBookings(@AuthenticationPrincipal AuthenticatedUser user) {
+
         if (user == null) {
             return ResponseEntity.status(401).body("Unauthorized");
         }
 
         try {
-            Instant lastUpdate = bookingRepository.findMaxUpdatedAtByUser(user.getId());
-            if (lastUpdate == null) {
-                lastUpdate = Instant.now();
-            }
-
-            if (ifModifiedSince != null) {
-                try {
-                    Instant ifModifiedSinceInstant = Instant.parse(ifModifiedSince);
-                    if (!lastUpdate.isAfter(ifModifiedSinceInstant)) {
-                        return ResponseEntity.status(304).build();
-                    }
-                } catch (Exception e) {
-                    log.warn("Invalid If-Modified-Since header", e);
-                }
-            }
-
             List<Booking> active = bookingService.getBookingsByStatusList(
-                user.getId(),
+                user.id(),
                 List.of(BookingStatus.CONFIRMED, BookingStatus.PENDING)
             );
 
-            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES));
-            
-            builder.lastModified(lastUpdate);
-
-            return builder.body(active.stream().map(BookingResponse::from).toList());
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES))
+                .body(active.stream().map(BookingResponse::from).toList());
 
         } catch (Exception e) {
             log.error("Error fetching active bookings", e);
@@ -471,42 +454,22 @@ public class BookingController {
     }
 
     @GetMapping("/cancelled")
-    public ResponseEntity<?> getCancelledBookings(
-            @AuthenticationPrincipal User user,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
-        
+    @ConditionalGet(value = LastModifiedRegistry.Scope.USER_BOOKINGS, id = ConditionalGet.Id.CURRENT_USER)
+    public ResponseEntity<?> getCancelledBookings(@AuthenticationPrincipal AuthenticatedUser user) {
+
         if (user == null) {
             return ResponseEntity.status(401).body("Unauthorized");
         }
 
         try {
-            Instant lastUpdate = bookingRepository.findMaxUpdatedAtByUser(user.getId());
-            if (lastUpdate == null) {
-                lastUpdate = Instant.now();
-            }
-
-            if (ifModifiedSince != null) {
-                try {
-                    Instant ifModifiedSinceInstant = Instant.parse(ifModifiedSince);
-                    if (!lastUpdate.isAfter(ifModifiedSinceInstant)) {
-                        return ResponseEntity.status(304).build();
-                    }
-                } catch (Exception e) {
-                    log.warn("Invalid If-Modified-Since header", e);
-                }
-            }
-
             List<Booking> cancelled = bookingService.getBookingsByStatusList(
-                user.getId(),
+                user.id(),
                 List.of(BookingStatus.CANCELLED)
             );
 
-            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(24, TimeUnit.HOURS));
-            
-            builder.lastModified(lastUpdate);
-
-            return builder.body(cancelled.stream().map(BookingResponse::from).toList());
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(24, TimeUnit.HOURS))
+                .body(cancelled.stream().map(BookingResponse::from).toList());
 
         } catch (Exception e) {
             log.error("Error fetching cancelled bookings", e);
@@ -523,7 +486,7 @@ public class BookingController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getBookingDetail(
             @PathVariable Long id,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) return ResponseEntity.status(401).body("Unauthorized");
 
         return bookingService.getById(id)
@@ -572,12 +535,4 @@ public class BookingController {
             }
         }
     }
-
-    private Instant parseHttpDate(String httpDate) {
-        try {
-            return Instant.parse(httpDate);
-        } catch (Exception e) {
-            return Instant.now();
-        }
-    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.ooter.backend.controller;
 
+import com.ooter.backend.cache.ConditionalGet;
+import com.ooter.backend.cache.LastModifiedRegistry;
 import com.ooter.backend.dto.CartItemResponse;
 import com.ooter.backend.dto.AddToCartRequest;
 import com.ooter.backend.entity.CartItem;
@@ -7,6 +9,7 @@ import com.ooter.backend.entity.Hoarding;
 import com.ooter.backend.entity.User;
 import com.ooter.backend.repository.CartRepository;
 import com.ooter.backend.repository.HoardingRepository;
+import com.ooter.backend.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.CacheControl;
@@ -14,7 +17,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -97,10 +99,9 @@ public class CartController {
     }
 
     @GetMapping
-    public ResponseEntity<?> viewCart(
-            @AuthenticationPrincipal User user,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
-        
+    @ConditionalGet(value = LastModifiedRegistry.Scope.USER_CART, id = ConditionalGet.Id.CURRENT_USER)
+    public ResponseEntity<?> viewCart(@AuthenticationPrincipal AuthenticatedUser user) {
+
         if (user == null) {
             return ResponseEntity.status(401).body(
                 Map.of(
@@ -111,23 +112,7 @@ public class CartController {
         }
 
         try {
-            Instant lastUpdate = cartRepository.findMaxUpdatedAtByUser(user.getId());
-            if (lastUpdate == null) {
-                lastUpdate = Instant.now();
-            }
-
-            if (ifModifiedSince != null) {
-                try {
-                    Instant ifModifiedSinceInstant = Instant.parse(ifModifiedSince);
-                    if (!lastUpdate.isAfter(ifModifiedSinceInstant)) {
-                        return ResponseEntity.status(304).build();
-                    }
-                } catch (Exception e) {
-                    log.warn("Invalid If-Modified-Since header", e);
-                }
-            }
-
-            List<CartItemResponse> response = cartRepository.findByUser(user)
+            List<CartItemResponse> response = cartRepository.findByUserId(user.id())
                 .stream()
                 .map(item -> {
                     Hoarding hoarding = item.getHoarding();
@@ -149,12 +134,9 @@ public class CartController {
                 })
                 .collect(Collectors.toList());
 
-            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES));
-            
-            builder.lastModified(lastUpdate);
-
-            return builder.body(response);
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                .body(response);
 
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(
@@ -200,12 +182,4 @@ public class CartController {
             );
         }
     }
-
-    private Instant parseHttpDate(String httpDate) {
-        try {
-            return Instant.parse(httpDate);
-        } catch (Exception e) {
-            return Instant.now();
-        }
-    }
 }
\ No newline at end of file
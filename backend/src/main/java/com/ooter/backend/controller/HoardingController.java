@@ -1,49 +1,100 @@
 package com.ooter.backend.controller;
 
+import com.ooter.backend.cache.CacheTag;
+import com.ooter.backend.cache.CacheTagEvictor;
+import com.ooter.backend.cache.ConditionalGet;
+import com.ooter.backend.cache.LastModifiedRegistry;
+import com.ooter.backend.config.CacheConfig;
+import com.ooter.backend.dto.HoardingResponse;
 import com.ooter.backend.entity.*;
 import com.ooter.backend.repository.HoardingRepository;
+import com.ooter.backend.search.AvailabilityIndex;
+import com.ooter.backend.search.ClusterIndex;
+import com.ooter.backend.search.FacetIndex;
+import com.ooter.backend.search.GeoGridIndex;
+import com.ooter.backend.search.GeoMath;
+import com.ooter.backend.search.HoardingRanker;
+import com.ooter.backend.search.HoardingSnapshot;
+import com.ooter.backend.search.HoardingCatalog;
+import com.ooter.backend.search.NearestHoardingIndex;
+import com.ooter.backend.search.RankingCandidate;
+import com.ooter.backend.search.SuggestionIndex;
+import com.ooter.backend.search.TrigramIndex;
+import com.ooter.backend.security.AuthenticatedUser;
+import com.ooter.backend.service.HoardingListingService;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import java.time.Instant;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import org.springframework.cache.annotation.CacheEvict;
+import java.util.function.LongPredicate;
 
 @RestController
 @RequestMapping("/api/hoardings")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = "X-Next-Cursor")
 public class HoardingController {
 
     private final HoardingRepository hoardingRepository;
-    private static final DateTimeFormatter HTTP_HEADER_DATE_FORMAT = DateTimeFormatter.RFC_1123_DATE_TIME;
-
-    private Instant parseHttpDate(String httpDate) {
-        if (httpDate == null) return null;
+    private final HoardingCatalog hoardingCatalog;
+    private final GeoGridIndex geoGridIndex;
+    private final NearestHoardingIndex nearestHoardingIndex;
+    private final TrigramIndex trigramIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final FacetIndex facetIndex;
+    private final AvailabilityIndex availabilityIndex;
+    private final ClusterIndex clusterIndex;
+    private final HoardingRanker hoardingRanker;
+    private final CacheTagEvictor cacheTagEvictor;
+    private final HoardingListingService hoardingListingService;
+    private static final int MAX_NEAREST = 50;
+    private static final int MAX_SEARCH_RESULTS = 200;
+    /** Text matches handed to the ranker; the final result is cut down to {@code limit}. */
+    private static final int RANKING_POOL_SIZE = 1000;
+    private static final LongPredicate ANY_HOARDING = id -> true;
+    private static final int MAX_FACETED_PAGE_SIZE = 50;
+
+    /**
+     * Parses {@code available=from..to} (ISO dates, both inclusive) into a hoarding id filter.
+     * Returns {@link #ANY_HOARDING} when the parameter is absent.
+     */
+    private LongPredicate availabilityFilter(String available) {
+        if (available == null || available.isBlank()) {
+            return ANY_HOARDING;
+        }
+        String[] range = available.split("\\.\\.");
+        if (range.length != 2) {
+            throw new IllegalArgumentException("Expected available=from..to");
+        }
         try {
-            return ZonedDateTime.parse(httpDate, HTTP_HEADER_DATE_FORMAT).toInstant();
+            LocalDate from = LocalDate.parse(range[0].trim());
+            LocalDate to = LocalDate.parse(range[1].trim());
+            if (to.isBefore(from)) {
+                throw new IllegalArgumentException("Range ends before it starts");
+            }
+            return availabilityIndex.freeDuring(from, to);
         } catch (DateTimeParseException e) {
-            return null;
+            throw new IllegalArgumentException("Invalid date in available range", e);
         }
     }
 
     @PostMapping
-    @CacheEvict(value = {"vendorListingStats", "vendorDashboard", "vendorListings"}, allEntries = true)
     public ResponseEntity<?> createHoarding(@RequestBody Hoarding hoarding, @AuthenticationPrincipal User vendor) {
         try {
             if (vendor == null || vendor.getRole() != Role.VENDOR) {
@@ -68,6 +119,7 @@ public class HoardingController {
             }
 
             Hoarding saved = hoardingRepository.save(hoarding);
+            cacheTagEvictor.evict(CacheTag.vendor(vendor.getId()), CacheConfig.VENDOR_VIEW_CACHES);
             return ResponseEntity.ok(new HoardingResponse(saved));
         } catch (Exception e) {
             // Log the error for debugging
@@ -78,180 +130,347 @@ public class HoardingController {
     }
 
     @GetMapping
+    @ConditionalGet(LastModifiedRegistry.Scope.HOARDINGS)
     public ResponseEntity<List<HoardingResponse>> getAllHoardings(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String city,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String size,
+            @RequestParam(required = false) String siteType,
+            @RequestParam(required = false) String material,
+            @RequestParam(required = false) Long ownerId,
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) String sort,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
-        
-        Instant lastUpdate = hoardingRepository.findMaxUpdatedAt()
-                                   .orElse(Instant.now());
-        
-        if (ifModifiedSince != null) {
-            Instant modifiedSince = parseHttpDate(ifModifiedSince);
-            if (modifiedSince != null && !lastUpdate.isAfter(modifiedSince)) {
-                return ResponseEntity.status(304).build();
-            }
+            @RequestParam(required = false) String cursor) {
+
+        HoardingListingService.ListingPage listing;
+        try {
+            listing = hoardingListingService.list(new HoardingListingService.ListingQuery(category, city, status,
+                    minPrice, maxPrice, size, siteType, material, ownerId, page, limit, sort, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
+        return listingResponse(listing);
+    }
+
+    private static ResponseEntity<List<HoardingResponse>> listingResponse(HoardingListingService.ListingPage listing) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(listing.headers())
+                .body(listing.content());
+    }
 
-        List<Hoarding> hoardings;
+    @GetMapping("/faceted")
+    @ConditionalGet(value = LastModifiedRegistry.Scope.HOARDINGS, unlessParams = "available")
+    public ResponseEntity<FacetedSearchResponse> getFaceted(
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> city,
+            @RequestParam(required = false) List<String> state,
+            @RequestParam(required = false) List<String> siteType,
+            @RequestParam(required = false) List<String> material,
+            @RequestParam(required = false) List<String> screenType,
+            @RequestParam(required = false) List<String> price,
+            @RequestParam(required = false) Boolean eyeCatching,
+            @RequestParam(required = false) Boolean mainHighway,
+            @RequestParam(required = false) Boolean verifiedProperty,
+            @RequestParam(required = false) String available,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        if (!hoardingCatalog.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
 
-        // Default mode (no filters): max 20 items, paginated
-        if (category == null && city == null) {
-            int pageNum = (page != null && page > 0) ? page - 1 : 0; // 0-based for Spring
-            int pageSize = (limit != null && limit > 0) ? Math.min(limit, 20) : 20; // Max 20 for default
-            
-            Sort sortObj = (sort != null && sort.equalsIgnoreCase("latest")) 
-                ? Sort.by(Sort.Direction.DESC, "updatedAt")
-                : Sort.by(Sort.Direction.ASC, "id");
-            
-            Pageable pageable = PageRequest.of(pageNum, pageSize, sortObj);
-            Page<Hoarding> hoardingPage = hoardingRepository.findAll(pageable);
-            hoardings = hoardingPage.getContent();
-        } else if (category != null && city != null) {
-            try {
-                HoardingCategory cat = HoardingCategory.valueOf(category.toUpperCase());
-                hoardings = hoardingRepository.findByCategoryAndCityIgnoreCase(cat, city);
-            } catch (IllegalArgumentException e) {
-                return ResponseEntity.badRequest().build();
+        try {
+            if (category != null) {
+                category.forEach(c -> HoardingCategory.valueOf(c.trim().toUpperCase()));
             }
-        } else if (category != null) {
-            try {
-                HoardingCategory cat = HoardingCategory.valueOf(category.toUpperCase());
-                hoardings = hoardingRepository.findByCategory(cat);
-            } catch (IllegalArgumentException e) {
-                return ResponseEntity.badRequest().build();
+            if (status != null) {
+                status.forEach(s -> HoardingStatus.valueOf(s.trim().toUpperCase()));
             }
-        } else if (city != null) {
-            hoardings = hoardingRepository.findByCityIgnoreCase(city);
-        } else {
-            hoardings = hoardingRepository.findAll();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        LongPredicate free;
+        try {
+            free = availabilityFilter(available);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (free != ANY_HOARDING && !availabilityIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
 
+        Map<FacetIndex.Facet, List<String>> filters = new EnumMap<>(FacetIndex.Facet.class);
+        filters.put(FacetIndex.Facet.CATEGORY, category);
+        filters.put(FacetIndex.Facet.STATUS, status);
+        filters.put(FacetIndex.Facet.CITY, city);
+        filters.put(FacetIndex.Facet.STATE, state);
+        filters.put(FacetIndex.Facet.SITE_TYPE, siteType);
+        filters.put(FacetIndex.Facet.MATERIAL, material);
+        filters.put(FacetIndex.Facet.SCREEN_TYPE, screenType);
+        filters.put(FacetIndex.Facet.PRICE, price);
+        filters.put(FacetIndex.Facet.EYE_CATCHING, eyeCatching != null ? List.of(eyeCatching.toString()) : null);
+        filters.put(FacetIndex.Facet.MAIN_HIGHWAY, mainHighway != null ? List.of(mainHighway.toString()) : null);
+        filters.put(FacetIndex.Facet.VERIFIED_PROPERTY,
+                verifiedProperty != null ? List.of(verifiedProperty.toString()) : null);
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_FACETED_PAGE_SIZE));
+        int offset = (Math.max(page, 1) - 1) * pageSize;
+        FacetIndex.Result result = facetIndex.search(filters, offset, pageSize, free);
+        List<HoardingResponse> hoardings = hoardingCatalog.loadInOrder(result.ids()).stream()
+                .map(HoardingResponse::new)
+                .toList();
+
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
-                .lastModified(lastUpdate)
-                .body(hoardings.stream().map(HoardingResponse::new).toList());
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES))
+                .body(new FacetedSearchResponse(hoardings, result.total(), result.facets()));
     }
 
     @GetMapping("/search")
+    @ConditionalGet(value = LastModifiedRegistry.Scope.HOARDINGS, unlessParams = "available")
     public ResponseEntity<List<HoardingResponse>> searchByKeyword(
             @RequestParam String location,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String available) {
         
         if (location == null || location.trim().isEmpty()) {
             return ResponseEntity.ok()
                     .contentType(MediaType.APPLICATION_JSON)
                     .body(Collections.emptyList());
         }
-        
-        Instant lastUpdate = hoardingRepository.findMaxUpdatedAt()
-                                   .orElse(Instant.now());
-        
-        if (ifModifiedSince != null) {
-            Instant modifiedSince = parseHttpDate(ifModifiedSince);
-            if (modifiedSince != null && !lastUpdate.isAfter(modifiedSince)) {
-                return ResponseEntity.status(304).build();
-            }
+
+        LongPredicate free;
+        try {
+            free = availabilityFilter(available);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (free != ANY_HOARDING && !availabilityIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
 
-        List<Hoarding> results = hoardingRepository
-                .findByLocationContainingIgnoreCaseOrCityContainingIgnoreCaseOrStateContainingIgnoreCase(
-                        location, location, location);
+        int size = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        List<TrigramIndex.Hit> hits = hoardingCatalog.isReady()
+                ? trigramIndex.search(location, RANKING_POOL_SIZE, free)
+                : null;
+
+        List<Hoarding> results;
+        if (hits != null) {
+            List<RankingCandidate> candidates = new ArrayList<>(hits.size());
+            for (TrigramIndex.Hit hit : hits) {
+                HoardingSnapshot snapshot = hoardingCatalog.get(hit.id());
+                if (snapshot != null) {
+                    candidates.add(RankingCandidate.ofText(snapshot, hit.score()));
+                }
+            }
+            results = hoardingCatalog.loadInOrder(hoardingRanker.rank(candidates, size));
+        } else {
+            // Catalog still loading, or the keyword is too short for trigrams
+            String keyword = location.trim();
+            results = hoardingRepository
+                    .findByLocationContainingIgnoreCaseOrCityContainingIgnoreCaseOrStateContainingIgnoreCase(
+                            keyword, keyword, keyword, PageRequest.of(0, size))
+                    .stream()
+                    .filter(h -> free.test(h.getId()))
+                    .toList();
+        }
         
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
                 .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
-                .lastModified(lastUpdate)
                 .body(results.stream().map(HoardingResponse::new).toList());
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionIndex.Suggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        if (!hoardingCatalog.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        int size = Math.max(1, Math.min(limit, SuggestionIndex.MAX_SUGGESTIONS));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                .body(suggestionIndex.suggest(q, size));
+    }
+
     @GetMapping("/nearby")
+    @ConditionalGet(value = LastModifiedRegistry.Scope.HOARDINGS, unlessParams = "available")
     public ResponseEntity<List<HoardingResponse>> getNearby(
             @RequestParam double lat,
             @RequestParam double lng,
             @RequestParam(defaultValue = "20") double radius,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
-        
-        Instant lastUpdate = hoardingRepository.findMaxUpdatedAt()
-                                   .orElse(Instant.now());
-        
-        if (ifModifiedSince != null) {
-            Instant modifiedSince = parseHttpDate(ifModifiedSince);
-            if (modifiedSince != null && !lastUpdate.isAfter(modifiedSince)) {
-                return ResponseEntity.status(304).build();
-            }
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String available) {
+
+        LongPredicate free;
+        try {
+            free = availabilityFilter(available);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (free != ANY_HOARDING && !availabilityIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
 
-        List<Hoarding> results = hoardingRepository.findNearbyHoardings(lat, lng, radius);
+        int size = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        List<Hoarding> results;
+        if (hoardingCatalog.isReady()) {
+            List<RankingCandidate> candidates = new ArrayList<>();
+            for (GeoGridIndex.Hit hit : geoGridIndex.within(lat, lng, radius)) {
+                HoardingSnapshot snapshot = hoardingCatalog.get(hit.id());
+                if (snapshot != null && free.test(hit.id())) {
+                    candidates.add(RankingCandidate.ofDistance(snapshot, hit.distanceKm()));
+                }
+            }
+            results = hoardingCatalog.loadInOrder(hoardingRanker.rank(candidates, size));
+        } else {
+            // Catalog still loading after startup: rank the database matches the same way,
+            // so the cached response does not depend on when it was first requested.
+            Map<Long, Hoarding> byId = new HashMap<>();
+            List<RankingCandidate> candidates = new ArrayList<>();
+            for (Hoarding h : hoardingRepository.findNearbyHoardings(lat, lng, radius)) {
+                if (free.test(h.getId())) {
+                    byId.put(h.getId(), h);
+                    candidates.add(RankingCandidate.ofDistance(HoardingSnapshot.from(h),
+                            GeoMath.distanceKm(lat, lng, h.getLatitude(), h.getLongitude())));
+                }
+            }
+            results = hoardingRanker.rank(candidates, size).stream().map(byId::get).toList();
+        }
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
                 .cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES))
-                .lastModified(lastUpdate)
                 .body(results.stream().map(HoardingResponse::new).toList());
     }
 
-    @GetMapping("/vendor/{ownerId}")
-    public ResponseEntity<List<HoardingResponse>> getVendorHoardings(
-            @PathVariable Long ownerId,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
-        
-        Instant lastUpdate = hoardingRepository.findMaxUpdatedAtByOwner(ownerId)
-                                   .orElse(Instant.now());
-        
-        if (ifModifiedSince != null) {
-            Instant modifiedSince = parseHttpDate(ifModifiedSince);
-            if (modifiedSince != null && !lastUpdate.isAfter(modifiedSince)) {
-                return ResponseEntity.status(304).build();
+    @GetMapping("/clusters")
+    @ConditionalGet(LastModifiedRegistry.Scope.HOARDINGS)
+    public ResponseEntity<List<ClusterIndex.Cluster>> getClusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom) {
+
+        if (!hoardingCatalog.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        // bbox=west,south,east,north
+        double[] box = new double[4];
+        String[] parts = bbox.split(",");
+        try {
+            if (parts.length != 4) {
+                return ResponseEntity.badRequest().build();
+            }
+            for (int i = 0; i < 4; i++) {
+                box[i] = Double.parseDouble(parts[i].trim());
             }
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (box[1] > box[3]) {
+            return ResponseEntity.badRequest().build();
         }
 
-        List<Hoarding> hoardings = hoardingRepository.findByOwnerId(ownerId);
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
-                .lastModified(lastUpdate)
-                .body(hoardings.stream().map(HoardingResponse::new).toList());
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES))
+                .body(clusterIndex.clusters(box[1], box[0], box[3], box[2], zoom));
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<HoardingResponse> getById(
-            @PathVariable Long id,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
+    @GetMapping("/nearest")
+    @ConditionalGet(value = LastModifiedRegistry.Scope.HOARDINGS, unlessParams = "available")
+    public ResponseEntity<List<HoardingResponse>> getNearest(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) String available) {
+
+        if (!hoardingCatalog.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        Set<HoardingStatus> statuses = EnumSet.noneOf(HoardingStatus.class);
+        Set<HoardingCategory> categories = EnumSet.noneOf(HoardingCategory.class);
+        try {
+            if (status != null) {
+                status.forEach(s -> statuses.add(HoardingStatus.valueOf(s.trim().toUpperCase())));
+            }
+            if (category != null) {
+                category.forEach(c -> categories.add(HoardingCategory.valueOf(c.trim().toUpperCase())));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        LongPredicate free;
+        try {
+            free = availabilityFilter(available);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (free != ANY_HOARDING && !availabilityIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        int limit = Math.max(1, Math.min(k, MAX_NEAREST));
+        List<Long> ids = nearestHoardingIndex.nearest(lat, lng, limit, statuses, categories, free).stream()
+                .map(NearestHoardingIndex.Hit::id)
+                .toList();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES))
+                .body(hoardingCatalog.loadInOrder(ids).stream().map(HoardingResponse::new).toList());
+    }
+
+    @GetMapping("/vendor/{ownerId}")
+    @ConditionalGet(value = LastModifiedRegistry.Scope.OWNER_HOARDINGS,
+            id = ConditionalGet.Id.PATH_VARIABLE, pathVariable = "ownerId")
+    public ResponseEntity<List<HoardingResponse>> getVendorHoardings(
+            @PathVariable Long ownerId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
         
+        HoardingListingService.ListingPage listing;
+        try {
+            listing = hoardingListingService.listByOwner(ownerId, limit, cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return listingResponse(listing);
+    }
+
+    @GetMapping("/{id}")
+    @ConditionalGet(value = LastModifiedRegistry.Scope.HOARDING, id = ConditionalGet.Id.PATH_VARIABLE, pathVariable = "id")
+    public ResponseEntity<HoardingResponse> getById(@PathVariable Long id) {
         return hoardingRepository.findById(id)
-                .map(hoarding -> {
-                    Instant lastUpdate = Optional.ofNullable(hoarding.getUpdatedAt())
-                                               .orElse(Instant.now());
-                    
-                    if (ifModifiedSince != null) {
-                        Instant modifiedSince = parseHttpDate(ifModifiedSince);
-                        if (modifiedSince != null && !lastUpdate.isAfter(modifiedSince)) {
-                            return ResponseEntity.status(304).<HoardingResponse>build();
-                        }
-                    }
-                    
-                    return ResponseEntity.ok()
-                            .contentType(MediaType.APPLICATION_JSON)
-                            .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
-                            .lastModified(lastUpdate)
-                            .body(new HoardingResponse(hoarding));
-                })
+                .map(hoarding -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
+                        .body(new HoardingResponse(hoarding)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    @CacheEvict(value = {"vendorListingStats", "vendorDashboard", "vendorListings"}, allEntries = true)
-    public ResponseEntity<?> updateHoarding(@PathVariable Long id, @RequestBody Hoarding updated, @AuthenticationPrincipal User vendor) {
-        if (vendor == null || vendor.getRole() != Role.VENDOR) {
+    public ResponseEntity<?> updateHoarding(@PathVariable Long id, @RequestBody Hoarding updated, @AuthenticationPrincipal AuthenticatedUser vendor) {
+        if (vendor == null || !vendor.hasRole(Role.VENDOR)) {
             return ResponseEntity.status(403).body("Only vendors can update hoardings");
         }
 
         return hoardingRepository.findById(id).map(existing -> {
-            if (!existing.getOwner().getId().equals(vendor.getId())) {
+            if (!existing.getOwner().getId().equals(vendor.id())) {
                 return ResponseEntity.status(403).body("You can only update your own listings");
             }
 
@@ -304,97 +523,16 @@ public class HoardingController {
             }
 
             Hoarding saved = hoardingRepository.save(existing);
+            cacheTagEvictor.evict(CacheTag.vendor(vendor.id()), CacheConfig.VENDOR_VIEW_CACHES);
             return ResponseEntity.ok(new HoardingResponse(saved));
         }).orElse(ResponseEntity.notFound().build());
     }
 
     @Data
     @AllArgsConstructor
-    static class HoardingResponse {
-        private Long id;
-        private String name;
-        private String location;
-        private String city;
-        private String size;
-        private String imageUrl;
-        private double price;
-        private String description;
-        private String category;
-
-        private String material;
-        private String siteType;
-        private String country;
-        private String state;
-        private String district;
-        private String landmark;
-        private Double latitude;
-        private Double longitude;
-
-        private Double discount;
-        private Integer printingCharges;
-        private Integer mountingCharges;
-
-        private String screenType;
-        private String screenWidth;
-        private String screenHeight;
-        private String screenDepth;
-        private String sizeUnit;
-
-        private String sku;
-        private String hshCode;
-        private String gst;
-        private String pinCode;
-
-        private boolean verifiedProperty;
-        private boolean eyeCatching;
-        private boolean mainHighway;
-        private boolean currentlyAvailable;
-
-        private String status;
-        private String availableDate;
-
-        public HoardingResponse(Hoarding h) {
-            this.id = h.getId();
-            this.name = h.getName();
-            this.location = h.getLocation();
-            this.city = h.getCity();
-            this.size = h.getSize();
-            this.imageUrl = h.getImageUrl();
-            this.price = h.getPricePerMonth();
-            this.description = h.getDescription();
-            this.category = h.getCategory() != null ? h.getCategory().name() : null;
-
-            this.material = h.getMaterial();
-            this.siteType = h.getSiteType();
-            this.country = h.getCountry();
-            this.state = h.getState();
-            this.district = h.getDistrict();
-            this.landmark = h.getLandmark();
-            this.latitude = h.getLatitude();
-            this.longitude = h.getLongitude();
-
-            this.discount = h.getDiscount();
-            this.printingCharges = h.getPrintingCharges();
-            this.mountingCharges = h.getMountingCharges();
-
-            this.screenType = h.getScreenType();
-            this.screenWidth = h.getScreenWidth();
-            this.screenHeight = h.getScreenHeight();
-            this.screenDepth = h.getScreenDepth();
-            this.sizeUnit = h.getSizeUnit();
-
-            this.sku = h.getSku();
-            this.hshCode = h.getHshCode();
-            this.gst = h.getGst();
-            this.pinCode = h.getPinCode();
-
-            this.verifiedProperty = h.isVerifiedProperty();
-            this.eyeCatching = h.isEyeCatching();
-            this.mainHighway = h.isMainHighway();
-            this.currentlyAvailable = !h.isBooked();
-
-            this.status = h.getStatus() != null ? h.getStatus().name() : null;
-            this.availableDate = h.getAvailableDate() != null ? h.getAvailableDate().toString() : null;
-        }
+    static class FacetedSearchResponse {
+        private List<HoardingResponse> results;
+        private int total;
+        private Map<String, Map<String, Integer>> facets;
     }
-}
\ No newline at end of file
+}
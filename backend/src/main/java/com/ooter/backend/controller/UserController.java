@@ -1,14 +1,15 @@
 package com.ooter.backend.controller;
 
+import com.ooter.backend.cache.CacheTagEvictor;
+import com.ooter.backend.config.CacheConfig;
 import com.ooter.backend.config.JwtUtil;
 import com.ooter.backend.entity.User;
 import com.ooter.backend.repository.UserRepository;
+import com.ooter.backend.security.AuthenticatedUser;
 import com.ooter.backend.service.EmailService;
-import lombok.AllArgsConstructor;
+import com.ooter.backend.service.UserViewService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -28,59 +29,34 @@ public class UserController {
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
     private final EmailService emailService;
+    private final UserViewService userViewService;
+    private final CacheTagEvictor cacheTagEvictor;
 
     @GetMapping("/me")
-    @Cacheable(value = "userProfile", key = "#user?.id ?: 'default'", unless = "#result == null || #result.body == null")
     public ResponseEntity<?> getCurrentUser(@AuthenticationPrincipal User user) {
         if (user == null) {
             return ResponseEntity.status(401).body("Unauthorized");
         }
 
-        return ResponseEntity.ok(
-                new UserResponse(
-                        user.getId(),
-                        user.getName(),
-                        user.getPhone(),
-                        user.getEmail(),
-                        user.getRole().name(),
-                        user.getReferralCode(),
-                        user.getReferredBy(),
-                        user.getReferralCoins(),
-                        user.isReferralUsed(),
-                        user.getGender(),
-                        user.getDateOfBirth(),
-                        user.getCompanyName(),
-                        user.getGstin(),
-                        user.getPan()
-                )                        
-        );
+        return ResponseEntity.ok(userViewService.profile(user));
     }
 
     @GetMapping("/recent-searches")
-    @Cacheable(value = "userSearches", key = "#userPrincipal?.id ?: 'default'", unless = "#result == null || #result.body == null")
-    public ResponseEntity<List<String>> getRecentSearches(@AuthenticationPrincipal User userPrincipal) {
+    public ResponseEntity<List<String>> getRecentSearches(@AuthenticationPrincipal AuthenticatedUser userPrincipal) {
         if (userPrincipal == null) {
             return ResponseEntity.status(401).build();
         }
-        
-        User user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        
-        if (user.getRecentSearches() == null) {
-            user.setRecentSearches(new ArrayList<>());
-        }
-        
-        return ResponseEntity.ok(user.getRecentSearches());
+
+        return ResponseEntity.ok(userViewService.recentSearches(userPrincipal.id()));
     }
 
     @PostMapping("/recent-searches")
-    @CacheEvict(value = "userSearches", key = "#user?.id ?: 'default'")
-    public ResponseEntity<Void> addSearch(@RequestBody SearchRequest req, @AuthenticationPrincipal User user) {
+    public ResponseEntity<Void> addSearch(@RequestBody SearchRequest req, @AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) {
             return ResponseEntity.status(401).build();
         }
 
-        User freshUser = userRepository.findById(user.getId())
+        User freshUser = userRepository.findById(user.id())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
 
         String keyword = req.getQuery();
@@ -95,6 +71,7 @@ public class UserController {
 
         freshUser.setRecentSearches(searches);
         userRepository.save(freshUser);
+        cacheTagEvictor.evictKey(user.id(), CacheConfig.USER_SEARCHES_CACHE);
         return ResponseEntity.ok().build();
     }
 
@@ -167,7 +144,6 @@ public class UserController {
     }
 
     @PutMapping("/update-profile")
-    @CacheEvict(value = "userProfile", key = "#user?.id ?: 'default'")
     public ResponseEntity<?> updateProfile(@RequestBody Map<String, String> req, @AuthenticationPrincipal User user) {
         String first = req.get("firstName");
         String last = req.get("lastName");
@@ -207,6 +183,7 @@ public class UserController {
         }
 
         userRepository.save(user);
+        cacheTagEvictor.evictKey(user.getId(), CacheConfig.USER_PROFILE_CACHE);
         return ResponseEntity.ok("Profile updated");
     }
 
@@ -214,23 +191,4 @@ public class UserController {
     static class SearchRequest { 
         private String query; 
     }
-
-    @Data
-    @AllArgsConstructor
-    static class UserResponse {
-        private Long id;
-        private String name;
-        private String phone;
-        private String email;
-        private String role;
-        private String referralCode;
-        private String referredBy;
-        private int referralCoins;
-        private boolean referralUsed;
-        private String gender;
-        private LocalDate dateOfBirth;
-        private String companyName;
-        private String gstin;
-        private String pan;
-    }
-}
\ No newline at end of file
+}
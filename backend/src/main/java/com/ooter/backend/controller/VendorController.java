@@ -1,16 +1,19 @@
 package com.ooter.backend.controller;
 
+import com.ooter.backend.cache.CacheTag;
+import com.ooter.backend.cache.CacheTagEvictor;
+import com.ooter.backend.cache.ConditionalGet;
+import com.ooter.backend.cache.LastModifiedRegistry;
+import com.ooter.backend.config.CacheConfig;
+import com.ooter.backend.config.JwtUtil;
 import com.ooter.backend.dto.*;
 import com.ooter.backend.entity.*;
 import com.ooter.backend.repository.BookingRepository;
-import com.ooter.backend.repository.HoardingRepository;
 import com.ooter.backend.repository.UserRepository;
+import com.ooter.backend.security.AuthenticatedUser;
 import com.ooter.backend.service.BookingService;
+import com.ooter.backend.service.VendorViewService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.http.CacheControl;
@@ -22,13 +25,11 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
 import java.io.IOException;
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -40,23 +41,13 @@ import java.util.concurrent.TimeUnit;
 public class VendorController {
 
     private final UserRepository userRepository;
-    private final HoardingRepository hoardingRepository;
     private final BookingRepository bookingRepository;
     private final BookingService bookingService;
-    private final CacheManager cacheManager;
-    private static final DateTimeFormatter HTTP_HEADER_DATE_FORMAT = DateTimeFormatter.RFC_1123_DATE_TIME;
-
-    private Instant parseHttpDate(String httpDate) {
-        if (httpDate == null) return null;
-        try {
-            return ZonedDateTime.parse(httpDate, HTTP_HEADER_DATE_FORMAT).toInstant();
-        } catch (DateTimeParseException e) {
-            return null;
-        }
-    }
+    private final VendorViewService vendorViewService;
+    private final CacheTagEvictor cacheTagEvictor;
+    private final JwtUtil jwtUtil;
 
     @PostMapping("/upload-verification")
-    @CacheEvict(value = {"vendorDashboard", "vendorListings"}, key = "#vendor.id")
     public ResponseEntity<?> uploadVerificationDocs(
             @RequestParam("gstCertificate") MultipartFile gstCertificate,
             @RequestParam(value = "cinCertificate", required = false) MultipartFile cinCertificate,
@@ -87,6 +78,7 @@ public class VendorController {
 
             vendor.setVerified(true);
             userRepository.save(vendor);
+            cacheTagEvictor.evict(CacheTag.vendor(vendor.getId()), CacheConfig.VENDOR_VIEW_CACHES);
 
             return ResponseEntity.ok("Verification submitted successfully");
         } catch (IOException e) {
@@ -95,18 +87,17 @@ public class VendorController {
     }
 
     @PostMapping
-    @CacheEvict(value = {"vendorDashboard", "vendorListings"}, key = "#user.id")
-    public ResponseEntity<MessageResponse> registerAsVendor(
-            @AuthenticationPrincipal User user,
+    public ResponseEntity<?> registerAsVendor(
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestBody VendorRegistrationRequest request) {
         if (user == null) return ResponseEntity.status(401).body(new MessageResponse("User not authenticated"));
 
         // ✅ Better error handling - check if user ID is valid
-        if (user.getId() == null) {
+        if (user.id() == null) {
             return ResponseEntity.status(401).body(new MessageResponse("Invalid user session. Please login again."));
         }
 
-        Optional<User> optionalUser = userRepository.findById(user.getId());
+        Optional<User> optionalUser = userRepository.findById(user.id());
         if (optionalUser.isEmpty()) {
             return ResponseEntity.badRequest().body(new MessageResponse("User not found. Please login again."));
         }
@@ -151,26 +142,26 @@ public class VendorController {
         existingUser.setCin(request.getCin());
         existingUser.setAddress(request.getAddress());
         existingUser.setRole(Role.VENDOR);
+        // Tokens carrying the old role stop working; the new one is returned below
+        existingUser.setTokenVersion(existingUser.getTokenVersion() + 1);
 
         try {
             userRepository.save(existingUser);
 
             // Evict all user-related caches to prevent stale data
-            Cache userCache = cacheManager.getCache("users");
-            if (userCache != null) {
-                String userIdentifier = existingUser.getPhone() != null
-                    ? existingUser.getPhone()
-                    : existingUser.getEmail();
-                if (userIdentifier != null) {
-                    userCache.evict(userIdentifier);
-                }
-            }
-            Cache userProfileCache = cacheManager.getCache("userProfile");
-            if (userProfileCache != null && existingUser.getId() != null) {
-                userProfileCache.evict(existingUser.getId());
+            String userIdentifier = existingUser.getPhone() != null
+                ? existingUser.getPhone()
+                : existingUser.getEmail();
+            if (userIdentifier != null) {
+                cacheTagEvictor.evictKey(userIdentifier, CacheConfig.USER_CACHE);
             }
+            cacheTagEvictor.evictKey(existingUser.getId(), CacheConfig.USER_PROFILE_CACHE);
+            cacheTagEvictor.evict(CacheTag.vendor(existingUser.getId()), CacheConfig.VENDOR_VIEW_CACHES);
 
-            return ResponseEntity.ok(new MessageResponse("Vendor registration successful"));
+            Map<String, String> body = new HashMap<>();
+            body.put("message", "Vendor registration successful");
+            body.put("token", jwtUtil.generateToken(existingUser));
+            return ResponseEntity.ok(body);
         } catch (DataIntegrityViolationException e) {
             String errorMessage = e.getMessage();
             if (errorMessage != null) {
@@ -191,161 +182,62 @@ public class VendorController {
     }
 
     @GetMapping("/dashboard")
-    @Cacheable(value = "vendorDashboard", key = "#user.id", unless = "#result == null || #result.body == null")
+    @ConditionalGet(value = {LastModifiedRegistry.Scope.OWNER_HOARDINGS, LastModifiedRegistry.Scope.VENDOR_BOOKINGS},
+            id = ConditionalGet.Id.CURRENT_USER)
     public ResponseEntity<?> getVendorDashboard(
-            @AuthenticationPrincipal User user,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
+            @AuthenticationPrincipal User user) {
         if (user == null || user.getRole() != Role.VENDOR)
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
 
-        Long vendorId = user.getId();
-        Instant lastUpdate = bookingRepository.findMaxUpdatedAtByVendor(vendorId)
-                .orElse(Instant.now());
-
-        if (ifModifiedSince != null) {
-            Instant modifiedSince = parseHttpDate(ifModifiedSince);
-            if (modifiedSince != null && !lastUpdate.isAfter(modifiedSince)) {
-                return ResponseEntity.status(304).build();
-            }
-        }
-
-        VendorDashboardResponse response = new VendorDashboardResponse(
-                hoardingRepository.countByOwnerId(vendorId),
-                bookingRepository.countByVendorIdAndStatus(vendorId, BookingStatus.CONFIRMED),
-                bookingRepository.countByVendorIdAndStatus(vendorId, BookingStatus.CONFIRMED),
-                bookingRepository.sumPaidAmountByVendorId(vendorId),
-                bookingRepository.countByVendorIdAndStatus(vendorId, BookingStatus.CONFIRMED),
-                bookingRepository.countNewOrdersForVendor(vendorId),
-                bookingRepository.countPendingRTMForVendor(vendorId),
-                bookingRepository.sumPreviousPaymentsByVendorId(vendorId),
-                bookingRepository.sumUpcomingPaymentsByVendorId(vendorId),
-                bookingRepository.countByVendorIdAndStatus(vendorId, BookingStatus.CONFIRMED),
-                hoardingRepository.countByOwnerId(vendorId) - 
-                    bookingRepository.countByVendorIdAndStatus(vendorId, BookingStatus.CONFIRMED),
-                user.isVerified(),
-                user.isOnHold()
-        );
+        VendorDashboardStats stats = vendorViewService.dashboard(user.getId());
 
         return ResponseEntity.ok()
                 .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
-                .lastModified(lastUpdate)
-                .body(response);
+                .body(VendorDashboardResponse.of(stats, user.isVerified(), user.isOnHold()));
     }
 
     @GetMapping("/sales-overview")
-    @Cacheable(value = "vendorSales", key = "{#user.id, #startDate, #endDate}", unless = "#result == null || #result.body == null")
+    @ConditionalGet(value = LastModifiedRegistry.Scope.VENDOR_BOOKINGS, id = ConditionalGet.Id.CURRENT_USER,
+            dependsOnDate = true)
     public ResponseEntity<?> getSalesOverview(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
+            @RequestParam(required = false) String endDate) {
         
-        if (user == null || user.getRole() != Role.VENDOR) {
+        if (user == null || !user.hasRole(Role.VENDOR)) {
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
         }
 
         LocalDate start = startDate != null ? LocalDate.parse(startDate) : LocalDate.now().withDayOfMonth(1);
         LocalDate end = endDate != null ? LocalDate.parse(endDate) : LocalDate.now();
 
-        Instant lastUpdate = bookingRepository.findMaxUpdatedAtByVendor(user.getId())
-                .orElse(Instant.now());
-
-        if (ifModifiedSince != null) {
-            Instant modifiedSince = parseHttpDate(ifModifiedSince);
-            if (modifiedSince != null && !lastUpdate.isAfter(modifiedSince)) {
-                return ResponseEntity.status(304).build();
-            }
-        }
-
-        Double totalSales = bookingRepository.sumSalesByVendorAndDateRange(
-                user.getId(), 
-                start.atStartOfDay(), 
-                end.plusDays(1).atStartOfDay()
-        );
-        
-        if (totalSales == null) {
-            totalSales = 0.0;
-        }
-
-        List<Booking> bookings = bookingRepository.findByVendorIdAndDateRange(
-                user.getId(),
-                start.atStartOfDay(),
-                end.plusDays(1).atStartOfDay()
-        );
-
-        List<SalesOverviewDTO.OrderDTO> orderDTOs = bookings.stream()
-                .map(b -> {
-                    SalesOverviewDTO.OrderDTO dto = new SalesOverviewDTO.OrderDTO();
-                    dto.setOrderId(b.getOrderId());
-                    dto.setDate(b.getCreatedAt().toLocalDate().toString());
-                    dto.setAmount(b.getTotalAmount());
-                    return dto;
-                })
-                .toList();
-
-        SalesOverviewDTO response = new SalesOverviewDTO();
-        response.setTotalSales(totalSales);
-        response.setPeriod(start.toString() + " to " + end.toString());
-        response.setDaysShowing((int) start.datesUntil(end.plusDays(1)).count());
-        response.setOrders(orderDTOs);
-
         return ResponseEntity.ok()
                 .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
-                .lastModified(lastUpdate)
-                .body(response);
+                .body(vendorViewService.salesOverview(user.id(), start, end));
     }
 
     @GetMapping("/listing-dashboard")
-    @Cacheable(value = "vendorListingStats", key = "#user.id", unless = "#result == null || #result.body == null")
+    @ConditionalGet(value = {LastModifiedRegistry.Scope.OWNER_HOARDINGS, LastModifiedRegistry.Scope.VENDOR_BOOKINGS},
+            id = ConditionalGet.Id.CURRENT_USER)
     public ResponseEntity<?> getVendorListingStats(
-            @AuthenticationPrincipal User user,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
-        if (user == null || user.getRole() != Role.VENDOR) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.hasRole(Role.VENDOR)) {
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
         }
 
-        Long vendorId = user.getId();
-        Instant lastUpdate = hoardingRepository.findMaxUpdatedAtByOwner(vendorId)
-                .orElse(Instant.now());
-
-        if (ifModifiedSince != null) {
-            Instant modifiedSince = parseHttpDate(ifModifiedSince);
-            if (modifiedSince != null && !lastUpdate.isAfter(modifiedSince)) {
-                return ResponseEntity.status(304).build();
-            }
-        }
-
-        int availableCount = hoardingRepository.findActiveAndAvailableByVendor(vendorId).stream()
-                .filter(h -> !bookingRepository.existsActiveBookingForHoarding(h.getId()))
-                .toList()
-                .size();
-
-        int activeCount = hoardingRepository.findAllActiveTabHoardings(vendorId).size();
-        int bookedCount = hoardingRepository.findBookedByVendor(vendorId, Pageable.unpaged()).getContent().size();
-        int nonActiveCount = hoardingRepository.findNonActiveByVendor(vendorId, Pageable.unpaged()).getContent().size();
-
-        ListingDashboardStatsDTO stats = new ListingDashboardStatsDTO(
-                activeCount,
-                nonActiveCount,
-                bookedCount,
-                availableCount,
-                0, 0, 0, 0, 0, 0
-        );
-
         return ResponseEntity.ok()
                 .cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES))
-                .lastModified(lastUpdate)
-                .body(stats);
+                .body(vendorViewService.listingStats(user.id()));
     }
 
     @GetMapping("/bookings/in-progress")
     public ResponseEntity<?> getInProgressBookings(
-            @AuthenticationPrincipal User user) {
-        if (user == null || user.getRole() != Role.VENDOR)
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.hasRole(Role.VENDOR))
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
 
-        List<Booking> inProgressBookings = bookingRepository.findInProgressBookingsByVendor(user.getId());
-        log.info("Vendor bookings list: vendorId={}, count={}", user.getId(), inProgressBookings.size());
+        List<Booking> inProgressBookings = bookingRepository.findInProgressBookingsByVendor(user.id());
+        log.info("Vendor bookings list: vendorId={}, count={}", user.id(), inProgressBookings.size());
 
         List<BookingProgressResponse> response = inProgressBookings.stream()
                 .map(BookingProgressResponse::from)
@@ -355,11 +247,11 @@ public class VendorController {
     }
 
     @GetMapping("/bookings/eligible-payout")
-    public ResponseEntity<?> getEligiblePayoutBookings(@AuthenticationPrincipal User user) {
-        if (user == null || user.getRole() != Role.VENDOR)
+    public ResponseEntity<?> getEligiblePayoutBookings(@AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.hasRole(Role.VENDOR))
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
 
-        List<EligiblePayoutResponse> response = bookingService.getEligiblePayoutsForVendor(user.getId());
+        List<EligiblePayoutResponse> response = bookingService.getEligiblePayoutsForVendor(user.id());
         return ResponseEntity.ok(response);
     }
 
@@ -377,11 +269,10 @@ public class VendorController {
     }
 
     @PutMapping("/bank-details")
-    @CacheEvict(value = {"vendorDashboard", "vendorListings"}, key = "#user.id")
     public ResponseEntity<?> updateBankDetails(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestBody VendorBankDetailsRequest request) {
-        if (user == null || user.getRole() != Role.VENDOR)
+        if (user == null || !user.hasRole(Role.VENDOR))
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
 
         boolean hasBank = request.getAccountNumber() != null && !request.getAccountNumber().trim().isEmpty()
@@ -393,7 +284,7 @@ public class VendorController {
         if (hasBank && (request.getAccountHolderName() == null || request.getAccountHolderName().trim().isEmpty()))
             return ResponseEntity.badRequest().body(new MessageResponse("Account holder name is required for bank account."));
 
-        User vendor = userRepository.findById(user.getId()).orElse(null);
+        User vendor = userRepository.findById(user.id()).orElse(null);
         if (vendor == null) return ResponseEntity.status(404).body(new MessageResponse("User not found"));
 
         vendor.setAccountHolderName(request.getAccountHolderName() != null ? request.getAccountHolderName().trim() : null);
@@ -401,6 +292,7 @@ public class VendorController {
         vendor.setIfscCode(request.getIfscCode() != null ? request.getIfscCode().trim().toUpperCase() : null);
         vendor.setUpiId(request.getUpiId() != null ? request.getUpiId().trim() : null);
         userRepository.save(vendor);
+        cacheTagEvictor.evict(CacheTag.vendor(vendor.getId()), CacheConfig.VENDOR_VIEW_CACHES);
 
         java.util.Map<String, String> body = new java.util.HashMap<>();
         body.put("accountHolderName", vendor.getAccountHolderName());
@@ -411,64 +303,47 @@ public class VendorController {
     }
 
     @GetMapping("/bookings/{orderId}")
-    @Cacheable(value = "bookingDetails", key = "#orderId", unless = "#result == null || #result.body == null")
+    @ConditionalGet(value = LastModifiedRegistry.Scope.VENDOR_BOOKINGS, id = ConditionalGet.Id.CURRENT_USER)
     public ResponseEntity<?> getBookingDetail(
-            @AuthenticationPrincipal User user, 
-            @PathVariable String orderId,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
-        if (user == null || user.getRole() != Role.VENDOR)
+            @AuthenticationPrincipal AuthenticatedUser user, 
+            @PathVariable String orderId) {
+        if (user == null || !user.hasRole(Role.VENDOR))
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
 
-        Optional<Booking> optional = bookingRepository.findByOrderId(orderId);
-        if (optional.isEmpty()) return ResponseEntity.status(404).body(new MessageResponse("Booking not found"));
-
-        Booking booking = optional.get();
-        Instant lastUpdate = booking.getUpdatedAt() != null ? booking.getUpdatedAt() : Instant.now();
+        VendorViewService.BookingDetail detail = vendorViewService.bookingDetail(orderId);
+        if (detail == null) return ResponseEntity.status(404).body(new MessageResponse("Booking not found"));
 
-        if (ifModifiedSince != null) {
-            Instant modifiedSince = parseHttpDate(ifModifiedSince);
-            if (modifiedSince != null && !lastUpdate.isAfter(modifiedSince)) {
-                return ResponseEntity.status(304).build();
-            }
-        }
-
-        if (!booking.getHoarding().getOwner().getId().equals(user.getId())) {
+        if (!detail.vendorId().equals(user.id())) {
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
         }
 
-        BookingProgressResponse response = BookingProgressResponse.from(booking);
         return ResponseEntity.ok()
                 .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
-                .lastModified(lastUpdate)
-                .body(response);
+                .body(detail.progress());
     }
 
     @PostMapping("/bookings/{orderId}/media")
-    @CacheEvict(value = {"inProgressBookings", "bookingDetails"}, allEntries = true)
-    public ResponseEntity<?> markMediaDownloaded(@AuthenticationPrincipal User user, @PathVariable String orderId) {
+    public ResponseEntity<?> markMediaDownloaded(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable String orderId) {
         return updateBookingStep(user, orderId, "media");
     }
 
     @PostMapping("/bookings/{orderId}/printing")
-    @CacheEvict(value = {"inProgressBookings", "bookingDetails"}, allEntries = true)
-    public ResponseEntity<?> markPrintingStarted(@AuthenticationPrincipal User user, @PathVariable String orderId) {
+    public ResponseEntity<?> markPrintingStarted(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable String orderId) {
         return updateBookingStep(user, orderId, "printing");
     }
 
     @PostMapping("/bookings/{orderId}/mounting")
-    @CacheEvict(value = {"inProgressBookings", "bookingDetails"}, allEntries = true)
-    public ResponseEntity<?> markMountingStarted(@AuthenticationPrincipal User user, @PathVariable String orderId) {
+    public ResponseEntity<?> markMountingStarted(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable String orderId) {
         return updateBookingStep(user, orderId, "mounting");
     }
 
     @PostMapping("/bookings/{orderId}/live")
-    @CacheEvict(value = {"inProgressBookings", "bookingDetails"}, allEntries = true)
-    public ResponseEntity<?> markSiteLive(@AuthenticationPrincipal User user, @PathVariable String orderId) {
+    public ResponseEntity<?> markSiteLive(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable String orderId) {
         return updateBookingStep(user, orderId, "live");
     }
 
-    private ResponseEntity<?> updateBookingStep(User user, String orderId, String step) {
-        if (user == null || user.getRole() != Role.VENDOR)
+    private ResponseEntity<?> updateBookingStep(AuthenticatedUser user, String orderId, String step) {
+        if (user == null || !user.hasRole(Role.VENDOR))
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
 
         Optional<Booking> optional = bookingRepository.findByOrderId(orderId);
@@ -476,7 +351,7 @@ public class VendorController {
 
         Booking booking = optional.get();
 
-        if (!booking.getHoarding().getOwner().getId().equals(user.getId())) {
+        if (!booking.getHoarding().getOwner().getId().equals(user.id())) {
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
         }
 
@@ -507,85 +382,66 @@ public class VendorController {
         }
 
         bookingRepository.save(booking);
+        cacheTagEvictor.evictKey(orderId, CacheConfig.BOOKING_DETAILS);
         return ResponseEntity.ok(BookingProgressResponse.from(booking));
     }
 
     @GetMapping("/booked-listings")
-    @Cacheable(value = "vendorListings", key = "{#user.id, 'booked', #page, #size, #sort}", unless = "#result == null || #result.body == null")
+    @ConditionalGet(value = {LastModifiedRegistry.Scope.OWNER_HOARDINGS, LastModifiedRegistry.Scope.VENDOR_BOOKINGS},
+            id = ConditionalGet.Id.CURRENT_USER)
     public ResponseEntity<?> getBookedListings(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id,desc") String[] sort,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
-        if (user == null || user.getRole() != Role.VENDOR)
+            @RequestParam(defaultValue = "id,desc") String[] sort) {
+        if (user == null || !user.hasRole(Role.VENDOR))
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
 
         Pageable pageable = PageRequest.of(page, size, getSortFrom(sort));
-        return getListingsByStatus(user, HoardingStatus.BOOKED, pageable, ifModifiedSince);
+        return getListingsByStatus(user, HoardingStatus.BOOKED, pageable);
     }
 
     @GetMapping("/non-active-listings")
-    @Cacheable(value = "vendorListings", key = "{#user.id, 'non-active', #page, #size, #sort}", unless = "#result == null || #result.body == null")
+    @ConditionalGet(value = {LastModifiedRegistry.Scope.OWNER_HOARDINGS, LastModifiedRegistry.Scope.VENDOR_BOOKINGS},
+            id = ConditionalGet.Id.CURRENT_USER)
     public ResponseEntity<?> getNonActiveListings(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id,desc") String[] sort,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
-        if (user == null || user.getRole() != Role.VENDOR)
+            @RequestParam(defaultValue = "id,desc") String[] sort) {
+        if (user == null || !user.hasRole(Role.VENDOR))
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
 
         Pageable pageable = PageRequest.of(page, size, getSortFrom(sort));
-        return getListingsByStatus(user, HoardingStatus.NON_ACTIVE, pageable, ifModifiedSince);
+        return getListingsByStatus(user, HoardingStatus.NON_ACTIVE, pageable);
     }
 
     @GetMapping("/active-listings")
-    @Cacheable(value = "vendorListings", key = "{#user.id, 'active'}", unless = "#result == null || #result.body == null")
+    @ConditionalGet(value = {LastModifiedRegistry.Scope.OWNER_HOARDINGS, LastModifiedRegistry.Scope.VENDOR_BOOKINGS},
+            id = ConditionalGet.Id.CURRENT_USER)
     public ResponseEntity<?> getActiveListings(
-            @AuthenticationPrincipal User user,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
-        if (user == null || user.getRole() != Role.VENDOR)
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null || !user.hasRole(Role.VENDOR))
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
 
-        Instant lastUpdate = hoardingRepository.findMaxUpdatedAtByOwner(user.getId())
-                .orElse(Instant.now());
-
-        if (ifModifiedSince != null) {
-            Instant modifiedSince = parseHttpDate(ifModifiedSince);
-            if (modifiedSince != null && !lastUpdate.isAfter(modifiedSince)) {
-                return ResponseEntity.status(304).build();
-            }
-        }
-
-        List<Hoarding> hoardings = hoardingRepository.findAllActiveTabHoardings(user.getId());
-
-        List<ActiveListingResponse> filtered = hoardings.stream()
-                .map(h -> {
-                    LocalDate bookedTill = bookingRepository.findLatestBookingEndDateForHoarding(h.getId());
-                    return ActiveListingResponse.from(h, bookedTill);
-                })
-                .toList();
-
         return ResponseEntity.ok()
                 .cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES))
-                .lastModified(lastUpdate)
-                .body(filtered);
+                .body(vendorViewService.activeListings(user.id()));
     }
 
     @GetMapping("/available-listings")
-    @Cacheable(value = "vendorListings", key = "{#user.id, 'available', #page, #size, #sort}", unless = "#result == null || #result.body == null")
+    @ConditionalGet(value = {LastModifiedRegistry.Scope.OWNER_HOARDINGS, LastModifiedRegistry.Scope.VENDOR_BOOKINGS},
+            id = ConditionalGet.Id.CURRENT_USER)
     public ResponseEntity<?> getAvailableListings(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id,desc") String[] sort,
-            @RequestHeader(value = "If-Modified-Since", required = false) String ifModifiedSince) {
-        if (user == null || user.getRole() != Role.VENDOR)
+            @RequestParam(defaultValue = "id,desc") String[] sort) {
+        if (user == null || !user.hasRole(Role.VENDOR))
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
 
         Pageable pageable = PageRequest.of(page, size, getSortFrom(sort));
-        return getListingsByStatus(user, HoardingStatus.AVAILABLE, pageable, ifModifiedSince);
+        return getListingsByStatus(user, HoardingStatus.AVAILABLE, pageable);
     }
 
     private Sort getSortFrom(String[] sort) {
@@ -596,41 +452,14 @@ public class VendorController {
     }
 
     private ResponseEntity<?> getListingsByStatus(
-            User user, 
+            AuthenticatedUser user, 
             HoardingStatus status, 
-            Pageable pageable,
-            String ifModifiedSince) {
-        
-        Instant lastUpdate = hoardingRepository.findMaxUpdatedAtByOwner(user.getId())
-                .orElse(Instant.now());
+            Pageable pageable) {
 
-        if (ifModifiedSince != null) {
-            Instant modifiedSince = parseHttpDate(ifModifiedSince);
-            if (modifiedSince != null && !lastUpdate.isAfter(modifiedSince)) {
-                return ResponseEntity.status(304).build();
-            }
-        }
-
-        Page<Hoarding> hoardingsPage;
-
-        switch (status) {
-            case ACTIVE -> hoardingsPage = hoardingRepository.findByOwnerIdAndStatus(user.getId(), status, pageable);
-            case BOOKED -> hoardingsPage = hoardingRepository.findBookedByVendor(user.getId(), pageable);
-            case AVAILABLE -> hoardingsPage = hoardingRepository.findAvailableByVendor(user.getId(), pageable);
-            case NON_ACTIVE -> hoardingsPage = hoardingRepository.findNonActiveByVendor(user.getId(), pageable);
-            default -> hoardingsPage = Page.empty();
-        }
-
-        List<ActiveListingResponse> responseList = hoardingsPage.getContent().stream()
-                .map(h -> {
-                    LocalDate bookedTill = bookingRepository.findLatestBookingEndDateForHoarding(h.getId());
-                    return ActiveListingResponse.from(h, bookedTill);
-                })
-                .toList();
+        VendorViewService.ListingPage listings = vendorViewService.listings(user.id(), status, pageable);
 
         return ResponseEntity.ok()
                 .cacheControl(CacheControl.maxAge(30, TimeUnit.MINUTES))
-                .lastModified(lastUpdate)
-                .body(new PageImpl<>(responseList, pageable, hoardingsPage.getTotalElements()));
+                .body(new PageImpl<>(listings.content(), pageable, listings.totalElements()));
     }
-}
\ No newline at end of file
+}
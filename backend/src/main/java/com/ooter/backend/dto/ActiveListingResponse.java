@@ -2,26 +2,22 @@ package com.ooter.backend.dto;
 
 import com.ooter.backend.entity.Hoarding;
 import com.ooter.backend.entity.HoardingStatus;
-import lombok.*;
+import lombok.Builder;
 
 import java.time.LocalDate;
 
-@Getter
-@Setter
-@AllArgsConstructor
-@NoArgsConstructor
 @Builder
-public class ActiveListingResponse {
-    private Long id;
-    private String name;
-    private String imageUrl;
-    private String city;
-    private String state;
-    private String district;
-    private double pricePerMonth;
-    private HoardingStatus status;
-    private String sku;
-    private LocalDate bookedTill;
+public record ActiveListingResponse(
+        Long id,
+        String name,
+        String imageUrl,
+        String city,
+        String state,
+        String district,
+        double pricePerMonth,
+        HoardingStatus status,
+        String sku,
+        LocalDate bookedTill) {
 
     public static ActiveListingResponse from(Hoarding hoarding, LocalDate bookedTill) {
         return ActiveListingResponse.builder()
@@ -1,44 +1,40 @@
 package com.ooter.backend.dto;
 
 import com.ooter.backend.entity.Booking;
-import lombok.*;
+import lombok.Builder;
 
 import java.time.LocalDate;
 
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
 @Builder
-public class BookingProgressResponse {
-    private Long id; // ✅ Booking ID (numeric) - needed for fetching uploads
-    private String orderId;
-    private String siteName;
-    private String siteType;
-    private String imageUrl;
-    private String sku;
-    private double latitude;
-    private double longitude;
-
-    private boolean mediaDownloaded;
-    private boolean printingStarted;
-    private boolean mountingStarted;
-    private boolean siteLive;
-
-    private LocalDate bookingDate;            // ✅ Site is booked
-    private LocalDate mediaDownloadDate;      // ✅ Media downloaded
-    private LocalDate printingStartDate;      // ✅ Printing started
-    private LocalDate mountingStartDate;      // ✅ Mounting started
-    private LocalDate siteLiveDate;           // ✅ Site is live
-
-    private LocalDate bookedTill;
-
-    private boolean paidToVendor;
-    private double settlementAmount;
-    private String transactionId;
-    private LocalDate paymentDate;
-
-    private String bookingProgressStatus;
+public record BookingProgressResponse(
+        Long id, // ✅ Booking ID (numeric) - needed for fetching uploads
+        String orderId,
+        String siteName,
+        String siteType,
+        String imageUrl,
+        String sku,
+        double latitude,
+        double longitude,
+
+        boolean mediaDownloaded,
+        boolean printingStarted,
+        boolean mountingStarted,
+        boolean siteLive,
+
+        LocalDate bookingDate,            // ✅ Site is booked
+        LocalDate mediaDownloadDate,      // ✅ Media downloaded
+        LocalDate printingStartDate,      // ✅ Printing started
+        LocalDate mountingStartDate,      // ✅ Mounting started
+        LocalDate siteLiveDate,           // ✅ Site is live
+
+        LocalDate bookedTill,
+
+        boolean paidToVendor,
+        double settlementAmount,
+        String transactionId,
+        LocalDate paymentDate,
+
+        String bookingProgressStatus) {
 
     public static BookingProgressResponse from(Booking booking) {
         String progressStatus;
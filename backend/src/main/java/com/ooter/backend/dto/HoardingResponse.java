@@ -0,0 +1,95 @@
+package com.ooter.backend.dto;
+
+import com.ooter.backend.entity.Hoarding;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class HoardingResponse {
+    private Long id;
+    private String name;
+    private String location;
+    private String city;
+    private String size;
+    private String imageUrl;
+    private double price;
+    private String description;
+    private String category;
+
+    private String material;
+    private String siteType;
+    private String country;
+    private String state;
+    private String district;
+    private String landmark;
+    private Double latitude;
+    private Double longitude;
+
+    private Double discount;
+    private Integer printingCharges;
+    private Integer mountingCharges;
+
+    private String screenType;
+    private String screenWidth;
+    private String screenHeight;
+    private String screenDepth;
+    private String sizeUnit;
+
+    private String sku;
+    private String hshCode;
+    private String gst;
+    private String pinCode;
+
+    private boolean verifiedProperty;
+    private boolean eyeCatching;
+    private boolean mainHighway;
+    private boolean currentlyAvailable;
+
+    private String status;
+    private String availableDate;
+
+    public HoardingResponse(Hoarding h) {
+        this.id = h.getId();
+        this.name = h.getName();
+        this.location = h.getLocation();
+        this.city = h.getCity();
+        this.size = h.getSize();
+        this.imageUrl = h.getImageUrl();
+        this.price = h.getPricePerMonth();
+        this.description = h.getDescription();
+        this.category = h.getCategory() != null ? h.getCategory().name() : null;
+
+        this.material = h.getMaterial();
+        this.siteType = h.getSiteType();
+        this.country = h.getCountry();
+        this.state = h.getState();
+        this.district = h.getDistrict();
+        this.landmark = h.getLandmark();
+        this.latitude = h.getLatitude();
+        this.longitude = h.getLongitude();
+
+        this.discount = h.getDiscount();
+        this.printingCharges = h.getPrintingCharges();
+        this.mountingCharges = h.getMountingCharges();
+
+        this.screenType = h.getScreenType();
+        this.screenWidth = h.getScreenWidth();
+        this.screenHeight = h.getScreenHeight();
+        this.screenDepth = h.getScreenDepth();
+        this.sizeUnit = h.getSizeUnit();
+
+        this.sku = h.getSku();
+        this.hshCode = h.getHshCode();
+        this.gst = h.getGst();
+        this.pinCode = h.getPinCode();
+
+        this.verifiedProperty = h.isVerifiedProperty();
+        this.eyeCatching = h.isEyeCatching();
+        this.mainHighway = h.isMainHighway();
+        this.currentlyAvailable = !h.isBooked();
+
+        this.status = h.getStatus() != null ? h.getStatus().name() : null;
+        this.availableDate = h.getAvailableDate() != null ? h.getAvailableDate().toString() : null;
+    }
+}
@@ -1,19 +1,9 @@
 package com.ooter.backend.dto;
 
-import lombok.Data;
 import java.util.List;
 
-@Data
-public class SalesOverviewDTO {
-    private double totalSales;
-    private String period;
-    private int daysShowing;
-    private List<OrderDTO> orders;
+public record SalesOverviewDTO(double totalSales, String period, int daysShowing, List<OrderDTO> orders) {
 
-    @Data
-    public static class OrderDTO {
-        private String orderId;
-        private String date;
-        private double amount;
+    public record OrderDTO(String orderId, String date, double amount) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package com.ooter.backend.dto;
+
+import java.time.LocalDate;
+
+public record UserResponse(
+        Long id,
+        String name,
+        String phone,
+        String email,
+        String role,
+        String referralCode,
+        String referredBy,
+        int referralCoins,
+        boolean referralUsed,
+        String gender,
+        LocalDate dateOfBirth,
+        String companyName,
+        String gstin,
+        String pan) {
+}
@@ -19,4 +19,22 @@ public class VendorDashboardResponse {
     private int siteAvailable;
     private boolean isVerified;
     private boolean onHold;
+
+    public static VendorDashboardResponse of(VendorDashboardStats stats, boolean verified, boolean onHold) {
+        return new VendorDashboardResponse(
+                stats.totalSites(),
+                stats.bookedSites(),
+                stats.liveSites(),
+                stats.totalSales(),
+                stats.inventorySold(),
+                stats.newOrders(),
+                stats.pendingRTM(),
+                stats.previousPayment(),
+                stats.upcomingPayment(),
+                stats.siteBooked(),
+                stats.siteAvailable(),
+                verified,
+                onHold
+        );
+    }
 }
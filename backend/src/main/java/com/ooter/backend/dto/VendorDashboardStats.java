@@ -0,0 +1,16 @@
+package com.ooter.backend.dto;
+
+/** The booking and listing counts of a vendor dashboard, without the per-user flags. */
+public record VendorDashboardStats(
+        int totalSites,
+        int bookedSites,
+        int liveSites,
+        double totalSales,
+        int inventorySold,
+        int newOrders,
+        int pendingRTM,
+        double previousPayment,
+        double upcomingPayment,
+        int siteBooked,
+        int siteAvailable) {
+}
@@ -9,11 +9,15 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import com.ooter.backend.cache.LastModifiedListener;
+import com.ooter.backend.search.BookingIndexListener;
 import org.hibernate.annotations.CreationTimestamp;
 import org.springframework.cglib.core.Local;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
+@EntityListeners({AuditingEntityListener.class, BookingIndexListener.class, LastModifiedListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
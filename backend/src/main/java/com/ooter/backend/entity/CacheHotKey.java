@@ -0,0 +1,25 @@
+package com.ooter.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** Request counts for cache keys worth warming, kept across restarts. */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_cache_hot_key_hits", columnList = "hits"))
+public class CacheHotKey {
+
+    /** {@code kind:value}, e.g. {@code vendor:42} or {@code city:Pune}. */
+    @Id
+    @Column(length = 200)
+    private String hotKey;
+
+    private long hits;
+
+    private Instant lastSeen;
+}
@@ -1,6 +1,7 @@
 package com.ooter.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.ooter.backend.cache.LastModifiedListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,6 +10,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(LastModifiedListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
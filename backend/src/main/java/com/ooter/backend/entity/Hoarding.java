@@ -1,20 +1,39 @@
 package com.ooter.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Locale;
 
+import com.ooter.backend.cache.LastModifiedListener;
+import com.ooter.backend.search.HoardingIndexListener;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
+@EntityListeners({AuditingEntityListener.class, HoardingIndexListener.class, LastModifiedListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// Index columns are database column names; indexed camel-case fields name theirs explicitly.
+@Table(indexes = {
+        @Index(name = "idx_hoarding_updated_at_id", columnList = "updated_at, id"),
+        @Index(name = "idx_hoarding_category_id", columnList = "category, id"),
+        @Index(name = "idx_hoarding_city_key_id", columnList = "city_key, id"),
+        @Index(name = "idx_hoarding_owner_id", columnList = "owner_id, id"),
+        @Index(name = "idx_hoarding_owner_status", columnList = "owner_id, status"),
+        @Index(name = "idx_hoarding_status_id", columnList = "status, id"),
+        @Index(name = "idx_hoarding_price", columnList = "price_per_month"),
+        @Index(name = "idx_hoarding_size_id", columnList = "size, id"),
+        @Index(name = "idx_hoarding_site_type_id", columnList = "site_type, id"),
+        @Index(name = "idx_hoarding_material_id", columnList = "material, id")
+})
 public class Hoarding {
 
     @Id
@@ -24,8 +43,15 @@ public class Hoarding {
     private String location;
     private String size;
     private String city;
+
+    /** {@link #city} trimmed and upper-cased, so case-insensitive city filters can use an index. */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(name = "city_key")
+    private String cityKey;
     private String pinCode; // ➕ Add this field
 
+    @Column(name = "price_per_month")
     private double pricePerMonth;
     private String imageUrl;
     @Column(columnDefinition = "TEXT")
@@ -36,10 +62,11 @@ public class Hoarding {
 
     
     @LastModifiedDate
-    @Column(nullable = false)
+    @Column(name = "updated_at", nullable = false)
     private Instant updatedAt = Instant.now();
 
     private String material;
+    @Column(name = "site_type")
     private String siteType;
     private String country;
     private String state;
@@ -82,4 +109,14 @@ public class Hoarding {
     private boolean currentlyAvailable;
 
     private LocalDate availableDate;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeCity() {
+        cityKey = cityKey(city);
+    }
+
+    public static String cityKey(String city) {
+        return city == null ? null : city.trim().toUpperCase(Locale.ROOT);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.ooter.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** A logged-out token, kept until it would have expired anyway. */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt"),
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revokedAt")
+})
+public class RevokedToken {
+
+    /** SHA-256 of the token, hex encoded; the token itself is never stored. */
+    @Id
+    @Column(length = 64)
+    private String digest;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
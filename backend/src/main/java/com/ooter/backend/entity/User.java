@@ -2,6 +2,7 @@ package com.ooter.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.ooter.backend.security.TokenVersionListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,6 +15,7 @@ import java.util.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(TokenVersionListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -96,6 +98,10 @@ public class User implements UserDetails {
     private String resetToken;
     private LocalDateTime resetTokenExpiry;
 
+    // Carried in issued tokens as "ver"; raising it invalidates every older token
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int tokenVersion = 0;
+
     // ✅ Spring Security Methods
     @Override
     @JsonIgnore
@@ -0,0 +1,8 @@
+package com.ooter.backend.exception;
+
+/** Thrown when the password hashing pool is saturated; answered with 503. */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
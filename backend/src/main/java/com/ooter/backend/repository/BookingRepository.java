@@ -1,15 +1,17 @@
 package com.ooter.backend.repository;
 
+import com.ooter.backend.cache.LastModifiedRow;
 import com.ooter.backend.entity.Booking;
 import com.ooter.backend.entity.BookingStatus;
+import com.ooter.backend.search.BookingSpan;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -78,13 +80,26 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     """)
     List<Booking> findInProgressBookingsByVendor(@Param("vendorId") Long vendorId);
     List<Booking> findByHoardingIdAndStatusIn(Long hoardingId, List<BookingStatus> statuses);
-    // Add to BookingRepository
-    @Query("SELECT MAX(b.updatedAt) FROM Booking b WHERE b.user.id = :userId")
-    Instant findMaxUpdatedAtByUser(@Param("userId") Long userId);
+
+    @Query("""
+        SELECT new com.ooter.backend.search.BookingSpan(b.id, b.hoarding.id, b.startDate, b.endDate)
+        FROM Booking b
+        WHERE b.status IN :statuses AND b.endDate >= :from
+        AND b.hoarding IS NOT NULL AND b.startDate IS NOT NULL
+    """)
+    List<BookingSpan> findBlockingSpans(@Param("statuses") Collection<BookingStatus> statuses,
+                                        @Param("from") LocalDate from);
+
+    @Query("SELECT new com.ooter.backend.cache.LastModifiedRow(b.user.id, MAX(b.updatedAt)) FROM Booking b GROUP BY b.user.id")
+    List<LastModifiedRow> findLastModifiedPerUser();
 
     Optional<Booking> findByOrderId(String orderId);
-    @Query("SELECT MAX(b.updatedAt) FROM Booking b WHERE b.hoarding.owner.id = :vendorId")
-    Optional<Instant> findMaxUpdatedAtByVendor(@Param("vendorId") Long vendorId);
+    @Query("""
+        SELECT new com.ooter.backend.cache.LastModifiedRow(b.hoarding.owner.id, MAX(b.updatedAt))
+        FROM Booking b
+        GROUP BY b.hoarding.owner.id
+    """)
+    List<LastModifiedRow> findLastModifiedPerVendor();
 
     @Query("SELECT SUM(b.totalAmount) FROM Booking b " +
            "WHERE b.vendor.id = :vendorId " +
@@ -0,0 +1,35 @@
+package com.ooter.backend.repository;
+
+import com.ooter.backend.entity.CacheHotKey;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface CacheHotKeyRepository extends JpaRepository<CacheHotKey, String> {
+
+    List<CacheHotKey> findByHotKeyStartingWithAndLastSeenAfterOrderByHitsDesc(String prefix, Instant since, Limit limit);
+
+    /** Adds {@code hits} in one statement, so instances flushing at the same time both count. */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO cache_hot_key (hot_key, hits, last_seen) VALUES (:hotKey, :hits, :seen)
+        ON CONFLICT (hot_key) DO UPDATE
+        SET hits = cache_hot_key.hits + EXCLUDED.hits,
+            last_seen = GREATEST(cache_hot_key.last_seen, EXCLUDED.last_seen)
+        """, nativeQuery = true)
+    int addHits(@Param("hotKey") String hotKey, @Param("hits") long hits, @Param("seen") Instant seen);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CacheHotKey k WHERE k.lastSeen < :cutoff")
+    int deleteSeenBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,21 +1,27 @@
 package com.ooter.backend.repository;
 
+import com.ooter.backend.cache.LastModifiedRow;
 import com.ooter.backend.entity.Hoarding;
-import com.ooter.backend.entity.HoardingCategory;
 import com.ooter.backend.entity.HoardingStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface HoardingRepository extends JpaRepository<Hoarding, Long> {
+public interface HoardingRepository extends JpaRepository<Hoarding, Long>, JpaSpecificationExecutor<Hoarding> {
 
     List<Hoarding> findByLocationContainingIgnoreCase(String location);
 
@@ -23,17 +29,33 @@ public interface HoardingRepository extends JpaRepository<Hoarding, Long> {
 
     int countByOwnerId(Long ownerId);
 
-    List<Hoarding> findByCategory(HoardingCategory category);
-
-    List<Hoarding> findByCityIgnoreCase(String city);
-
-    List<Hoarding> findByCategoryAndCityIgnoreCase(HoardingCategory category, String city);
-
     List<Hoarding> findByLocationContainingIgnoreCaseOrCityContainingIgnoreCaseOrStateContainingIgnoreCase(
             String location, String city, String state);
 
+    List<Hoarding> findByLocationContainingIgnoreCaseOrCityContainingIgnoreCaseOrStateContainingIgnoreCase(
+            String location, String city, String state, Pageable pageable);
+
     List<Hoarding> findByStatus(HoardingStatus status);
 
+    List<Hoarding> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Hoarding> findAllByOrderByUpdatedAtDescIdDesc(Limit limit);
+
+    /** One keyset page, ordered by id, of the hoardings matching {@code filter} with an id above {@code afterId}. */
+    default List<Hoarding> findPageAfter(Specification<Hoarding> filter, long afterId, int limit) {
+        Specification<Hoarding> page = Specification.where(filter).and(HoardingSpecifications.idAfter(afterId));
+        return findBy(page, q -> q.sortBy(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(limit)
+                .all());
+    }
+
+    @Query("""
+        SELECT h FROM Hoarding h
+        WHERE (h.updatedAt, h.id) < (:updatedAt, :id)
+        ORDER BY h.updatedAt DESC, h.id DESC
+    """)
+    List<Hoarding> findLatestBefore(@Param("updatedAt") Instant updatedAt, @Param("id") Long id, Limit limit);
+
     @Query("SELECT COUNT(h) FROM Hoarding h WHERE h.owner.id = :vendorId AND h.status = :status")
     int countByVendorAndStatus(@Param("vendorId") Long vendorId, @Param("status") HoardingStatus status);
 
@@ -96,9 +118,20 @@ public interface HoardingRepository extends JpaRepository<Hoarding, Long> {
     """)
     List<Hoarding> findAllActiveTabHoardings(@Param("vendorId") Long vendorId);
 
+    /** Fills {@code cityKey} for rows written before the column existed. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Hoarding h SET h.cityKey = UPPER(TRIM(h.city)) WHERE h.cityKey IS NULL AND h.city IS NOT NULL")
+    int backfillCityKeys();
+
     @Query("SELECT MAX(h.updatedAt) FROM Hoarding h")
     Optional<Instant> findMaxUpdatedAt();
 
-    @Query("SELECT MAX(h.updatedAt) FROM Hoarding h WHERE h.owner.id = :ownerId")
-    Optional<Instant> findMaxUpdatedAtByOwner(@Param("ownerId") Long ownerId);
+    @Query("""
+        SELECT new com.ooter.backend.cache.LastModifiedRow(h.owner.id, MAX(h.updatedAt))
+        FROM Hoarding h
+        WHERE h.owner IS NOT NULL
+        GROUP BY h.owner.id
+    """)
+    List<LastModifiedRow> findLastModifiedPerOwner();
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.ooter.backend.repository;
+
+import com.ooter.backend.entity.Hoarding;
+import com.ooter.backend.entity.HoardingCategory;
+import com.ooter.backend.entity.HoardingStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Building blocks for hoarding list queries. Each method returns {@code null} when its
+ * argument is absent, and {@link Specification#and} skips nulls, so callers can chain every
+ * filter unconditionally. Each predicate is backed by an index declared on {@link Hoarding}.
+ */
+public final class HoardingSpecifications {
+
+    private HoardingSpecifications() {
+    }
+
+    public static Specification<Hoarding> categoryIs(HoardingCategory category) {
+        return category == null ? null : (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Hoarding> cityIs(String city) {
+        return isBlank(city) ? null
+                : (root, query, cb) -> cb.equal(root.get("cityKey"), Hoarding.cityKey(city));
+    }
+
+    public static Specification<Hoarding> statusIn(Collection<HoardingStatus> statuses) {
+        return statuses == null || statuses.isEmpty() ? null
+                : (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Hoarding> ownerIs(Long ownerId) {
+        return ownerId == null ? null : (root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Hoarding> priceBetween(Double min, Double max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        if (min == null) {
+            return (root, query, cb) -> cb.le(root.get("pricePerMonth"), max);
+        }
+        if (max == null) {
+            return (root, query, cb) -> cb.ge(root.get("pricePerMonth"), min);
+        }
+        return (root, query, cb) -> cb.between(root.get("pricePerMonth"), min, max);
+    }
+
+    public static Specification<Hoarding> sizeIs(String size) {
+        return isBlank(size) ? null : (root, query, cb) -> cb.equal(root.get("size"), size.trim());
+    }
+
+    public static Specification<Hoarding> siteTypeIs(String siteType) {
+        return isBlank(siteType) ? null : (root, query, cb) -> cb.equal(root.get("siteType"), siteType.trim());
+    }
+
+    public static Specification<Hoarding> materialIs(String material) {
+        return isBlank(material) ? null : (root, query, cb) -> cb.equal(root.get("material"), material.trim());
+    }
+
+    /** Keyset condition for pages ordered by id. */
+    public static Specification<Hoarding> idAfter(long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
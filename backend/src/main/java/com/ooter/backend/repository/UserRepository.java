@@ -1,11 +1,15 @@
 package com.ooter.backend.repository;
 
 import com.ooter.backend.entity.User;
+import com.ooter.backend.security.TokenVersionRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,6 +26,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.recentSearches WHERE u.id = :id")
     Optional<User> findByIdWithRecentSearches(Long id);
     
+    @Query("""
+        SELECT new com.ooter.backend.security.TokenVersionRow(u.id, u.tokenVersion)
+        FROM User u
+        WHERE u.tokenVersion > 0
+    """)
+    List<TokenVersionRow> findRaisedTokenVersions();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePassword(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
     // ✅ Forgot Password - Find user by reset token
     Optional<User> findByResetToken(String resetToken);
 }
@@ -1,16 +1,23 @@
 package com.ooter.backend.scheduler;
 
+import com.ooter.backend.cache.CacheTag;
+import com.ooter.backend.cache.CacheTagEvictor;
+import com.ooter.backend.cache.CacheWarmer;
+import com.ooter.backend.config.CacheConfig;
 import com.ooter.backend.entity.Hoarding;
 import com.ooter.backend.entity.HoardingStatus;
 import com.ooter.backend.repository.BookingRepository;
 import com.ooter.backend.repository.HoardingRepository;
+import com.ooter.backend.search.AvailabilityIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
@@ -19,11 +26,14 @@ public class BookingStatusScheduler {
 
     private final HoardingRepository hoardingRepository;
     private final BookingRepository bookingRepository;
+    private final CacheTagEvictor cacheTagEvictor;
+    private final CacheWarmer cacheWarmer;
+    private final AvailabilityIndex availabilityIndex;
 
     @Scheduled(cron = "0 0 2 * * ?") // runs daily at 2:00 AM
-    @CacheEvict(value = {"vendorListingStats", "vendorDashboard", "vendorListings"}, allEntries = true)
     public void updateAvailableHoardings() {
         List<Hoarding> bookedHoardings = hoardingRepository.findByStatus(HoardingStatus.BOOKED);
+        Set<Long> touchedVendors = new HashSet<>();
 
         for (Hoarding h : bookedHoardings) {
             long count = bookingRepository.countActiveOrFutureBookings(h.getId());
@@ -31,7 +41,20 @@ public class BookingStatusScheduler {
                 h.setStatus(HoardingStatus.AVAILABLE);
                 hoardingRepository.save(h);
                 log.info("✔️ Updated hoarding {} to AVAILABLE", h.getId());
+                if (h.getOwner() != null) {
+                    touchedVendors.add(h.getOwner().getId());
+                }
             }
         }
+        touchedVendors.forEach(vendorId ->
+                cacheTagEvictor.evict(CacheTag.vendor(vendorId), CacheConfig.VENDOR_VIEW_CACHES));
+        if (!touchedVendors.isEmpty()) {
+            cacheWarmer.warmInBackground();
+        }
+
+        int pruned = availabilityIndex.pruneEndedBefore(LocalDate.now());
+        if (pruned > 0) {
+            log.info("Pruned {} ended bookings from the availability index", pruned);
+        }
     }
 }
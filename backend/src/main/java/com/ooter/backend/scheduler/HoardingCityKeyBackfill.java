@@ -0,0 +1,32 @@
+package com.ooter.backend.scheduler;
+
+import com.ooter.backend.repository.HoardingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code Hoarding.cityKey} for rows saved before the column was added; new and updated
+ * rows get it from the entity. A no-op once every row has one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HoardingCityKeyBackfill {
+
+    private final HoardingRepository hoardingRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int updated = hoardingRepository.backfillCityKeys();
+            if (updated > 0) {
+                log.info("Backfilled city keys of {} hoardings", updated);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill hoarding city keys; city filters miss those rows until the next start", e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.ooter.backend.search;
+
+import com.ooter.backend.entity.BookingStatus;
+import com.ooter.backend.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Per-hoarding booked date ranges for availability search.
+ * <p>
+ * For every hoarding the dates held by PENDING and CONFIRMED bookings are merged into a
+ * sorted array of non-overlapping {@code [start, end]} epoch-day pairs, so checking a
+ * hoarding against a date range is a binary search. Bookings that ended before startup
+ * are not loaded, and bookings that end while running are dropped by {@link #pruneEndedBefore}.
+ */
+@Slf4j
+@Component
+public class AvailabilityIndex {
+
+    public static final Set<BookingStatus> BLOCKING_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED));
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, BookingSpan> spans = new HashMap<>();
+    private final Map<Long, Map<Long, BookingSpan>> spansByHoarding = new HashMap<>();
+    private final Set<Long> releasedWhileSeeding = new HashSet<>();
+    /** Read without locking; each value is replaced, never mutated. */
+    private final Map<Long, long[]> blocked = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    public AvailabilityIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedInBackground() {
+        Thread seeder = new Thread(this::seed, "availability-index-seed");
+        seeder.setDaemon(true);
+        seeder.start();
+    }
+
+    void seed() {
+        long started = System.currentTimeMillis();
+        try {
+            List<BookingSpan> loaded = bookingRepository.findBlockingSpans(BLOCKING_STATUSES, LocalDate.now());
+            synchronized (this) {
+                for (BookingSpan span : loaded) {
+                    // Writes that arrived during seeding are newer than this row.
+                    if (!releasedWhileSeeding.contains(span.bookingId()) && !spans.containsKey(span.bookingId())) {
+                        add(span);
+                    }
+                }
+                spansByHoarding.keySet().forEach(this::merge);
+                releasedWhileSeeding.clear();
+                ready = true;
+            }
+            log.info("Availability index loaded: {} bookings on {} hoardings in {} ms",
+                    spans.size(), blocked.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Failed to load availability index, date filters stay unavailable", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookingChanged(BookingChangedEvent event) {
+        BookingSpan span = event.span();
+        BookingSpan previous = remove(span.bookingId());
+        if (event.blocking()) {
+            add(span);
+            merge(span.hoardingId());
+        } else if (!ready) {
+            releasedWhileSeeding.add(span.bookingId());
+        }
+        if (previous != null && (!event.blocking() || previous.hoardingId() != span.hoardingId())) {
+            merge(previous.hoardingId());
+        }
+    }
+
+    /**
+     * Drops spans whose last day is before {@code today}; they can no longer overlap a
+     * searchable range. Returns the number of bookings removed.
+     */
+    public synchronized int pruneEndedBefore(LocalDate today) {
+        List<BookingSpan> ended = new ArrayList<>();
+        for (BookingSpan span : spans.values()) {
+            if (span.endDate().isBefore(today)) {
+                ended.add(span);
+            }
+        }
+        Set<Long> touched = new HashSet<>();
+        for (BookingSpan span : ended) {
+            remove(span.bookingId());
+            touched.add(span.hoardingId());
+        }
+        touched.forEach(this::merge);
+        return ended.size();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** True when no PENDING or CONFIRMED booking overlaps {@code from..to}, both inclusive. */
+    public boolean isFree(long hoardingId, LocalDate from, LocalDate to) {
+        long[] ranges = blocked.get(hoardingId);
+        if (ranges == null) {
+            return true;
+        }
+        long start = from.toEpochDay();
+        long end = to.toEpochDay();
+        // First range that ends on or after the requested start.
+        int lo = 0;
+        int hi = ranges.length / 2;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ranges[2 * mid + 1] < start) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo == ranges.length / 2 || ranges[2 * lo] > end;
+    }
+
+    public LongPredicate freeDuring(LocalDate from, LocalDate to) {
+        return hoardingId -> isFree(hoardingId, from, to);
+    }
+
+    private void add(BookingSpan span) {
+        spans.put(span.bookingId(), span);
+        spansByHoarding.computeIfAbsent(span.hoardingId(), id -> new HashMap<>()).put(span.bookingId(), span);
+    }
+
+    private BookingSpan remove(long bookingId) {
+        BookingSpan previous = spans.remove(bookingId);
+        if (previous != null) {
+            Map<Long, BookingSpan> forHoarding = spansByHoarding.get(previous.hoardingId());
+            forHoarding.remove(bookingId);
+            if (forHoarding.isEmpty()) {
+                spansByHoarding.remove(previous.hoardingId());
+            }
+        }
+        return previous;
+    }
+
+    /** Recomputes the merged ranges of one hoarding; touching days are merged too. */
+    private void merge(long hoardingId) {
+        Map<Long, BookingSpan> forHoarding = spansByHoarding.get(hoardingId);
+        if (forHoarding == null) {
+            blocked.remove(hoardingId);
+            return;
+        }
+        List<BookingSpan> sorted = new ArrayList<>(forHoarding.values());
+        sorted.sort(Comparator.comparing(BookingSpan::startDate));
+        long[] ranges = new long[sorted.size() * 2];
+        int count = 0;
+        for (BookingSpan span : sorted) {
+            long start = span.startDate().toEpochDay();
+            long end = span.endDate().toEpochDay();
+            if (count > 0 && start <= ranges[2 * count - 1] + 1) {
+                ranges[2 * count - 1] = Math.max(ranges[2 * count - 1], end);
+            } else {
+                ranges[2 * count] = start;
+                ranges[2 * count + 1] = end;
+                count++;
+            }
+        }
+        blocked.put(hoardingId, Arrays.copyOf(ranges, count * 2));
+    }
+}
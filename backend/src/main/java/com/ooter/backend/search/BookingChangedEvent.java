@@ -0,0 +1,8 @@
+package com.ooter.backend.search;
+
+/**
+ * Published by {@link BookingIndexListener} whenever a booking row is written.
+ * {@code blocking} is false once the booking no longer holds its dates (cancelled or deleted).
+ */
+public record BookingChangedEvent(BookingSpan span, boolean blocking) {
+}
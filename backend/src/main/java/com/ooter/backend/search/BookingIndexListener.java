@@ -0,0 +1,41 @@
+package com.ooter.backend.search;
+
+import com.ooter.backend.entity.Booking;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on {@link Booking} that keeps {@link AvailabilityIndex} in step with
+ * booking creation, confirmation and cancellation.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingIndexListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Booking booking) {
+        publish(booking, AvailabilityIndex.BLOCKING_STATUSES.contains(booking.getStatus()));
+    }
+
+    @PostRemove
+    public void onRemoved(Booking booking) {
+        publish(booking, false);
+    }
+
+    private void publish(Booking booking, boolean blocking) {
+        if (booking.getHoarding() == null || booking.getStartDate() == null || booking.getEndDate() == null) {
+            blocking = false;
+        }
+        Long hoardingId = booking.getHoarding() != null ? booking.getHoarding().getId() : null;
+        BookingSpan span = new BookingSpan(booking.getId(), hoardingId != null ? hoardingId : -1L,
+                booking.getStartDate(), booking.getEndDate());
+        eventPublisher.publishEvent(new BookingChangedEvent(span, blocking));
+    }
+}
@@ -0,0 +1,9 @@
+package com.ooter.backend.search;
+
+import java.time.LocalDate;
+
+/**
+ * The dates a booking holds a hoarding for, as tracked by {@link AvailabilityIndex}.
+ */
+public record BookingSpan(long bookingId, long hoardingId, LocalDate startDate, LocalDate endDate) {
+}
@@ -0,0 +1,261 @@
+package com.ooter.backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Map clustering over a hierarchy of Web Mercator grids, one grid per level.
+ * <p>
+ * Level {@code z + 3} splits every map tile at zoom {@code z} into 8x8 cells, and each
+ * cell keeps a running count, coordinate sums and price range of the hoardings inside it.
+ * A write touches exactly one cell per level. When a removal takes away a cell's minimum
+ * or maximum price, the range is recomputed from the cell's four children.
+ */
+@Component
+public class ClusterIndex implements HoardingIndex {
+
+    public static final int MAX_ZOOM = 16;
+    public static final int MAX_CLUSTERS = 500;
+
+    /** 2^3 = 8 cells per tile edge. */
+    private static final int CELL_BITS = 3;
+    private static final int FINEST = MAX_ZOOM + CELL_BITS;
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Map<Long, Cell>> levels = new ArrayList<>();
+
+    public record Cluster(double latitude, double longitude, int count, double minPrice, double maxPrice) {
+    }
+
+    private static final class Cell {
+        int count;
+        double sumLat;
+        double sumLng;
+        double minPrice = Double.POSITIVE_INFINITY;
+        double maxPrice = Double.NEGATIVE_INFINITY;
+        /** Hoarding id to price; only kept on the finest level. */
+        Map<Long, Double> members;
+    }
+
+    public ClusterIndex() {
+        for (int level = 0; level <= FINEST; level++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    @Override
+    public void rebuild(Collection<HoardingSnapshot> snapshots) {
+        lock.writeLock().lock();
+        try {
+            levels.forEach(Map::clear);
+            for (HoardingSnapshot s : snapshots) {
+                if (s.hasLocation()) {
+                    add(s);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(HoardingSnapshot previous, HoardingSnapshot current) {
+        boolean wasIndexed = previous != null && previous.hasLocation();
+        if (wasIndexed && current.hasLocation()
+                && previous.latitude().equals(current.latitude())
+                && previous.longitude().equals(current.longitude())
+                && previous.pricePerMonth() == current.pricePerMonth()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (wasIndexed) {
+                subtract(previous);
+            }
+            if (current.hasLocation()) {
+                add(current);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(HoardingSnapshot previous) {
+        if (!previous.hasLocation()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            subtract(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Clusters inside the bounding box at the given map zoom. If that would exceed
+     * {@link #MAX_CLUSTERS}, coarser levels are used until it fits. A box whose west edge
+     * is east of its east edge crosses the antimeridian.
+     */
+    public List<Cluster> clusters(double south, double west, double north, double east, int zoom) {
+        int level = Math.max(0, Math.min(zoom, MAX_ZOOM)) + CELL_BITS;
+        lock.readLock().lock();
+        try {
+            while (true) {
+                List<Cluster> result = collect(level, south, west, north, east);
+                if (result != null || level == 0) {
+                    return result != null ? result : List.of();
+                }
+                level--;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns null when the box holds more than {@link #MAX_CLUSTERS} cells at this level. */
+    private List<Cluster> collect(int level, double south, double west, double north, double east) {
+        Map<Long, Cell> cells = levels.get(level);
+        int size = 1 << level;
+        int x0 = west <= -180 ? 0 : cellX(west, level);
+        int x1 = east >= 180 ? size - 1 : cellX(east, level);
+        int y0 = cellY(north, level);
+        int y1 = cellY(south, level);
+        boolean wraps = west > east;
+        long columns = wraps ? Math.min(size, (long) size - x0 + x1 + 1) : (long) x1 - x0 + 1;
+        long area = columns * ((long) y1 - y0 + 1);
+
+        List<Cluster> result = new ArrayList<>();
+        if (area <= cells.size()) {
+            for (long i = 0; i < columns; i++) {
+                int x = (int) ((x0 + i) % size);
+                for (int y = y0; y <= y1; y++) {
+                    Cell cell = cells.get(key(x, y));
+                    if (cell != null && !append(result, cell)) {
+                        return null;
+                    }
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Cell> e : cells.entrySet()) {
+                int x = (int) (e.getKey() >>> 32);
+                int y = (int) (long) e.getKey();
+                boolean inX = wraps ? x >= x0 || x <= x1 : x >= x0 && x <= x1;
+                if (inX && y >= y0 && y <= y1 && !append(result, e.getValue())) {
+                    return null;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean append(List<Cluster> result, Cell cell) {
+        if (result.size() == MAX_CLUSTERS) {
+            return false;
+        }
+        result.add(new Cluster(cell.sumLat / cell.count, cell.sumLng / cell.count,
+                cell.count, cell.minPrice, cell.maxPrice));
+        return true;
+    }
+
+    private void add(HoardingSnapshot s) {
+        int x = cellX(s.longitude(), FINEST);
+        int y = cellY(s.latitude(), FINEST);
+        double price = s.pricePerMonth();
+        for (int level = FINEST; level >= 0; level--) {
+            int shift = FINEST - level;
+            Cell cell = levels.get(level).computeIfAbsent(key(x >> shift, y >> shift), k -> new Cell());
+            cell.count++;
+            cell.sumLat += s.latitude();
+            cell.sumLng += s.longitude();
+            cell.minPrice = Math.min(cell.minPrice, price);
+            cell.maxPrice = Math.max(cell.maxPrice, price);
+            if (level == FINEST) {
+                if (cell.members == null) {
+                    cell.members = new HashMap<>();
+                }
+                cell.members.put(s.id(), price);
+            }
+        }
+    }
+
+    private void subtract(HoardingSnapshot s) {
+        int x = cellX(s.longitude(), FINEST);
+        int y = cellY(s.latitude(), FINEST);
+        double price = s.pricePerMonth();
+        // Finest level first, so parents can recompute their price range from fresh children.
+        for (int level = FINEST; level >= 0; level--) {
+            int shift = FINEST - level;
+            int cx = x >> shift;
+            int cy = y >> shift;
+            Map<Long, Cell> cells = levels.get(level);
+            Cell cell = cells.get(key(cx, cy));
+            if (cell == null) {
+                continue;
+            }
+            if (level == FINEST && cell.members != null) {
+                cell.members.remove(s.id());
+            }
+            if (--cell.count <= 0) {
+                cells.remove(key(cx, cy));
+                continue;
+            }
+            cell.sumLat -= s.latitude();
+            cell.sumLng -= s.longitude();
+            if (price <= cell.minPrice || price >= cell.maxPrice) {
+                recomputePriceRange(cell, level, cx, cy);
+            }
+        }
+    }
+
+    private void recomputePriceRange(Cell cell, int level, int cx, int cy) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        if (level == FINEST) {
+            for (double p : cell.members.values()) {
+                min = Math.min(min, p);
+                max = Math.max(max, p);
+            }
+        } else {
+            Map<Long, Cell> children = levels.get(level + 1);
+            for (int dx = 0; dx < 2; dx++) {
+                for (int dy = 0; dy < 2; dy++) {
+                    Cell child = children.get(key(2 * cx + dx, 2 * cy + dy));
+                    if (child != null) {
+                        min = Math.min(min, child.minPrice);
+                        max = Math.max(max, child.maxPrice);
+                    }
+                }
+            }
+        }
+        cell.minPrice = min;
+        cell.maxPrice = max;
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static int cellX(double lng, int level) {
+        int size = 1 << level;
+        double normalized = ((lng + 180.0) % 360.0 + 360.0) % 360.0 / 360.0;
+        return Math.min(size - 1, (int) (normalized * size));
+    }
+
+    private static int cellY(double lat, int level) {
+        int size = 1 << level;
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat));
+        double rad = Math.toRadians(clamped);
+        double y = (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2;
+        return Math.max(0, Math.min(size - 1, (int) (y * size)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.ooter.backend.search;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a rebuild task on a background thread once writes have been quiet for a while.
+ * A burst of writes results in a single rebuild.
+ */
+@Slf4j
+public class DebouncedRebuilder {
+
+    private final String name;
+    private final Runnable rebuild;
+    private final long delayMillis;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    public DebouncedRebuilder(String name, long delayMillis, Runnable rebuild) {
+        this.name = name;
+        this.rebuild = rebuild;
+        this.delayMillis = delayMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, name + "-rebuild");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Schedules a rebuild unless one is already pending. */
+    public void request() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::run, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void run() {
+        // Clear first so writes landing during the rebuild trigger another one.
+        scheduled.set(false);
+        long started = System.currentTimeMillis();
+        try {
+            rebuild.run();
+            log.debug("Rebuilt {} in {} ms", name, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Rebuild of {} failed", name, e);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.ooter.backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Faceted filtering over the catalog with one {@link BitSet} per facet value.
+ * <p>
+ * Values selected within a facet are OR-ed, facets are AND-ed. Counts are disjunctive:
+ * each facet is counted against every filter except its own, so the UI can show how many
+ * results picking another value of the same facet would give.
+ */
+@Component
+public class FacetIndex implements HoardingIndex {
+
+    /** Upper bounds (exclusive) of the monthly price buckets; the last bucket is open. */
+    private static final double[] PRICE_BUCKETS = {10_000, 25_000, 50_000, 100_000, 250_000};
+
+    /** Dead ordinals tolerated before {@link #compact()} renumbers the live ones. */
+    private static final int MIN_DEAD_BEFORE_COMPACT = 256;
+
+    public enum Facet {
+        CATEGORY("category"),
+        STATUS("status"),
+        CITY("city"),
+        STATE("state"),
+        SITE_TYPE("siteType"),
+        MATERIAL("material"),
+        SCREEN_TYPE("screenType"),
+        PRICE("price"),
+        EYE_CATCHING("eyeCatching"),
+        MAIN_HIGHWAY("mainHighway"),
+        VERIFIED_PROPERTY("verifiedProperty");
+
+        private final String param;
+
+        Facet(String param) {
+            this.param = param;
+        }
+
+        public String param() {
+            return param;
+        }
+    }
+
+    public record Result(List<Long> ids, int total, Map<String, Map<String, Integer>> facets) {
+    }
+
+    private static final Facet[] FACETS = Facet.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Map<String, BitSet>> bitmaps = new ArrayList<>();
+    private final List<Map<String, String>> labels = new ArrayList<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet alive = new BitSet();
+    private long[] ids = new long[16];
+    private String[][] keys = new String[16][];
+    private int nextOrdinal;
+
+    public FacetIndex() {
+        for (int f = 0; f < FACETS.length; f++) {
+            bitmaps.add(new HashMap<>());
+            labels.add(new HashMap<>());
+        }
+    }
+
+    @Override
+    public void rebuild(Collection<HoardingSnapshot> snapshots) {
+        List<HoardingSnapshot> byId = new ArrayList<>(snapshots);
+        // Ordinals follow id order, so results come out oldest listing first.
+        byId.sort(Comparator.comparingLong(HoardingSnapshot::id));
+        lock.writeLock().lock();
+        try {
+            bitmaps.forEach(Map::clear);
+            labels.forEach(Map::clear);
+            ordinals.clear();
+            alive.clear();
+            ids = new long[Math.max(16, byId.size())];
+            keys = new String[ids.length][];
+            nextOrdinal = 0;
+            for (HoardingSnapshot s : byId) {
+                add(s);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(HoardingSnapshot previous, HoardingSnapshot current) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(current.id());
+            if (ordinal == null) {
+                add(current);
+                return;
+            }
+            unindex(ordinal);
+            keys[ordinal] = valuesOf(current);
+            index(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(HoardingSnapshot previous) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(previous.id());
+            if (ordinal != null) {
+                unindex(ordinal);
+                keys[ordinal] = null;
+                alive.clear(ordinal);
+                int dead = nextOrdinal - ordinals.size();
+                if (dead >= MIN_DEAD_BEFORE_COMPACT && dead > ordinals.size()) {
+                    compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the filters and returns one page of ids in id order together with the
+     * facet counts. Facets without selected values do not filter. Hoardings rejected by
+     * {@code accept} are left out of both the results and the counts.
+     */
+    public Result search(Map<Facet, ? extends Collection<String>> filters, int offset, int limit,
+                         LongPredicate accept) {
+        lock.readLock().lock();
+        try {
+            BitSet eligible = (BitSet) alive.clone();
+            for (int i = eligible.nextSetBit(0); i >= 0; i = eligible.nextSetBit(i + 1)) {
+                if (!accept.test(ids[i])) {
+                    eligible.clear(i);
+                }
+            }
+
+            BitSet[] selected = new BitSet[FACETS.length];
+            for (Facet facet : FACETS) {
+                Collection<String> values = filters.get(facet);
+                if (values == null || values.isEmpty()) {
+                    continue;
+                }
+                BitSet union = new BitSet();
+                for (String value : values) {
+                    BitSet bits = bitmaps.get(facet.ordinal()).get(key(value));
+                    if (bits != null) {
+                        union.or(bits);
+                    }
+                }
+                selected[facet.ordinal()] = union;
+            }
+
+            BitSet matches = allExcept(eligible, selected, -1);
+            List<Long> page = new ArrayList<>(Math.min(limit, matches.cardinality()));
+            int skipped = 0;
+            for (int i = matches.nextSetBit(0); i >= 0 && page.size() < limit; i = matches.nextSetBit(i + 1)) {
+                if (skipped++ >= offset) {
+                    page.add(ids[i]);
+                }
+            }
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            for (Facet facet : FACETS) {
+                BitSet base = selected[facet.ordinal()] == null ? matches : allExcept(eligible, selected, facet.ordinal());
+                facets.put(facet.param(), counts(facet, base, filters.get(facet)));
+            }
+            return new Result(page, matches.cardinality(), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The display value a live listing uses for {@code value} in {@code facet}, matched the
+     * way filters match, or {@code null} when no listing has it.
+     */
+    public String label(Facet facet, String value) {
+        if (value == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return labels.get(facet.ordinal()).get(key(value));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static BitSet allExcept(BitSet eligible, BitSet[] selected, int skip) {
+        BitSet result = (BitSet) eligible.clone();
+        for (int f = 0; f < selected.length; f++) {
+            if (f != skip && selected[f] != null) {
+                result.and(selected[f]);
+            }
+        }
+        return result;
+    }
+
+    /** Non-zero counts plus any selected values, largest first. */
+    private Map<String, Integer> counts(Facet facet, BitSet base, Collection<String> selectedValues) {
+        Set<String> selectedKeys = new HashSet<>();
+        if (selectedValues != null) {
+            selectedValues.forEach(v -> selectedKeys.add(key(v)));
+        }
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        for (Map.Entry<String, BitSet> e : bitmaps.get(facet.ordinal()).entrySet()) {
+            BitSet bits = (BitSet) e.getValue().clone();
+            bits.and(base);
+            int count = bits.cardinality();
+            if (count > 0 || selectedKeys.contains(e.getKey())) {
+                entries.add(Map.entry(labels.get(facet.ordinal()).get(e.getKey()), count));
+            }
+        }
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        entries.forEach(e -> counts.put(e.getKey(), e.getValue()));
+        return counts;
+    }
+
+    /**
+     * Renumbers the live ordinals from zero, keeping their relative order so results stay
+     * in id order. Freed ordinals are not reused directly because a reused low ordinal
+     * would place a new listing ahead of older ones. Caller holds the write lock.
+     */
+    private void compact() {
+        int live = ordinals.size();
+        long[] liveIds = new long[Math.max(16, live)];
+        String[][] liveKeys = new String[liveIds.length][];
+        int next = 0;
+        for (int i = alive.nextSetBit(0); i >= 0; i = alive.nextSetBit(i + 1)) {
+            liveIds[next] = ids[i];
+            liveKeys[next] = keys[i];
+            next++;
+        }
+        bitmaps.forEach(Map::clear);
+        labels.forEach(Map::clear);
+        ordinals.clear();
+        alive.clear();
+        ids = liveIds;
+        keys = liveKeys;
+        nextOrdinal = next;
+        for (int ordinal = 0; ordinal < next; ordinal++) {
+            ordinals.put(ids[ordinal], ordinal);
+            alive.set(ordinal);
+            index(ordinal);
+        }
+    }
+
+    private void add(HoardingSnapshot s) {
+        int ordinal = nextOrdinal++;
+        if (ordinal == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            keys = Arrays.copyOf(keys, keys.length * 2);
+        }
+        ids[ordinal] = s.id();
+        keys[ordinal] = valuesOf(s);
+        ordinals.put(s.id(), ordinal);
+        alive.set(ordinal);
+        index(ordinal);
+    }
+
+    private void index(int ordinal) {
+        String[] values = keys[ordinal];
+        for (int f = 0; f < values.length; f++) {
+            if (values[f] == null) {
+                continue;
+            }
+            String key = key(values[f]);
+            bitmaps.get(f).computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+            labels.get(f).putIfAbsent(key, values[f]);
+        }
+    }
+
+    private void unindex(int ordinal) {
+        String[] values = keys[ordinal];
+        for (int f = 0; f < values.length; f++) {
+            if (values[f] == null) {
+                continue;
+            }
+            String key = key(values[f]);
+            BitSet bits = bitmaps.get(f).get(key);
+            if (bits != null) {
+                bits.clear(ordinal);
+                if (bits.isEmpty()) {
+                    bitmaps.get(f).remove(key);
+                    labels.get(f).remove(key);
+                }
+            }
+        }
+    }
+
+    /** Display value of every facet for one listing, in {@link Facet} order. */
+    private static String[] valuesOf(HoardingSnapshot s) {
+        return new String[]{
+                s.category() != null ? s.category().name() : null,
+                s.status() != null ? s.status().name() : null,
+                trimToNull(s.city()),
+                trimToNull(s.state()),
+                trimToNull(s.siteType()),
+                trimToNull(s.material()),
+                trimToNull(s.screenType()),
+                priceBucket(s.pricePerMonth()),
+                String.valueOf(s.eyeCatching()),
+                String.valueOf(s.mainHighway()),
+                String.valueOf(s.verifiedProperty())
+        };
+    }
+
+    static String priceBucket(double price) {
+        long lower = 0;
+        for (double upper : PRICE_BUCKETS) {
+            if (price < upper) {
+                return lower + "-" + (long) upper;
+            }
+            lower = (long) upper;
+        }
+        return lower + "+";
+    }
+
+    private static String key(String value) {
+        return TrigramIndex.normalize(value);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,150 @@
+package com.ooter.backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed-cell lat/lng grid for radius queries. A query only visits the cells overlapping
+ * the bounding box of the search circle, so its cost depends on local density rather
+ * than on the size of the catalog. Results are filtered by exact haversine distance.
+ */
+@Component
+public class GeoGridIndex implements HoardingIndex {
+
+    static final double CELL_DEGREES = 0.25;
+    private static final int LAT_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int LNG_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+    private static final Point[] EMPTY = new Point[0];
+
+    private volatile Map<Long, Cell> cells = new ConcurrentHashMap<>();
+
+    public record Hit(long id, double distanceKm) {
+    }
+
+    private record Point(long id, double lat, double lng) {
+    }
+
+    /** Copy-on-write bucket: readers never lock, writers replace the array. */
+    private static final class Cell {
+        private volatile Point[] points = EMPTY;
+
+        synchronized void add(Point point) {
+            Point[] next = Arrays.copyOf(points, points.length + 1);
+            next[points.length] = point;
+            points = next;
+        }
+
+        synchronized void remove(long id) {
+            Point[] current = points;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].id() == id) {
+                    Point[] next = new Point[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, i);
+                    System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                    points = next;
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void rebuild(Collection<HoardingSnapshot> snapshots) {
+        Map<Long, Cell> fresh = new ConcurrentHashMap<>();
+        for (HoardingSnapshot s : snapshots) {
+            if (s.hasLocation()) {
+                fresh.computeIfAbsent(cellKey(s.latitude(), s.longitude()), k -> new Cell())
+                        .add(new Point(s.id(), s.latitude(), s.longitude()));
+            }
+        }
+        cells = fresh;
+    }
+
+    @Override
+    public void upsert(HoardingSnapshot previous, HoardingSnapshot current) {
+        if (previous != null) {
+            remove(previous);
+        }
+        if (current.hasLocation()) {
+            cells.computeIfAbsent(cellKey(current.latitude(), current.longitude()), k -> new Cell())
+                    .add(new Point(current.id(), current.latitude(), current.longitude()));
+        }
+    }
+
+    @Override
+    public void remove(HoardingSnapshot previous) {
+        if (previous.hasLocation()) {
+            Cell cell = cells.get(cellKey(previous.latitude(), previous.longitude()));
+            if (cell != null) {
+                cell.remove(previous.id());
+            }
+        }
+    }
+
+    /**
+     * Returns every hoarding within {@code radiusKm} of the given point, nearest first.
+     */
+    public List<Hit> within(double lat, double lng, double radiusKm) {
+        if (!(radiusKm > 0)) {
+            return List.of();
+        }
+        Map<Long, Cell> grid = cells;
+        double dLat = radiusKm / GeoMath.KM_PER_DEGREE_LAT;
+        int minLatCell = latCell(Math.max(-90, lat - dLat));
+        int maxLatCell = latCell(Math.min(90, lat + dLat));
+
+        double maxAbsLat = Math.min(90, Math.abs(lat) + dLat);
+        double dLng = maxAbsLat >= 89.9 ? 180 : dLat / Math.cos(Math.toRadians(maxAbsLat));
+        int lngSpan = dLng >= 180 ? LNG_CELLS
+                : (int) (Math.floor((lng + dLng + 180) / CELL_DEGREES) - Math.floor((lng - dLng + 180) / CELL_DEGREES)) + 1;
+        lngSpan = Math.min(lngSpan, LNG_CELLS);
+        int firstLngCell = dLng >= 180 ? 0 : (int) Math.floor((lng - dLng + 180) / CELL_DEGREES);
+
+        List<Hit> hits = new ArrayList<>();
+        long cellsToVisit = (long) (maxLatCell - minLatCell + 1) * lngSpan;
+        if (cellsToVisit > grid.size()) {
+            // Huge radius: walking the populated cells is cheaper than walking the box.
+            for (Cell cell : grid.values()) {
+                collect(cell, lat, lng, radiusKm, hits);
+            }
+        } else {
+            for (int la = minLatCell; la <= maxLatCell; la++) {
+                for (int i = 0; i < lngSpan; i++) {
+                    int lo = Math.floorMod(firstLngCell + i, LNG_CELLS);
+                    Cell cell = grid.get((long) la * LNG_CELLS + lo);
+                    if (cell != null) {
+                        collect(cell, lat, lng, radiusKm, hits);
+                    }
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    private static void collect(Cell cell, double lat, double lng, double radiusKm, List<Hit> out) {
+        for (Point p : cell.points) {
+            double d = GeoMath.distanceKm(lat, lng, p.lat(), p.lng());
+            if (d <= radiusKm) {
+                out.add(new Hit(p.id(), d));
+            }
+        }
+    }
+
+    private static long cellKey(double lat, double lng) {
+        int lo = Math.floorMod((int) Math.floor((lng + 180) / CELL_DEGREES), LNG_CELLS);
+        return (long) latCell(lat) * LNG_CELLS + lo;
+    }
+
+    private static int latCell(double lat) {
+        int cell = (int) Math.floor((lat + 90) / CELL_DEGREES);
+        return Math.max(0, Math.min(LAT_CELLS - 1, cell));
+    }
+}
@@ -0,0 +1,149 @@
+package com.ooter.backend.search;
+
+import com.ooter.backend.entity.Hoarding;
+import com.ooter.backend.repository.HoardingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a snapshot of every hoarding in memory and feeds all {@link HoardingIndex} beans.
+ * <p>
+ * The catalog is loaded once in the background after startup; until {@link #isReady()}
+ * returns true callers must fall back to the database. Afterwards every committed
+ * hoarding write is applied incrementally.
+ */
+@Slf4j
+@Component
+public class HoardingCatalog {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final HoardingRepository hoardingRepository;
+    private final List<HoardingIndex> indexes;
+
+    private final Map<Long, HoardingSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Set<Long> removedWhileSeeding = new HashSet<>();
+    private volatile boolean ready = false;
+    /** Bumped on every applied write, so derived caches can key on it. */
+    private volatile long version = 0;
+
+    public HoardingCatalog(HoardingRepository hoardingRepository, List<HoardingIndex> indexes) {
+        this.hoardingRepository = hoardingRepository;
+        this.indexes = indexes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedInBackground() {
+        Thread seeder = new Thread(this::seed, "hoarding-catalog-seed");
+        seeder.setDaemon(true);
+        seeder.start();
+    }
+
+    void seed() {
+        long started = System.currentTimeMillis();
+        try {
+            long lastId = 0L;
+            List<Hoarding> batch;
+            do {
+                batch = hoardingRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(SEED_BATCH_SIZE));
+                synchronized (this) {
+                    for (Hoarding h : batch) {
+                        if (!removedWhileSeeding.contains(h.getId())) {
+                            // Writes that arrived during seeding are newer than this row.
+                            snapshots.putIfAbsent(h.getId(), HoardingSnapshot.from(h));
+                        }
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == SEED_BATCH_SIZE);
+
+            synchronized (this) {
+                Collection<HoardingSnapshot> all = snapshots.values();
+                for (HoardingIndex index : indexes) {
+                    index.rebuild(all);
+                }
+                removedWhileSeeding.clear();
+                version++;
+                ready = true;
+            }
+            log.info("Hoarding catalog loaded: {} hoardings, {} indexes in {} ms",
+                    snapshots.size(), indexes.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Failed to load hoarding catalog, queries will keep using the database", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onHoardingChanged(HoardingChangedEvent event) {
+        HoardingSnapshot current = event.snapshot();
+        version++;
+        if (event.removed()) {
+            HoardingSnapshot previous = snapshots.remove(current.id());
+            if (!ready) {
+                removedWhileSeeding.add(current.id());
+                return;
+            }
+            if (previous != null) {
+                indexes.forEach(index -> index.remove(previous));
+            }
+            return;
+        }
+
+        HoardingSnapshot previous = snapshots.put(current.id(), current);
+        if (ready) {
+            indexes.forEach(index -> index.upsert(previous, current));
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public HoardingSnapshot get(long id) {
+        return snapshots.get(id);
+    }
+
+    public Collection<HoardingSnapshot> snapshots() {
+        return snapshots.values();
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * Loads the entities for ids produced by an index, preserving the index order.
+     */
+    public List<Hoarding> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> position = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        List<Hoarding> loaded = new ArrayList<>(hoardingRepository.findAllById(ids));
+        loaded.sort(Comparator.comparingInt(h -> position.get(h.getId())));
+        return loaded;
+    }
+}
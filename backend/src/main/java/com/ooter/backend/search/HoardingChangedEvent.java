@@ -0,0 +1,8 @@
+package com.ooter.backend.search;
+
+/**
+ * Published by {@link HoardingIndexListener} whenever a hoarding row is written.
+ * {@code snapshot} is the new state, or the last known state when {@code removed} is set.
+ */
+public record HoardingChangedEvent(HoardingSnapshot snapshot, boolean removed) {
+}
@@ -0,0 +1,19 @@
+package com.ooter.backend.search;
+
+import java.util.Collection;
+
+/**
+ * An in-memory index over the hoarding catalog. {@link HoardingCatalog} seeds every
+ * index once at startup and then forwards each committed hoarding write.
+ */
+public interface HoardingIndex {
+
+    /** Replaces the whole index content. */
+    void rebuild(Collection<HoardingSnapshot> snapshots);
+
+    /** Applies a create or update. {@code previous} is null for new hoardings. */
+    void upsert(HoardingSnapshot previous, HoardingSnapshot current);
+
+    /** Drops a hoarding that was deleted. */
+    void remove(HoardingSnapshot previous);
+}
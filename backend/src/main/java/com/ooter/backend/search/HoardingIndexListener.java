@@ -0,0 +1,31 @@
+package com.ooter.backend.search;
+
+import com.ooter.backend.entity.Hoarding;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on {@link Hoarding}. Every save path (controllers, booking service,
+ * scheduler) goes through here, so the in-memory indexes never miss a write.
+ */
+@Component
+@RequiredArgsConstructor
+public class HoardingIndexListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Hoarding hoarding) {
+        eventPublisher.publishEvent(new HoardingChangedEvent(HoardingSnapshot.from(hoarding), false));
+    }
+
+    @PostRemove
+    public void onRemoved(Hoarding hoarding) {
+        eventPublisher.publishEvent(new HoardingChangedEvent(HoardingSnapshot.from(hoarding), true));
+    }
+}
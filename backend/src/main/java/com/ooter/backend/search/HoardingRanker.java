@@ -0,0 +1,53 @@
+package com.ooter.backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Scores candidates with every {@link HoardingScorer} bean and keeps only the best
+ * {@code limit} in a bounded min-heap, so ranking and truncation happen in one pass.
+ */
+@Component
+public class HoardingRanker {
+
+    private final List<HoardingScorer> scorers;
+
+    public HoardingRanker(List<HoardingScorer> scorers) {
+        this.scorers = scorers;
+    }
+
+    private record Scored(long id, double score) {
+    }
+
+    /** Returns candidate ids, best first. */
+    public List<Long> rank(Collection<RankingCandidate> candidates, int limit) {
+        if (candidates.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        RankingContext context = RankingContext.of(candidates);
+        Comparator<Scored> byRank = Comparator.comparingDouble(Scored::score)
+                .thenComparing(Scored::id, Comparator.reverseOrder());
+        PriorityQueue<Scored> top = new PriorityQueue<>(Math.min(limit, candidates.size()) + 1, byRank);
+        for (RankingCandidate candidate : candidates) {
+            double score = 0;
+            for (HoardingScorer scorer : scorers) {
+                score += scorer.score(candidate, context);
+            }
+            Scored scored = new Scored(candidate.snapshot().id(), score);
+            if (top.size() < limit) {
+                top.add(scored);
+            } else if (byRank.compare(scored, top.peek()) > 0) {
+                top.poll();
+                top.add(scored);
+            }
+        }
+        List<Scored> best = new ArrayList<>(top);
+        best.sort(byRank.reversed());
+        return best.stream().map(Scored::id).toList();
+    }
+}
@@ -0,0 +1,11 @@
+package com.ooter.backend.search;
+
+/**
+ * One ranking signal. Every {@code HoardingScorer} bean is summed by {@link HoardingRanker};
+ * implementations return their already weighted contribution for a candidate.
+ */
+@FunctionalInterface
+public interface HoardingScorer {
+
+    double score(RankingCandidate candidate, RankingContext context);
+}
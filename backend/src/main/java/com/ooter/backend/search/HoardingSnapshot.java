@@ -0,0 +1,65 @@
+package com.ooter.backend.search;
+
+import com.ooter.backend.entity.Hoarding;
+import com.ooter.backend.entity.HoardingCategory;
+import com.ooter.backend.entity.HoardingStatus;
+
+import java.time.Instant;
+
+/**
+ * Immutable copy of the hoarding attributes the in-memory indexes work on.
+ * Indexes never hold JPA entities, only these snapshots.
+ */
+public record HoardingSnapshot(
+        long id,
+        Long ownerId,
+        String location,
+        String city,
+        String state,
+        String district,
+        String landmark,
+        String pinCode,
+        Double latitude,
+        Double longitude,
+        HoardingStatus status,
+        HoardingCategory category,
+        double pricePerMonth,
+        String siteType,
+        String material,
+        String screenType,
+        boolean eyeCatching,
+        boolean mainHighway,
+        boolean verifiedProperty,
+        Instant updatedAt
+) {
+
+    public static HoardingSnapshot from(Hoarding h) {
+        return new HoardingSnapshot(
+                h.getId(),
+                h.getOwner() != null ? h.getOwner().getId() : null,
+                h.getLocation(),
+                h.getCity(),
+                h.getState(),
+                h.getDistrict(),
+                h.getLandmark(),
+                h.getPinCode(),
+                h.getLatitude(),
+                h.getLongitude(),
+                h.getStatus(),
+                h.getCategory(),
+                h.getPricePerMonth(),
+                h.getSiteType(),
+                h.getMaterial(),
+                h.getScreenType(),
+                h.isEyeCatching(),
+                h.isMainHighway(),
+                h.isVerifiedProperty(),
+                h.getUpdatedAt()
+        );
+    }
+
+    public boolean hasLocation() {
+        return latitude != null && longitude != null
+                && !latitude.isNaN() && !longitude.isNaN();
+    }
+}
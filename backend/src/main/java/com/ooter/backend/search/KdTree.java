@@ -0,0 +1,227 @@
+package com.ooter.backend.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable 3-d tree over hoarding coordinates projected onto the unit sphere.
+ * Straight-line (chord) distance between unit vectors grows monotonically with the
+ * great-circle distance, so nearest-by-chord is exactly nearest-on-earth and there is
+ * no special handling needed around the poles or the antimeridian.
+ */
+final class KdTree {
+
+    private static final int LEAF_SIZE = 8;
+
+    /** Point payload in tree order. */
+    private final double[][] xyz;
+    private final HoardingSnapshot[] snapshots;
+
+    /** Node arrays; a node is a leaf when {@code left[n] < 0}. */
+    private final int[] lo;
+    private final int[] hi;
+    private final int[] left;
+    private final int[] right;
+    private final double[][] boxMin;
+    private final double[][] boxMax;
+    private int nodeCount;
+
+    record Neighbour(HoardingSnapshot snapshot, double distanceKm) {
+    }
+
+    static final KdTree EMPTY = new KdTree(List.of());
+
+    KdTree(Collection<HoardingSnapshot> source) {
+        List<HoardingSnapshot> located = new ArrayList<>(source.size());
+        for (HoardingSnapshot s : source) {
+            if (s.hasLocation()) {
+                located.add(s);
+            }
+        }
+        int n = located.size();
+        xyz = new double[3][n];
+        snapshots = new HoardingSnapshot[n];
+        for (int i = 0; i < n; i++) {
+            HoardingSnapshot s = located.get(i);
+            double[] v = toUnitVector(s.latitude(), s.longitude());
+            xyz[0][i] = v[0];
+            xyz[1][i] = v[1];
+            xyz[2][i] = v[2];
+            snapshots[i] = s;
+        }
+
+        // Splits never produce leaves smaller than LEAF_SIZE / 2.
+        int maxNodes = 2 * (n / (LEAF_SIZE / 2) + 1);
+        lo = new int[maxNodes];
+        hi = new int[maxNodes];
+        left = new int[maxNodes];
+        right = new int[maxNodes];
+        boxMin = new double[3][maxNodes];
+        boxMax = new double[3][maxNodes];
+        if (n > 0) {
+            build(0, n);
+        }
+    }
+
+    int size() {
+        return snapshots.length;
+    }
+
+    /**
+     * Best-first search: nodes are expanded in order of their lower-bound distance and the
+     * search stops as soon as no unexplored node can beat the current k-th neighbour.
+     */
+    List<Neighbour> nearest(double lat, double lng, int k, IntPredicate accept) {
+        if (k <= 0 || snapshots.length == 0) {
+            return List.of();
+        }
+        double[] q = toUnitVector(lat, lng);
+
+        // Max-heap on distance holding the best k so far.
+        PriorityQueue<double[]> best = new PriorityQueue<>(k + 1, (a, b) -> Double.compare(b[0], a[0]));
+        // Min-heap of nodes to visit keyed by their lower bound.
+        PriorityQueue<double[]> frontier = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        frontier.add(new double[]{boxDistance2(0, q), 0});
+
+        while (!frontier.isEmpty()) {
+            double[] entry = frontier.poll();
+            if (best.size() == k && entry[0] >= best.peek()[0]) {
+                break;
+            }
+            int node = (int) entry[1];
+            if (left[node] < 0) {
+                for (int i = lo[node]; i < hi[node]; i++) {
+                    if (!accept.test(i)) {
+                        continue;
+                    }
+                    double d2 = pointDistance2(i, q);
+                    if (best.size() < k) {
+                        best.add(new double[]{d2, i});
+                    } else if (d2 < best.peek()[0]) {
+                        best.poll();
+                        best.add(new double[]{d2, i});
+                    }
+                }
+            } else {
+                frontier.add(new double[]{boxDistance2(left[node], q), left[node]});
+                frontier.add(new double[]{boxDistance2(right[node], q), right[node]});
+            }
+        }
+
+        List<Neighbour> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            double[] e = best.poll();
+            double chord = Math.sqrt(e[0]);
+            double km = 2 * GeoMath.EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+            result.add(new Neighbour(snapshots[(int) e[1]], km));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    HoardingSnapshot snapshotAt(int position) {
+        return snapshots[position];
+    }
+
+    private int build(int from, int to) {
+        int node = nodeCount++;
+        lo[node] = from;
+        hi[node] = to;
+        int widestAxis = 0;
+        double widestSpread = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                double v = xyz[axis][i];
+                if (v < min) min = v;
+                if (v > max) max = v;
+            }
+            boxMin[axis][node] = min;
+            boxMax[axis][node] = max;
+            if (max - min > widestSpread) {
+                widestSpread = max - min;
+                widestAxis = axis;
+            }
+        }
+
+        if (to - from <= LEAF_SIZE) {
+            left[node] = -1;
+            right[node] = -1;
+            return node;
+        }
+
+        int mid = (from + to) >>> 1;
+        select(widestAxis, from, to - 1, mid);
+        left[node] = build(from, mid);
+        right[node] = build(mid, to);
+        return node;
+    }
+
+    /** Quickselect so that position {@code k} holds the median along {@code axis}. */
+    private void select(int axis, int from, int to, int k) {
+        while (to > from) {
+            double pivot = xyz[axis][(from + to) >>> 1];
+            int i = from;
+            int j = to;
+            while (i <= j) {
+                while (xyz[axis][i] < pivot) i++;
+                while (xyz[axis][j] > pivot) j--;
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                to = j;
+            } else if (k >= i) {
+                from = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        HoardingSnapshot s = snapshots[a];
+        snapshots[a] = snapshots[b];
+        snapshots[b] = s;
+        for (int axis = 0; axis < 3; axis++) {
+            double v = xyz[axis][a];
+            xyz[axis][a] = xyz[axis][b];
+            xyz[axis][b] = v;
+        }
+    }
+
+    private double pointDistance2(int i, double[] q) {
+        double dx = xyz[0][i] - q[0];
+        double dy = xyz[1][i] - q[1];
+        double dz = xyz[2][i] - q[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private double boxDistance2(int node, double[] q) {
+        double sum = 0;
+        for (int axis = 0; axis < 3; axis++) {
+            double v = q[axis];
+            double d = 0;
+            if (v < boxMin[axis][node]) {
+                d = boxMin[axis][node] - v;
+            } else if (v > boxMax[axis][node]) {
+                d = v - boxMax[axis][node];
+            }
+            sum += d * d;
+        }
+        return sum;
+    }
+
+    private static double[] toUnitVector(double lat, double lng) {
+        double phi = Math.toRadians(lat);
+        double lambda = Math.toRadians(lng);
+        double cosPhi = Math.cos(phi);
+        return new double[]{cosPhi * Math.cos(lambda), cosPhi * Math.sin(lambda), Math.sin(phi)};
+    }
+}
@@ -0,0 +1,86 @@
+package com.ooter.backend.search;
+
+import com.ooter.backend.entity.HoardingCategory;
+import com.ooter.backend.entity.HoardingStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * k-nearest-neighbour lookups backed by an immutable {@link KdTree}.
+ * <p>
+ * Writes are applied to a live snapshot map and the tree is rebuilt in the background
+ * a moment later, then swapped in atomically. Until then hits are re-checked against
+ * the live map so deleted or re-filtered hoardings never leak into results.
+ */
+@Component
+public class NearestHoardingIndex implements HoardingIndex {
+
+    private static final long REBUILD_DELAY_MS = 2000;
+
+    private final Map<Long, HoardingSnapshot> live = new ConcurrentHashMap<>();
+    private final DebouncedRebuilder rebuilder =
+            new DebouncedRebuilder("nearest-hoarding-index", REBUILD_DELAY_MS, this::rebuildFromLive);
+    private volatile KdTree tree = KdTree.EMPTY;
+
+    public record Hit(long id, double distanceKm) {
+    }
+
+    @Override
+    public void rebuild(Collection<HoardingSnapshot> snapshots) {
+        live.clear();
+        for (HoardingSnapshot s : snapshots) {
+            live.put(s.id(), s);
+        }
+        tree = new KdTree(snapshots);
+    }
+
+    @Override
+    public void upsert(HoardingSnapshot previous, HoardingSnapshot current) {
+        live.put(current.id(), current);
+        rebuilder.request();
+    }
+
+    @Override
+    public void remove(HoardingSnapshot previous) {
+        live.remove(previous.id());
+        rebuilder.request();
+    }
+
+    private void rebuildFromLive() {
+        tree = new KdTree(new ArrayList<>(live.values()));
+    }
+
+    /**
+     * Returns up to {@code k} hoardings closest to the given point, nearest first.
+     * Null or empty filter sets match everything; {@code accept} can reject further ids.
+     */
+    public List<Hit> nearest(double lat, double lng, int k,
+                             Set<HoardingStatus> statuses, Set<HoardingCategory> categories,
+                             LongPredicate accept) {
+        KdTree current = tree;
+        List<KdTree.Neighbour> neighbours = current.nearest(lat, lng, k, position -> {
+            HoardingSnapshot s = live.get(current.snapshotAt(position).id());
+            return s != null && matches(s, statuses, categories) && accept.test(s.id());
+        });
+        List<Hit> hits = new ArrayList<>(neighbours.size());
+        for (KdTree.Neighbour n : neighbours) {
+            hits.add(new Hit(n.snapshot().id(), n.distanceKm()));
+        }
+        return hits;
+    }
+
+    private static boolean matches(HoardingSnapshot s, Set<HoardingStatus> statuses,
+                                   Set<HoardingCategory> categories) {
+        if (statuses != null && !statuses.isEmpty() && !statuses.contains(s.status())) {
+            return false;
+        }
+        return categories == null || categories.isEmpty() || categories.contains(s.category());
+    }
+}
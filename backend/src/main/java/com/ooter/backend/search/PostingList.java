@@ -0,0 +1,63 @@
+package com.ooter.backend.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, growable list of document ordinals backed by a primitive int array.
+ * Not thread-safe; {@link TrigramIndex} guards access with its lock.
+ */
+final class PostingList {
+
+    private int[] docs = new int[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int get(int i) {
+        return docs[i];
+    }
+
+    void add(int doc) {
+        if (size > 0 && docs[size - 1] < doc) {
+            // Common case: ordinals are handed out in increasing order.
+            ensureCapacity();
+            docs[size++] = doc;
+            return;
+        }
+        int pos = Arrays.binarySearch(docs, 0, size, doc);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(docs, insertAt, docs, insertAt + 1, size - insertAt);
+        docs[insertAt] = doc;
+        size++;
+    }
+
+    void remove(int doc) {
+        int pos = Arrays.binarySearch(docs, 0, size, doc);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(docs, pos + 1, docs, pos, size - pos - 1);
+        size--;
+    }
+
+    boolean contains(int doc) {
+        return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+    }
+
+    /** Copy of the ordinals, used as the seed of an intersection. */
+    int[] toArray() {
+        return Arrays.copyOf(docs, size);
+    }
+
+    private void ensureCapacity() {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.ooter.backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable character trie over a sorted term list, flattened into parallel arrays.
+ * <p>
+ * Because terms are sorted, every node covers a contiguous range of them. Nodes whose
+ * range is larger than {@link #SCAN_THRESHOLD} keep a precomputed list of their most
+ * popular terms, so short, broad prefixes are answered without scanning; narrow prefixes
+ * scan their small range directly.
+ */
+final class PrefixTrie {
+
+    static final int TOP_K = 10;
+    private static final int SCAN_THRESHOLD = 64;
+
+    /** Terms sorted by key. */
+    private final String[] keys;
+    private final int[] weights;
+
+    /** Node arrays; children of a node are linked through {@code nextSibling} in char order. */
+    private char[] label = new char[16];
+    private int[] firstChild = new int[16];
+    private int[] nextSibling = new int[16];
+    private int[] lo = new int[16];
+    private int[] hi = new int[16];
+    private int[][] top = new int[16][];
+    private int nodeCount;
+
+    static final PrefixTrie EMPTY = new PrefixTrie(new String[0], new int[0]);
+
+    /** Both arrays must be ordered by key. */
+    PrefixTrie(String[] sortedKeys, int[] weights) {
+        this.keys = sortedKeys;
+        this.weights = weights;
+        build((char) 0, 0, 0, keys.length);
+        label = Arrays.copyOf(label, nodeCount);
+        firstChild = Arrays.copyOf(firstChild, nodeCount);
+        nextSibling = Arrays.copyOf(nextSibling, nodeCount);
+        lo = Arrays.copyOf(lo, nodeCount);
+        hi = Arrays.copyOf(hi, nodeCount);
+        top = Arrays.copyOf(top, nodeCount);
+    }
+
+    /** Returns positions of the highest-weighted terms starting with {@code prefix}. */
+    int[] complete(String prefix, int limit) {
+        if (keys.length == 0 || limit <= 0) {
+            return new int[0];
+        }
+        int node = 0;
+        for (int i = 0; i < prefix.length() && node >= 0; i++) {
+            char c = prefix.charAt(i);
+            int child = firstChild[node];
+            while (child >= 0 && label[child] < c) {
+                child = nextSibling[child];
+            }
+            node = child >= 0 && label[child] == c ? child : -1;
+        }
+        if (node < 0) {
+            return new int[0];
+        }
+        if (top[node] != null && limit <= top[node].length) {
+            return Arrays.copyOf(top[node], Math.min(limit, top[node].length));
+        }
+        return topOf(lo[node], hi[node], limit);
+    }
+
+    String keyAt(int position) {
+        return keys[position];
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    private int build(char c, int depth, int from, int to) {
+        int node = newNode(c, from, to);
+        // Terms equal to the prefix sort first and end here.
+        int i = from;
+        while (i < to && keys[i].length() == depth) {
+            i++;
+        }
+        int previous = -1;
+        while (i < to) {
+            char next = keys[i].charAt(depth);
+            int j = i + 1;
+            while (j < to && keys[j].charAt(depth) == next) {
+                j++;
+            }
+            int child = build(next, depth + 1, i, j);
+            if (previous < 0) {
+                firstChild[node] = child;
+            } else {
+                nextSibling[previous] = child;
+            }
+            previous = child;
+            i = j;
+        }
+        if (to - from > SCAN_THRESHOLD) {
+            top[node] = topOf(from, to, TOP_K);
+        }
+        return node;
+    }
+
+    private int newNode(char c, int from, int to) {
+        if (nodeCount == label.length) {
+            int capacity = nodeCount * 2;
+            label = Arrays.copyOf(label, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            lo = Arrays.copyOf(lo, capacity);
+            hi = Arrays.copyOf(hi, capacity);
+            top = Arrays.copyOf(top, capacity);
+        }
+        int node = nodeCount++;
+        label[node] = c;
+        firstChild[node] = -1;
+        nextSibling[node] = -1;
+        lo[node] = from;
+        hi[node] = to;
+        return node;
+    }
+
+    /** Highest weight first, ties broken alphabetically. */
+    private int[] topOf(int from, int to, int limit) {
+        Comparator<Integer> byRank = Comparator.<Integer>comparingInt(p -> weights[p])
+                .thenComparing(Comparator.<Integer>reverseOrder());
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, byRank);
+        for (int p = from; p < to; p++) {
+            if (heap.size() < limit) {
+                heap.add(p);
+            } else if (byRank.compare(p, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(p);
+            }
+        }
+        List<Integer> sorted = new ArrayList<>(heap);
+        sorted.sort(byRank.reversed());
+        return sorted.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
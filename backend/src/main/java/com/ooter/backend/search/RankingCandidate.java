@@ -0,0 +1,16 @@
+package com.ooter.backend.search;
+
+/**
+ * A hoarding considered for a ranked result, with the query-specific signals that
+ * produced it. {@code textScore} is 0 and {@code distanceKm} is NaN when not applicable.
+ */
+public record RankingCandidate(HoardingSnapshot snapshot, double textScore, double distanceKm) {
+
+    public static RankingCandidate ofText(HoardingSnapshot snapshot, double textScore) {
+        return new RankingCandidate(snapshot, textScore, Double.NaN);
+    }
+
+    public static RankingCandidate ofDistance(HoardingSnapshot snapshot, double distanceKm) {
+        return new RankingCandidate(snapshot, 0, distanceKm);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ooter.backend.search;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Aggregates over the whole candidate set, so scorers can normalize relative signals.
+ */
+public record RankingContext(double maxTextScore, double minPrice, double maxPrice, Instant now) {
+
+    static RankingContext of(Collection<RankingCandidate> candidates) {
+        double maxText = 0;
+        double minPrice = Double.POSITIVE_INFINITY;
+        double maxPrice = Double.NEGATIVE_INFINITY;
+        for (RankingCandidate c : candidates) {
+            maxText = Math.max(maxText, c.textScore());
+            minPrice = Math.min(minPrice, c.snapshot().pricePerMonth());
+            maxPrice = Math.max(maxPrice, c.snapshot().pricePerMonth());
+        }
+        return new RankingContext(maxText, minPrice, maxPrice, Instant.now());
+    }
+}
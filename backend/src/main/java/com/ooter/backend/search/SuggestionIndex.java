@@ -0,0 +1,109 @@
+package com.ooter.backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Search-box autocomplete over the distinct city, location, landmark and pin code values
+ * of the catalog, ranked by how many listings use each value.
+ * <p>
+ * Suggestions are served from an immutable {@link PrefixTrie} that is rebuilt in the
+ * background shortly after writes, so lookups never touch the database.
+ */
+@Component
+public class SuggestionIndex implements HoardingIndex {
+
+    public static final int MAX_SUGGESTIONS = PrefixTrie.TOP_K;
+    private static final long REBUILD_DELAY_MS = 2000;
+
+    private final Map<Long, HoardingSnapshot> live = new ConcurrentHashMap<>();
+    private final DebouncedRebuilder rebuilder =
+            new DebouncedRebuilder("suggestion-index", REBUILD_DELAY_MS, this::rebuildFromLive);
+    private volatile Snapshot current = new Snapshot(PrefixTrie.EMPTY, new Suggestion[0]);
+
+    public enum Field { CITY, LOCATION, LANDMARK, PIN_CODE }
+
+    public record Suggestion(String text, Field field, int listings) {
+    }
+
+    private record Snapshot(PrefixTrie trie, Suggestion[] suggestions) {
+    }
+
+    @Override
+    public void rebuild(Collection<HoardingSnapshot> snapshots) {
+        live.clear();
+        for (HoardingSnapshot s : snapshots) {
+            live.put(s.id(), s);
+        }
+        rebuildFromLive();
+    }
+
+    @Override
+    public void upsert(HoardingSnapshot previous, HoardingSnapshot current) {
+        live.put(current.id(), current);
+        rebuilder.request();
+    }
+
+    @Override
+    public void remove(HoardingSnapshot previous) {
+        live.remove(previous.id());
+        rebuilder.request();
+    }
+
+    /** Most popular values starting with {@code query}, ignoring case and extra whitespace. */
+    public List<Suggestion> suggest(String query, int limit) {
+        String prefix = TrigramIndex.normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        Snapshot snapshot = current;
+        int[] positions = snapshot.trie().complete(prefix, Math.min(limit, MAX_SUGGESTIONS));
+        List<Suggestion> result = new ArrayList<>(positions.length);
+        for (int p : positions) {
+            result.add(snapshot.suggestions()[p]);
+        }
+        return result;
+    }
+
+    private void rebuildFromLive() {
+        // Keyed by normalized text plus field so the sort order matches the trie.
+        Map<String, Suggestion> counts = new TreeMap<>();
+        for (HoardingSnapshot s : live.values()) {
+            Map<String, Suggestion> perListing = new HashMap<>();
+            collect(perListing, s.city(), Field.CITY);
+            collect(perListing, s.location(), Field.LOCATION);
+            collect(perListing, s.landmark(), Field.LANDMARK);
+            collect(perListing, s.pinCode(), Field.PIN_CODE);
+            perListing.forEach((key, suggestion) -> counts.merge(key, suggestion,
+                    (a, b) -> new Suggestion(a.text(), a.field(), a.listings() + 1)));
+        }
+
+        String[] keys = new String[counts.size()];
+        int[] weights = new int[counts.size()];
+        Suggestion[] suggestions = new Suggestion[counts.size()];
+        int i = 0;
+        for (Map.Entry<String, Suggestion> e : counts.entrySet()) {
+            String key = e.getKey();
+            keys[i] = key.substring(0, key.indexOf('\u0000'));
+            weights[i] = e.getValue().listings();
+            suggestions[i] = e.getValue();
+            i++;
+        }
+        current = new Snapshot(new PrefixTrie(keys, weights), suggestions);
+    }
+
+    private static void collect(Map<String, Suggestion> target, String value, Field field) {
+        String normalized = TrigramIndex.normalize(value);
+        if (!normalized.isEmpty()) {
+            target.putIfAbsent(normalized + '\u0000' + field.ordinal(),
+                    new Suggestion(value.trim(), field, 1));
+        }
+    }
+}
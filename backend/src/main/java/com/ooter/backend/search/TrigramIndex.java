@@ -0,0 +1,264 @@
+package com.ooter.backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted trigram index over the address fields of each hoarding.
+ * <p>
+ * Every field value is padded with a space on both sides and split into overlapping
+ * three-character grams. A query of three or more characters is answered by intersecting
+ * the posting lists of its grams and confirming each candidate with a substring check,
+ * which gives the same matches as {@code ILIKE '%q%'}. A two-character query matches at
+ * the start of a word. Cost depends on the size of the rarest gram's posting list rather
+ * than on the size of the catalog.
+ */
+@Component
+public class TrigramIndex implements HoardingIndex {
+
+    /** Queries shorter than this cannot be answered from trigrams. */
+    public static final int MIN_QUERY_LENGTH = 2;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /** Field order: location, city, state, landmark, district, pinCode. */
+    private static final double[] FIELD_WEIGHTS = {3, 3, 1, 2, 2, 2};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    /** Ordinals released by {@link #remove}, handed out again before growing the arrays. */
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private long[] ids = new long[16];
+    private String[][] fields = new String[16][];
+    private int nextOrdinal;
+
+    public record Hit(long id, double score) {
+    }
+
+    @Override
+    public void rebuild(Collection<HoardingSnapshot> snapshots) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinals.clear();
+            freeOrdinals.clear();
+            ids = new long[Math.max(16, snapshots.size())];
+            fields = new String[ids.length][];
+            nextOrdinal = 0;
+            for (HoardingSnapshot s : snapshots) {
+                add(s);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(HoardingSnapshot previous, HoardingSnapshot current) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(current.id());
+            if (ordinal == null) {
+                add(current);
+                return;
+            }
+            String[] values = normalizedFields(current);
+            if (Arrays.equals(values, fields[ordinal])) {
+                return;
+            }
+            unindex(ordinal);
+            fields[ordinal] = values;
+            index(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(HoardingSnapshot previous) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(previous.id());
+            if (ordinal != null) {
+                unindex(ordinal);
+                fields[ordinal] = null;
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best {@code limit} matches accepted by {@code accept}, highest score first,
+     * or {@code null} when the query is too short to be served by the index.
+     */
+    public List<Hit> search(String query, int limit, LongPredicate accept) {
+        String q = normalize(query);
+        if (q.length() < MIN_QUERY_LENGTH) {
+            return null;
+        }
+        if (limit <= 0) {
+            return List.of();
+        }
+        boolean wordPrefix = q.length() < 3;
+        Set<Long> grams = grams(wordPrefix ? " " + q : q);
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(grams.size());
+            for (Long gram : grams) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            int[] candidates = lists.get(0).toArray();
+            int count = candidates.length;
+            for (int l = 1; l < lists.size() && count > 0; l++) {
+                PostingList list = lists.get(l);
+                int kept = 0;
+                for (int i = 0; i < count; i++) {
+                    if (list.contains(candidates[i])) {
+                        candidates[kept++] = candidates[i];
+                    }
+                }
+                count = kept;
+            }
+
+            // Min-heap holding the current top results; the weakest sits at the head.
+            Comparator<Hit> byRank = Comparator.comparingDouble(Hit::score)
+                    .thenComparing(Hit::id, Comparator.reverseOrder());
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, Math.min(limit, count)), byRank);
+            for (int i = 0; i < count; i++) {
+                int ordinal = candidates[i];
+                if (!accept.test(ids[ordinal])) {
+                    continue;
+                }
+                double score = score(fields[ordinal], q, wordPrefix);
+                if (score <= 0) {
+                    continue;
+                }
+                Hit hit = new Hit(ids[ordinal], score);
+                if (top.size() < limit) {
+                    top.add(hit);
+                } else if (byRank.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+
+            List<Hit> result = new ArrayList<>(top);
+            result.sort(byRank.reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Sums field weights for fields containing the query, boosting prefix and exact matches. */
+    private static double score(String[] values, String q, boolean wordPrefix) {
+        double score = 0;
+        for (int f = 0; f < values.length; f++) {
+            String v = values[f];
+            if (v.isEmpty()) {
+                continue;
+            }
+            boolean match = wordPrefix ? (" " + v).contains(" " + q) : v.contains(q);
+            if (!match) {
+                continue;
+            }
+            double boost = v.equals(q) ? 3 : v.startsWith(q) ? 2 : 1;
+            score += FIELD_WEIGHTS[f] * boost;
+        }
+        return score;
+    }
+
+    private void add(HoardingSnapshot s) {
+        Integer free = freeOrdinals.poll();
+        int ordinal = free != null ? free : nextOrdinal++;
+        if (ordinal == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            fields = Arrays.copyOf(fields, fields.length * 2);
+        }
+        ids[ordinal] = s.id();
+        fields[ordinal] = normalizedFields(s);
+        ordinals.put(s.id(), ordinal);
+        index(ordinal);
+    }
+
+    private void index(int ordinal) {
+        for (Long gram : grams(fields[ordinal])) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(ordinal);
+        }
+    }
+
+    private void unindex(int ordinal) {
+        for (Long gram : grams(fields[ordinal])) {
+            PostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(ordinal);
+                if (list.size() == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static String[] normalizedFields(HoardingSnapshot s) {
+        return new String[]{
+                normalize(s.location()),
+                normalize(s.city()),
+                normalize(s.state()),
+                normalize(s.landmark()),
+                normalize(s.district()),
+                normalize(s.pinCode())
+        };
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(text.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    private static Set<Long> grams(String[] values) {
+        Set<Long> grams = new HashSet<>();
+        for (String v : values) {
+            if (!v.isEmpty()) {
+                grams.addAll(grams(" " + v + " "));
+            }
+        }
+        return grams;
+    }
+
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ooter.backend.security;
+
+import com.ooter.backend.entity.Role;
+
+import java.security.Principal;
+
+/**
+ * The principal of a JWT-authenticated request, built from the token's signed claims alone.
+ * Handlers that only need the caller's id or role declare it with
+ * {@code @AuthenticationPrincipal AuthenticatedUser} and never touch the database. Handlers
+ * that read other fields of the full {@code User} declare that instead and get it from
+ * {@link CurrentUserArgumentResolver}.
+ * <p>
+ * The role is trustworthy: changing a user's role raises their token version, which
+ * invalidates tokens carrying the old one.
+ *
+ * @param subject the phone or email the token was issued to
+ */
+public record AuthenticatedUser(Long id, String subject, String role) implements Principal {
+
+    public boolean hasRole(Role expected) {
+        return expected.name().equals(role);
+    }
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+}
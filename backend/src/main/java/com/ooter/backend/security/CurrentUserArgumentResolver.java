@@ -0,0 +1,50 @@
+package com.ooter.backend.security;
+
+import com.ooter.backend.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@code @AuthenticationPrincipal User} parameters when the principal is an
+ * {@link AuthenticatedUser}, loading the entity only for handlers that ask for it.
+ * Resolves to {@code null} when the user no longer exists under the token's subject,
+ * or the subject now belongs to a different user.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final UserLookup userLookup;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(AuthenticationPrincipal.class)
+                && parameter.getParameterType() == User.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            return null;
+        }
+        if (auth.getPrincipal() instanceof User user) {
+            return user;
+        }
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            return userLookup.findUser(principal.subject())
+                    .filter(user -> user.getId().equals(principal.id()))
+                    .orElse(null);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ooter.backend.security;
+
+import com.ooter.backend.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on {@link User} that reports raised token versions to
+ * {@link TokenVersions}, which applies them once the write commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenVersionListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onWritten(User user) {
+        if (user.getId() != null && user.getTokenVersion() > 0) {
+            eventPublisher.publishEvent(new TokenVersions.Raised(user.getId(), user.getTokenVersion()));
+        }
+    }
+}
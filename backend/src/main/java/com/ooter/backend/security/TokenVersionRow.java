@@ -0,0 +1,5 @@
+package com.ooter.backend.security;
+
+/** A user whose token version has been raised above the initial 0. */
+public record TokenVersionRow(Long id, int tokenVersion) {
+}
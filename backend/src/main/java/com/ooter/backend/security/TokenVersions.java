@@ -0,0 +1,95 @@
+package com.ooter.backend.security;
+
+import com.ooter.backend.cache.CacheInvalidation;
+import com.ooter.backend.cache.CacheInvalidationBus;
+import com.ooter.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current token version of every user, so a token's {@code ver} claim can be checked without
+ * a database lookup. Only users whose version was ever raised are held; all others are at 0.
+ * <p>
+ * Loaded before the first request is served, then updated after each committed write that
+ * raised a version, as reported by {@link TokenVersionListener}. Raises are shared with the
+ * other instances over the {@link CacheInvalidationBus}; since the bus can lose messages, the
+ * raised versions are also re-read on a short interval and whenever the bus reconnects.
+ */
+@Slf4j
+@Component
+public class TokenVersions {
+
+    /** Pseudo cache name under which raises travel on the invalidation bus. */
+    static final String BUS_CHANNEL = "tokenVersions";
+
+    private final UserRepository userRepository;
+    private final CacheInvalidationBus bus;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    public TokenVersions(UserRepository userRepository, CacheInvalidationBus bus) {
+        this.userRepository = userRepository;
+        this.bus = bus;
+        bus.subscribe(this::onRemoteRaise);
+        bus.onReconnect(this::reload);
+    }
+
+    @PostConstruct
+    void load() {
+        try {
+            merge(userRepository.findRaisedTokenVersions());
+            log.info("Token versions loaded: {} users", versions.size());
+        } catch (Exception e) {
+            log.error("Failed to load token versions, tokens issued before a password reset stay valid", e);
+        }
+    }
+
+    /** Merges the stored versions in again, picking up raises the bus lost. */
+    @Scheduled(fixedDelayString = "${ooter.auth.token-versions.reload-interval-ms:60000}",
+            initialDelayString = "${ooter.auth.token-versions.reload-interval-ms:60000}")
+    public void reload() {
+        try {
+            merge(userRepository.findRaisedTokenVersions());
+        } catch (Exception e) {
+            log.warn("Failed to reload token versions", e);
+        }
+    }
+
+    private void merge(Iterable<TokenVersionRow> rows) {
+        for (TokenVersionRow row : rows) {
+            versions.merge(row.id(), row.tokenVersion(), Math::max);
+        }
+    }
+
+    public boolean isCurrent(long userId, int tokenVersion) {
+        return tokenVersion >= versions.getOrDefault(userId, 0);
+    }
+
+    /** Published by {@link TokenVersionListener} for every write of a user whose version was raised. */
+    public record Raised(long userId, int version) {
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRaised(Raised event) {
+        if (event.version() > versions.getOrDefault(event.userId(), 0)) {
+            versions.merge(event.userId(), event.version(), Math::max);
+            bus.publish(new CacheInvalidation(origin, BUS_CHANNEL, CacheInvalidation.Scope.KEY,
+                    event.userId() + "@" + event.version()));
+        }
+    }
+
+    private void onRemoteRaise(CacheInvalidation invalidation) {
+        if (BUS_CHANNEL.equals(invalidation.cacheName()) && !origin.equals(invalidation.origin())) {
+            String value = invalidation.key();
+            int at = value.lastIndexOf('@');
+            versions.merge(Long.valueOf(value.substring(0, at)), Integer.valueOf(value.substring(at + 1)), Math::max);
+        }
+    }
+}
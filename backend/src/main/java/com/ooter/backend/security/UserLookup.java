@@ -0,0 +1,45 @@
+package com.ooter.backend.security;
+
+import com.ooter.backend.config.CacheConfig;
+import com.ooter.backend.entity.User;
+import com.ooter.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/** Finds users by the phone or email tokens are issued to, through the {@code users} cache. */
+@Component
+@RequiredArgsConstructor
+public class UserLookup {
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    public Optional<User> findUser(String userIdentifier) {
+        // Try cache first
+        Cache userCache = cacheManager.getCache(CacheConfig.USER_CACHE);
+        if (userCache != null) {
+            User cachedUser = userCache.get(userIdentifier, User.class);
+            if (cachedUser != null) {
+                return Optional.of(cachedUser);
+            }
+        }
+
+        // Not in cache, fetch from database
+        Optional<User> user = userIdentifier.contains("@") 
+            ? userRepository.findByEmail(userIdentifier)
+            : userRepository.findByPhone(userIdentifier);
+
+        // Cache the result
+        user.ifPresent(u -> {
+            if (userCache != null) {
+                userCache.put(userIdentifier, u);
+            }
+        });
+        
+        return user;
+    }
+}
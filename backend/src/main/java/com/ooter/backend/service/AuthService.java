@@ -7,11 +7,11 @@ import com.ooter.backend.entity.User;
 import com.ooter.backend.repository.UserRepository;
 import com.ooter.backend.util.GoogleTokenVerifier;
 import com.ooter.backend.exception.AuthException;
+import com.ooter.backend.exception.PasswordHashingBusyException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -26,7 +26,7 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final GoogleTokenVerifier googleTokenVerifier;
     private final Fast2SMS fast2SmsService; // ✅ Fast2SMS service inject karo
     private final CacheManager cacheManager; // ✅ Cache manager for cache eviction
@@ -86,7 +86,7 @@ public class AuthService {
                 .name(request.getName())
                 .phone(request.getPhone())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHasher.encode(request.getPassword()))
                 .role(Role.USER)
                 .isVendor(false)
                 .referralCode(generatedReferral)
@@ -124,9 +124,12 @@ public class AuthService {
         User user = userRepository.findByPhoneOrEmail(request.getIdentifier())
                 .orElseThrow(() -> new RuntimeException("Invalid phone number or email"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid password");
         }
+        // Hashes from before a strength increase are replaced, unless the password changed meanwhile
+        passwordHasher.upgradeIfWeaker(request.getPassword(), user.getPassword(),
+                rehashed -> userRepository.updatePassword(user.getId(), user.getPassword(), rehashed));
 
         // ✅ CRITICAL: Evict cache on login to ensure fresh data
         // This prevents stale data when user is deleted and recreated with same email/phone
@@ -157,6 +160,8 @@ public class AuthService {
             
             return buildLoginResponse(user, token);
             
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             throw new AuthException("Google login failed: " + e.getMessage());
         }
@@ -223,7 +228,7 @@ public class AuthService {
             .name(googleUser.name)
             .profilePicture(googleUser.picture)
             .googleId(googleUser.googleId)
-            .password(passwordEncoder.encode(UUID.randomUUID().toString()))
+            .password(passwordHasher.encode(UUID.randomUUID().toString()))
             .role(Role.USER)
             .isVendor(false)
             .referralCode(generateReferralCode())
@@ -431,8 +436,9 @@ public class AuthService {
             throw new AuthException("Password must contain at least one special character");
         }
         
-        // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
+        // Update password and sign out every session that used the old one
+        user.setPassword(passwordHasher.encode(newPassword));
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
         
         // Evict cache
@@ -1,5 +1,8 @@
 package com.ooter.backend.service;
 
+import com.ooter.backend.cache.CacheTag;
+import com.ooter.backend.cache.CacheTagEvictor;
+import com.ooter.backend.config.CacheConfig;
 import com.ooter.backend.dto.BookingOrderRequest;
 import com.ooter.backend.dto.EligiblePayoutResponse;
 import com.ooter.backend.dto.UploadedFileRequest;
@@ -15,7 +18,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.cache.annotation.CacheEvict;
 
 import java.io.IOException;
 import java.time.LocalDate;
@@ -34,6 +36,7 @@ public class BookingService {
     private final UploadedFileRepository uploadedFileRepository;
     private final ExecutionProofFileRepository executionProofFileRepository;
     private final FileStorageService fileStorageService;
+    private final CacheTagEvictor cacheTagEvictor;
 
     private static final int MAX_UPLOAD_FILES = 3;
 
@@ -133,11 +136,13 @@ public class BookingService {
         }
     }
 
-    @CacheEvict(value = {"vendorListingStats", "vendorDashboard", "vendorListings"}, allEntries = true)
     private void updateHoardingStatus(Hoarding hoarding, HoardingStatus status) {
         if (hoarding.getStatus() == HoardingStatus.ACTIVE || hoarding.getStatus() == HoardingStatus.AVAILABLE) {
             hoarding.setStatus(status);
             hoardingRepository.save(hoarding);
+            if (hoarding.getOwner() != null) {
+                cacheTagEvictor.evict(CacheTag.vendor(hoarding.getOwner().getId()), CacheConfig.VENDOR_VIEW_CACHES);
+            }
             log.info("Updated hoarding {} status to {}", hoarding.getId(), status);
         }
     }
@@ -0,0 +1,170 @@
+package com.ooter.backend.service;
+
+import com.ooter.backend.dto.HoardingResponse;
+import com.ooter.backend.entity.Hoarding;
+import com.ooter.backend.entity.HoardingCategory;
+import com.ooter.backend.entity.HoardingStatus;
+import com.ooter.backend.repository.HoardingRepository;
+import com.ooter.backend.repository.HoardingSpecifications;
+import com.ooter.backend.util.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the public hoarding listings of {@code GET /api/hoardings} and
+ * {@code /api/hoardings/vendor/{ownerId}}. {@code CacheWarmer} renders the same listings
+ * through it, so a warmed response and a requested one come from the same query.
+ */
+@Service
+@RequiredArgsConstructor
+public class HoardingListingService {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_PAGE_SIZE = 100;
+    /** Page size cap of the unfiltered listing. */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(1, TimeUnit.HOURS);
+
+    private final HoardingRepository hoardingRepository;
+
+    /** Query parameters of {@code GET /api/hoardings}; null when absent. */
+    public record ListingQuery(
+            String category,
+            String city,
+            List<String> status,
+            Double minPrice,
+            Double maxPrice,
+            String size,
+            String siteType,
+            String material,
+            Long ownerId,
+            Integer page,
+            Integer limit,
+            String sort,
+            String cursor) {
+
+        /** The unfiltered listing for a null city, otherwise the first page of one city. */
+        public static ListingQuery ofCity(String city) {
+            return new ListingQuery(null, city, null, null, null, null, null, null, null, null, null, null, null);
+        }
+
+        boolean filtered() {
+            return category != null || city != null || status != null || minPrice != null
+                    || maxPrice != null || size != null || siteType != null || material != null
+                    || ownerId != null;
+        }
+    }
+
+    /** One page; {@code nextCursor} is null when the page is not full. */
+    public record ListingPage(List<HoardingResponse> content, String nextCursor) {
+
+        /** Cache-Control, and the next-page cursor when there is one. */
+        public HttpHeaders headers() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setCacheControl(CACHE_CONTROL);
+            if (nextCursor != null) {
+                headers.set(NEXT_CURSOR_HEADER, nextCursor);
+            }
+            return headers;
+        }
+    }
+
+    /**
+     * Filtered listings are paged by cursor only, in pages of up to {@value #MAX_PAGE_SIZE};
+     * the unfiltered one also accepts the legacy {@code page} number.
+     *
+     * @throws IllegalArgumentException for an unknown category or status, a cursor this
+     *                                  listing did not hand out, or a {@code page} beyond the
+     *                                  first on a filtered listing
+     */
+    public ListingPage list(ListingQuery query) {
+        PageCursor after = query.cursor() != null ? PageCursor.decode(query.cursor()) : null;
+        Set<HoardingStatus> statuses = EnumSet.noneOf(HoardingStatus.class);
+        if (query.status() != null) {
+            query.status().forEach(s -> statuses.add(HoardingStatus.valueOf(s.trim().toUpperCase())));
+        }
+        Specification<Hoarding> filter = Specification.where(HoardingSpecifications.categoryIs(
+                        query.category() != null ? HoardingCategory.valueOf(query.category().toUpperCase()) : null))
+                .and(HoardingSpecifications.cityIs(query.city()))
+                .and(HoardingSpecifications.statusIn(statuses))
+                .and(HoardingSpecifications.priceBetween(query.minPrice(), query.maxPrice()))
+                .and(HoardingSpecifications.sizeIs(query.size()))
+                .and(HoardingSpecifications.siteTypeIs(query.siteType()))
+                .and(HoardingSpecifications.materialIs(query.material()))
+                .and(HoardingSpecifications.ownerIs(query.ownerId()));
+
+        if (query.filtered()) {
+            // Filtered listings are keyset-paged only; an ignored page number would repeat page one
+            if (query.page() != null && query.page() > 1) {
+                throw new IllegalArgumentException("Filtered listings page with cursor, not page");
+            }
+            int pageSize = pageSize(query.limit());
+            return page(hoardingRepository.findPageAfter(filter, afterId(after), pageSize), pageSize, false);
+        }
+
+        // Default mode (no filters): max 20 items
+        Integer limit = query.limit();
+        int pageSize = (limit != null && limit > 0) ? Math.min(limit, DEFAULT_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        boolean latest = query.sort() != null && query.sort().equalsIgnoreCase("latest");
+        Integer page = query.page();
+        List<Hoarding> hoardings;
+        if (after == null && page != null && page > 1) {
+            // Legacy offset paging; cursors keep deep pages as cheap as the first one
+            Sort sortObj = latest
+                ? Sort.by(Sort.Direction.DESC, "updatedAt").and(Sort.by(Sort.Direction.DESC, "id"))
+                : Sort.by(Sort.Direction.ASC, "id");
+            Pageable pageable = PageRequest.of(page - 1, pageSize, sortObj);
+            hoardings = hoardingRepository.findAll(pageable).getContent();
+        } else if (latest) {
+            if (after != null && after.updatedAt() == null) {
+                throw new IllegalArgumentException("Cursor is not from a latest-first listing");
+            }
+            hoardings = after == null
+                ? hoardingRepository.findAllByOrderByUpdatedAtDescIdDesc(Limit.of(pageSize))
+                : hoardingRepository.findLatestBefore(after.updatedAt(), after.id(), Limit.of(pageSize));
+        } else {
+            hoardings = hoardingRepository.findByIdGreaterThanOrderByIdAsc(afterId(after), Limit.of(pageSize));
+        }
+        return page(hoardings, pageSize, latest);
+    }
+
+    /** @throws IllegalArgumentException for a cursor this listing did not hand out */
+    public ListingPage listByOwner(Long ownerId, Integer limit, String cursor) {
+        PageCursor after = cursor != null ? PageCursor.decode(cursor) : null;
+        int pageSize = pageSize(limit);
+        return page(hoardingRepository.findPageAfter(
+                Specification.where(HoardingSpecifications.ownerIs(ownerId)), afterId(after), pageSize),
+                pageSize, false);
+    }
+
+    private static int pageSize(Integer limit) {
+        return (limit != null && limit > 0) ? Math.min(limit, MAX_PAGE_SIZE) : MAX_PAGE_SIZE;
+    }
+
+    private static long afterId(PageCursor after) {
+        return after != null ? after.id() : 0L;
+    }
+
+    /** Hands out a cursor when the page is full and more rows may follow. */
+    private static ListingPage page(List<Hoarding> hoardings, int pageSize, boolean byUpdatedAt) {
+        String next = null;
+        if (!hoardings.isEmpty() && hoardings.size() == pageSize) {
+            Hoarding last = hoardings.get(hoardings.size() - 1);
+            next = (byUpdatedAt ? new PageCursor(last.getUpdatedAt(), last.getId()) : PageCursor.ofId(last.getId()))
+                    .encode();
+        }
+        return new ListingPage(hoardings.stream().map(HoardingResponse::new).toList(), next);
+    }
+}
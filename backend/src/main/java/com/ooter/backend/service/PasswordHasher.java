@@ -0,0 +1,133 @@
+package com.ooter.backend.service;
+
+import com.ooter.backend.cache.LatencyHistogram;
+import com.ooter.backend.exception.PasswordHashingBusyException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Runs BCrypt on its own pool, sized to the CPU cores by default, so a burst of logins
+ * queues here instead of occupying every request thread. When the queue is full, or a hash
+ * waits longer than {@code timeout}, callers get a {@link PasswordHashingBusyException}.
+ */
+@Slf4j
+@Service
+public class PasswordHasher {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final LatencyHistogram hashTimes = new LatencyHistogram();
+    private final LatencyHistogram queueTimes = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+
+    public PasswordHasher(BCryptPasswordEncoder encoder,
+                          @Value("${ooter.auth.bcrypt.threads:0}") int threads,
+                          @Value("${ooter.auth.bcrypt.queue-capacity:64}") int queueCapacity,
+                          @Value("${ooter.auth.bcrypt.timeout:5s}") Duration timeout) {
+        this.encoder = encoder;
+        this.timeout = timeout;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public record Stats(int poolSize, int active, int queued, int queueCapacity, long completed, long rejected,
+                        LatencyHistogram.Snapshot hashTimes, LatencyHistogram.Snapshot queueTimes) {
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Re-encodes a password verified against a hash of lower strength than configured, in the
+     * background and only if the pool has room. {@code store} receives the new hash.
+     */
+    public void upgradeIfWeaker(String rawPassword, String encodedPassword, Consumer<String> store) {
+        if (!encoder.upgradeEncoding(encodedPassword)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    store.accept(timed(System.nanoTime(), () -> encoder.encode(rawPassword)));
+                } catch (Exception e) {
+                    log.warn("Password rehash failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Retried on the next login
+            rejected.increment();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(executor.getCorePoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+                executor.getQueue().size() + executor.getQueue().remainingCapacity(),
+                executor.getCompletedTaskCount(), rejected.sum(), hashTimes.snapshot(), queueTimes.snapshot());
+    }
+
+    private <T> T run(Callable<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(submitted, hash));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Password hashing queue is full");
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            rejected.increment();
+            throw new PasswordHashingBusyException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while hashing");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> T timed(long submitted, Callable<T> hash) throws Exception {
+        long started = System.nanoTime();
+        queueTimes.record(started - submitted);
+        try {
+            return hash.call();
+        } finally {
+            hashTimes.record(System.nanoTime() - started);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,51 @@
+package com.ooter.backend.service;
+
+import com.ooter.backend.config.CacheConfig;
+import com.ooter.backend.dto.UserResponse;
+import com.ooter.backend.entity.User;
+import com.ooter.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Builds the read-only views served by {@code UserController}, cached per user as immutable
+ * values. The controller answers unauthenticated requests before reaching the cache.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserViewService {
+
+    private final UserRepository userRepository;
+
+    @Cacheable(value = CacheConfig.USER_PROFILE_CACHE, key = "#user.id", sync = true)
+    public UserResponse profile(User user) {
+        return new UserResponse(
+                user.getId(),
+                user.getName(),
+                user.getPhone(),
+                user.getEmail(),
+                user.getRole().name(),
+                user.getReferralCode(),
+                user.getReferredBy(),
+                user.getReferralCoins(),
+                user.isReferralUsed(),
+                user.getGender(),
+                user.getDateOfBirth(),
+                user.getCompanyName(),
+                user.getGstin(),
+                user.getPan()
+        );
+    }
+
+    @Cacheable(value = CacheConfig.USER_SEARCHES_CACHE, key = "#userId", sync = true)
+    public List<String> recentSearches(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        return user.getRecentSearches() != null ? List.copyOf(user.getRecentSearches()) : List.of();
+    }
+}
@@ -0,0 +1,137 @@
+package com.ooter.backend.service;
+
+import com.ooter.backend.config.CacheConfig;
+import com.ooter.backend.dto.ActiveListingResponse;
+import com.ooter.backend.dto.BookingProgressResponse;
+import com.ooter.backend.dto.ListingDashboardStatsDTO;
+import com.ooter.backend.dto.SalesOverviewDTO;
+import com.ooter.backend.dto.VendorDashboardStats;
+import com.ooter.backend.entity.BookingStatus;
+import com.ooter.backend.entity.Hoarding;
+import com.ooter.backend.entity.HoardingStatus;
+import com.ooter.backend.repository.BookingRepository;
+import com.ooter.backend.repository.HoardingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Builds the read-only vendor views served by {@code VendorController}. Each view is cached
+ * as an immutable record keyed by vendor; access checks, status codes and headers are left
+ * to the controller, so they are decided per request and never replayed from the cache.
+ */
+@Service
+@RequiredArgsConstructor
+public class VendorViewService {
+
+    private final HoardingRepository hoardingRepository;
+    private final BookingRepository bookingRepository;
+
+    /** A booking's progress together with the vendor allowed to see it. */
+    public record BookingDetail(Long vendorId, BookingProgressResponse progress) {
+    }
+
+    /** One page of listings; the controller adds the page request back. */
+    public record ListingPage(List<ActiveListingResponse> content, long totalElements) {
+    }
+
+    @Cacheable(value = CacheConfig.VENDOR_DASHBOARD, key = "#vendorId", sync = true)
+    public VendorDashboardStats dashboard(Long vendorId) {
+        int totalSites = hoardingRepository.countByOwnerId(vendorId);
+        int confirmed = bookingRepository.countByVendorIdAndStatus(vendorId, BookingStatus.CONFIRMED);
+        return new VendorDashboardStats(
+                totalSites,
+                confirmed,
+                confirmed,
+                bookingRepository.sumPaidAmountByVendorId(vendorId),
+                confirmed,
+                bookingRepository.countNewOrdersForVendor(vendorId),
+                bookingRepository.countPendingRTMForVendor(vendorId),
+                bookingRepository.sumPreviousPaymentsByVendorId(vendorId),
+                bookingRepository.sumUpcomingPaymentsByVendorId(vendorId),
+                confirmed,
+                totalSites - confirmed
+        );
+    }
+
+    @Cacheable(value = CacheConfig.VENDOR_SALES, key = "{#vendorId, #start, #end}", sync = true)
+    public SalesOverviewDTO salesOverview(Long vendorId, LocalDate start, LocalDate end) {
+        Double totalSales = bookingRepository.sumSalesByVendorAndDateRange(
+                vendorId,
+                start.atStartOfDay(),
+                end.plusDays(1).atStartOfDay()
+        );
+
+        List<SalesOverviewDTO.OrderDTO> orders = bookingRepository.findByVendorIdAndDateRange(
+                        vendorId,
+                        start.atStartOfDay(),
+                        end.plusDays(1).atStartOfDay()
+                ).stream()
+                .map(b -> new SalesOverviewDTO.OrderDTO(
+                        b.getOrderId(), b.getCreatedAt().toLocalDate().toString(), b.getTotalAmount()))
+                .toList();
+
+        return new SalesOverviewDTO(
+                totalSales != null ? totalSales : 0.0,
+                start + " to " + end,
+                (int) start.datesUntil(end.plusDays(1)).count(),
+                orders
+        );
+    }
+
+    @Cacheable(value = CacheConfig.VENDOR_LISTING_STATS, key = "#vendorId", sync = true)
+    public ListingDashboardStatsDTO listingStats(Long vendorId) {
+        long availableCount = hoardingRepository.findActiveAndAvailableByVendor(vendorId).stream()
+                .filter(h -> !bookingRepository.existsActiveBookingForHoarding(h.getId()))
+                .count();
+
+        int activeCount = hoardingRepository.findAllActiveTabHoardings(vendorId).size();
+        int bookedCount = hoardingRepository.findBookedByVendor(vendorId, Pageable.unpaged()).getContent().size();
+        int nonActiveCount = hoardingRepository.findNonActiveByVendor(vendorId, Pageable.unpaged()).getContent().size();
+
+        return new ListingDashboardStatsDTO(
+                activeCount,
+                nonActiveCount,
+                bookedCount,
+                availableCount,
+                0, 0, 0, 0, 0, 0
+        );
+    }
+
+    /** Returns {@code null} for an unknown order, which is not cached. */
+    @Cacheable(value = CacheConfig.BOOKING_DETAILS, key = "#orderId", sync = true)
+    public BookingDetail bookingDetail(String orderId) {
+        return bookingRepository.findByOrderId(orderId)
+                .map(booking -> new BookingDetail(
+                        booking.getHoarding().getOwner().getId(), BookingProgressResponse.from(booking)))
+                .orElse(null);
+    }
+
+    @Cacheable(value = CacheConfig.VENDOR_LISTINGS, key = "{#vendorId, 'active'}", sync = true)
+    public List<ActiveListingResponse> activeListings(Long vendorId) {
+        return toListings(hoardingRepository.findAllActiveTabHoardings(vendorId));
+    }
+
+    @Cacheable(value = CacheConfig.VENDOR_LISTINGS, key = "{#vendorId, #status, #pageable}", sync = true)
+    public ListingPage listings(Long vendorId, HoardingStatus status, Pageable pageable) {
+        Page<Hoarding> hoardingsPage = switch (status) {
+            case ACTIVE -> hoardingRepository.findByOwnerIdAndStatus(vendorId, status, pageable);
+            case BOOKED -> hoardingRepository.findBookedByVendor(vendorId, pageable);
+            case AVAILABLE -> hoardingRepository.findAvailableByVendor(vendorId, pageable);
+            case NON_ACTIVE -> hoardingRepository.findNonActiveByVendor(vendorId, pageable);
+            default -> Page.empty();
+        };
+        return new ListingPage(toListings(hoardingsPage.getContent()), hoardingsPage.getTotalElements());
+    }
+
+    private List<ActiveListingResponse> toListings(List<Hoarding> hoardings) {
+        return hoardings.stream()
+                .map(h -> ActiveListingResponse.from(h, bookingRepository.findLatestBookingEndDateForHoarding(h.getId())))
+                .toList();
+    }
+}
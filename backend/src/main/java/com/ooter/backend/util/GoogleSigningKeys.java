@@ -0,0 +1,187 @@
+package com.ooter.backend.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Google's ID-token signing keys, fetched from its JWKS endpoint and held in memory for as
+ * long as its {@code Cache-Control: max-age} allows.
+ * <p>
+ * The next fetch is scheduled {@code refresh-ahead} before the keys expire, so logins find
+ * current keys without waiting on Google. A token signed with a key not in the set (Google
+ * rotated early) triggers one fetch on the calling thread, at most once per
+ * {@code min-refresh-interval} so unknown key ids cannot be used to flood the endpoint.
+ */
+@Slf4j
+@Component
+public class GoogleSigningKeys {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+
+    private final ObjectMapper objectMapper;
+    private final URI jwksUri;
+    private final Duration refreshAhead;
+    private final Duration minRefreshInterval;
+    private final Duration httpTimeout;
+    // Keeps connections to Google open between fetches
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "google-jwks-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record KeySet(Map<String, PublicKey> byKeyId, long expiresAt) {
+    }
+
+    private volatile KeySet keys = new KeySet(Map.of(), 0);
+    // Both guarded by the instance lock
+    private long lastFetchAt;
+    private ScheduledFuture<?> nextRefresh;
+
+    public GoogleSigningKeys(ObjectMapper objectMapper,
+                             @Value("${ooter.auth.google.jwks-uri:https://www.googleapis.com/oauth2/v3/certs}") URI jwksUri,
+                             @Value("${ooter.auth.google.refresh-ahead:5m}") Duration refreshAhead,
+                             @Value("${ooter.auth.google.min-refresh-interval:1m}") Duration minRefreshInterval,
+                             @Value("${ooter.auth.google.http-timeout:5s}") Duration httpTimeout) {
+        this.objectMapper = objectMapper;
+        this.jwksUri = jwksUri;
+        this.refreshAhead = refreshAhead;
+        this.minRefreshInterval = minRefreshInterval;
+        this.httpTimeout = httpTimeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(httpTimeout).build();
+    }
+
+    /** Fetches the keys in the background so the first Google login does not wait for them. */
+    @PostConstruct
+    void prefetch() {
+        refresher.execute(this::refreshInBackground);
+    }
+
+    /**
+     * Returns the public key with the given id, fetching the key set first if it has expired
+     * or does not contain the id. Returns {@code null} for a key Google does not publish.
+     */
+    public PublicKey get(String keyId) {
+        KeySet current = keys;
+        PublicKey key = current.byKeyId().get(keyId);
+        if (key != null && current.expiresAt() > System.currentTimeMillis()) {
+            return key;
+        }
+        return refreshFor(keyId);
+    }
+
+    private synchronized PublicKey refreshFor(String keyId) {
+        KeySet current = keys;
+        long now = System.currentTimeMillis();
+        // Another caller may have fetched while this one waited for the lock
+        if (current.expiresAt() > now && current.byKeyId().containsKey(keyId)) {
+            return current.byKeyId().get(keyId);
+        }
+        if (now - lastFetchAt < minRefreshInterval.toMillis()) {
+            return current.byKeyId().get(keyId);
+        }
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Google publishes a key well before signing with it and keeps it for a while after
+            // rotating away, so the last set stays in use until the endpoint answers again
+            log.error("Failed to fetch Google signing keys: {}", e.getMessage());
+            scheduleRefresh(minRefreshInterval.toMillis());
+        }
+        return keys.byKeyId().get(keyId);
+    }
+
+    private synchronized void refreshInBackground() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Failed to refresh Google signing keys, retrying in {}: {}", minRefreshInterval, e.getMessage());
+            scheduleRefresh(minRefreshInterval.toMillis());
+        }
+    }
+
+    /** Must be called holding the lock. */
+    private void refresh() throws IOException, InterruptedException, GeneralSecurityException {
+        lastFetchAt = System.currentTimeMillis();
+        HttpRequest request = HttpRequest.newBuilder(jwksUri).timeout(httpTimeout).GET().build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("JWKS endpoint returned " + response.statusCode());
+        }
+        Map<String, PublicKey> byKeyId = parse(response.body());
+        long now = System.currentTimeMillis();
+        long maxAge = maxAge(response).toMillis();
+        keys = new KeySet(Map.copyOf(byKeyId), now + maxAge);
+        scheduleRefresh(Math.max(minRefreshInterval.toMillis(), maxAge - refreshAhead.toMillis()));
+        log.debug("Loaded {} Google signing keys, valid for {}s", byKeyId.size(), maxAge / 1000);
+    }
+
+    private Map<String, PublicKey> parse(String body) throws IOException, GeneralSecurityException {
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        Map<String, PublicKey> byKeyId = new HashMap<>();
+        for (JsonNode jwk : objectMapper.readTree(body).path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            BigInteger modulus = new BigInteger(1, decoder.decode(jwk.path("n").asText()));
+            BigInteger exponent = new BigInteger(1, decoder.decode(jwk.path("e").asText()));
+            byKeyId.put(jwk.get("kid").asText(), keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+        }
+        if (byKeyId.isEmpty()) {
+            throw new IOException("JWKS response contains no RSA keys");
+        }
+        return byKeyId;
+    }
+
+    /** The response's max-age less the time it already spent in caches on the way. */
+    private static Duration maxAge(HttpResponse<?> response) {
+        Duration maxAge = response.headers().firstValue("Cache-Control")
+                .map(MAX_AGE::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> Duration.ofSeconds(Long.parseLong(matcher.group(1))))
+                .orElse(DEFAULT_MAX_AGE);
+        Duration fresh = maxAge.minusSeconds(response.headers().firstValueAsLong("Age").orElse(0));
+        return fresh.isNegative() ? Duration.ZERO : fresh;
+    }
+
+    private void scheduleRefresh(long delayMillis) {
+        if (nextRefresh != null) {
+            nextRefresh.cancel(false);
+        }
+        nextRefresh = refresher.schedule(this::refreshInBackground, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -1,38 +1,69 @@
 package com.ooter.backend.util;
 
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.Set;
 
+/**
+ * Verifies Google ID tokens locally against the keys held by {@link GoogleSigningKeys}, so a
+ * Google login costs one signature check instead of a round-trip to Google.
+ */
 @Service
 public class GoogleTokenVerifier {
 
-    @Value("${spring.security.oauth2.client.registration.google.client-id}")
-    private String googleClientId;
+    private static final Set<String> ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
+    // Same allowance as Google's own client library
+    private static final long CLOCK_SKEW_SECONDS = 300;
 
-    public GoogleUser verify(String idToken) throws Exception {
-        GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                new NetHttpTransport(),
-                new GsonFactory())
-                .setAudience(Collections.singletonList(googleClientId))
+    private final JwtParser parser;
+
+    public GoogleTokenVerifier(GoogleSigningKeys signingKeys,
+                               @Value("${spring.security.oauth2.client.registration.google.client-id}") String googleClientId) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        if (!SignatureAlgorithm.RS256.getValue().equals(header.getAlgorithm())) {
+                            throw new UnsupportedJwtException("Unexpected signing algorithm " + header.getAlgorithm());
+                        }
+                        PublicKey key = signingKeys.get(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .requireAudience(googleClientId)
+                .setAllowedClockSkewSeconds(CLOCK_SKEW_SECONDS)
                 .build();
+    }
 
-        GoogleIdToken googleIdToken = verifier.verify(idToken);
-        if (googleIdToken == null) {
+    public GoogleUser verify(String idToken) throws Exception {
+        Claims payload;
+        try {
+            payload = parser.parseClaimsJws(idToken).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RuntimeException("Invalid Google token");
+        }
+        if (!ISSUERS.contains(payload.getIssuer())) {
             throw new RuntimeException("Invalid Google token");
         }
 
-        GoogleIdToken.Payload payload = googleIdToken.getPayload();
-        
         return new GoogleUser(
-                payload.getEmail(),
-                (String) payload.get("name"),
-                (String) payload.get("picture"),
+                payload.get("email", String.class),
+                payload.get("name", String.class),
+                payload.get("picture", String.class),
                 payload.getSubject()
         );
     }
@@ -50,4 +81,4 @@ public class GoogleTokenVerifier {
             this.googleId = googleId;
         }
     }
-}
\ No newline at end of file
+}
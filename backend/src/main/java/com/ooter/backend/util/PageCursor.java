@@ -0,0 +1,41 @@
+package com.ooter.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor: the sort key of the last row on a page.
+ * Clients pass it back unchanged to get the next page.
+ */
+public record PageCursor(Instant updatedAt, long id) {
+
+    public static PageCursor ofId(long id) {
+        return new PageCursor(null, id);
+    }
+
+    public String encode() {
+        String raw = updatedAt == null
+                ? "i:" + id
+                : "u:" + updatedAt.getEpochSecond() + ":" + updatedAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException if the cursor was not produced by {@link #encode()} */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length == 2 && parts[0].equals("i")) {
+                return ofId(Long.parseLong(parts[1]));
+            }
+            if (parts.length == 4 && parts[0].equals("u")) {
+                Instant updatedAt = Instant.ofEpochSecond(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+                return new PageCursor(updatedAt, Long.parseLong(parts[3]));
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+}
@@ -0,0 +1,231 @@
+package com.ooter.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Single-flight loading in {@link TwoTierCache#get(Object, Callable)}: how many loads run for
+ * concurrent callers, and which evictions during a load keep its result out of the cache.
+ */
+class TwoTierCacheTest {
+
+	private static final Duration LOAD_TIMEOUT = Duration.ofSeconds(5);
+	private static final CacheTag OWNER_7 = new CacheTag("owner:7");
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final AtomicInteger loads = new AtomicInteger();
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@AfterEach
+	void stopExecutor() {
+		release.countDown();
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		TwoTierCache cache = cache(LOAD_TIMEOUT);
+		int callers = 16;
+		CountDownLatch ready = new CountDownLatch(callers);
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < callers; i++) {
+			results.add(executor.submit(() -> {
+				ready.countDown();
+				return cache.get("k", blockingLoader("v"));
+			}));
+		}
+		ready.await();
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		Thread.sleep(100);
+		release.countDown();
+
+		for (Future<String> result : results) {
+			assertEquals("v", result.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, loads.get());
+		assertEquals("v", cache.get("k", countingLoader("again")));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void evictingTheKeyDuringALoadMakesTheNextCallReload() throws Exception {
+		TwoTierCache cache = cache(LOAD_TIMEOUT);
+
+		assertEquals("stale", loadWhile(cache, "k", () -> cache.evict("k")));
+
+		assertEquals("fresh", cache.get("k", countingLoader("fresh")));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void evictingAnotherKeyDuringALoadKeepsItsResult() throws Exception {
+		TwoTierCache cache = cache(LOAD_TIMEOUT);
+
+		loadWhile(cache, "k", () -> cache.evict("other"));
+
+		assertEquals("stale", cache.get("k", countingLoader("fresh")));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void evictingATagOfTheResultDuringALoadMakesTheNextCallReload() throws Exception {
+		TwoTierCache cache = cache(LOAD_TIMEOUT);
+
+		loadWhile(cache, "k", () -> cache.evict(OWNER_7));
+
+		assertEquals("fresh", cache.get("k", countingLoader("fresh")));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void evictingAnotherTagDuringALoadKeepsItsResult() throws Exception {
+		TwoTierCache cache = cache(LOAD_TIMEOUT);
+
+		loadWhile(cache, "k", () -> cache.evict(new CacheTag("owner:8")));
+
+		assertEquals("stale", cache.get("k", countingLoader("fresh")));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void clearingOrARemoteEvictionDuringALoadMakesTheNextCallReload() throws Exception {
+		TwoTierCache cache = cache(LOAD_TIMEOUT);
+
+		loadWhile(cache, "k", cache::clear);
+		assertEquals("fresh", cache.get("k", countingLoader("fresh")));
+
+		cache.evict("k");
+		CountDownLatch startedAgain = new CountDownLatch(1);
+		CountDownLatch releaseAgain = new CountDownLatch(1);
+		Future<Object> load = executor.submit(() -> cache.get("k", () -> {
+			startedAgain.countDown();
+			releaseAgain.await();
+			return "stale";
+		}));
+		assertTrue(startedAgain.await(5, TimeUnit.SECONDS));
+		cache.apply(new CacheInvalidation("elsewhere", cache.getName(), CacheInvalidation.Scope.KEY, "k"));
+		releaseAgain.countDown();
+		assertEquals("stale", load.get(5, TimeUnit.SECONDS));
+
+		assertEquals("fresh", cache.get("k", countingLoader("fresh")));
+	}
+
+	@Test
+	void callerThatTimesOutLoadsOnItsOwn() throws Exception {
+		TwoTierCache cache = cache(Duration.ofMillis(100));
+		Future<String> stuck = executor.submit(() -> cache.get("k", blockingLoader("slow")));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		assertEquals("fast", cache.get("k", countingLoader("fast")));
+		assertEquals(2, loads.get());
+
+		// The stuck load still finishes; the later store wins, as with any two puts.
+		release.countDown();
+		assertEquals("slow", stuck.get(5, TimeUnit.SECONDS));
+		assertEquals("slow", cache.get("k").get());
+	}
+
+	@Test
+	void evictionDuringATimedOutFallbackLoadIsHonouredToo() throws Exception {
+		TwoTierCache cache = cache(Duration.ofMillis(100));
+		Future<String> stuck = executor.submit(() -> cache.get("k", blockingLoader("slow")));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		assertEquals("fast", cache.get("k", () -> {
+			cache.evict("k");
+			return "fast";
+		}));
+		assertNull(cache.get("k"));
+
+		release.countDown();
+		assertEquals("slow", stuck.get(5, TimeUnit.SECONDS));
+		assertNull(cache.get("k"));
+	}
+
+	@Test
+	void failedLoadReachesWaitersAndIsNotCached() throws Exception {
+		TwoTierCache cache = cache(LOAD_TIMEOUT);
+		Future<String> failing = executor.submit(() -> cache.get("k", () -> {
+			started.countDown();
+			release.await();
+			throw new IllegalStateException("database down");
+		}));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		Future<String> waiting = executor.submit(() -> cache.get("k", countingLoader("unused")));
+		Thread.sleep(100);
+		release.countDown();
+
+		assertInstanceOf(Cache.ValueRetrievalException.class, cause(failing));
+		assertInstanceOf(Cache.ValueRetrievalException.class, cause(waiting));
+		assertEquals(0, loads.get());
+		assertEquals("fresh", cache.get("k", countingLoader("fresh")));
+	}
+
+	@Test
+	void nullResultIsReturnedButNotCached() {
+		TwoTierCache cache = cache(LOAD_TIMEOUT);
+
+		assertNull(cache.get("k", () -> null));
+
+		assertNull(cache.get("k"));
+		assertEquals("v", cache.get("k", countingLoader("v")));
+	}
+
+	/** Runs a load of {@code key} returning "stale", and {@code during} while it is blocked. */
+	private Object loadWhile(TwoTierCache cache, String key, Runnable during) throws Exception {
+		Future<String> load = executor.submit(() -> cache.get(key, blockingLoader("stale")));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		during.run();
+		release.countDown();
+		return load.get(5, TimeUnit.SECONDS);
+	}
+
+	private Callable<String> blockingLoader(String value) {
+		return () -> {
+			loads.incrementAndGet();
+			started.countDown();
+			release.await();
+			return value;
+		};
+	}
+
+	private Callable<String> countingLoader(String value) {
+		return () -> {
+			loads.incrementAndGet();
+			return value;
+		};
+	}
+
+	private static Throwable cause(Future<?> future) {
+		ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+		return e.getCause();
+	}
+
+	private static TwoTierCache cache(Duration loadTimeout) {
+		return new TwoTierCache("hoardings", Caffeine.newBuilder().build(), new TagIndex(),
+				(key, value) -> Set.of(OWNER_7), new NoSharedCacheStore(), new LocalInvalidationBus(),
+				"here", loadTimeout);
+	}
+}
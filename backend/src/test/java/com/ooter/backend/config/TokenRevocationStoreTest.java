@@ -0,0 +1,134 @@
+package com.ooter.backend.config;
+
+import com.ooter.backend.cache.LocalInvalidationBus;
+import com.ooter.backend.entity.RevokedToken;
+import com.ooter.backend.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares {@link TokenRevocationStore} with a plain map of revoked digests. The Bloom filter
+ * is kept at its 64-bit minimum so most lookups get past it and reach the buckets.
+ */
+class TokenRevocationStoreTest {
+
+	private static final int TINY_BLOOM = 64;
+
+	private final LocalInvalidationBus bus = new LocalInvalidationBus();
+	private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+
+	@Test
+	void matchesRevokedSetForRandomTokens() {
+		Random random = new Random(43);
+		TokenRevocationStore store = new TokenRevocationStore(bus, repository, Duration.ofMinutes(1), TINY_BLOOM);
+		long now = System.currentTimeMillis();
+		Map<String, Long> tokens = new HashMap<>();
+		Map<String, Long> revoked = new HashMap<>();
+		for (int i = 0; i < 3000; i++) {
+			String digest = randomDigest(random);
+			long expiresAt = now + 60_000 + random.nextInt(3_600_000);
+			tokens.put(digest, expiresAt);
+			if (random.nextBoolean()) {
+				store.revoke(digest, expiresAt);
+				revoked.put(digest, expiresAt);
+			}
+		}
+
+		for (Map.Entry<String, Long> token : tokens.entrySet()) {
+			assertEquals(revoked.containsKey(token.getKey()), store.isRevoked(token.getKey(), token.getValue()),
+					token.getKey());
+		}
+	}
+
+	@Test
+	void ignoresTokensThatAlreadyExpired() {
+		TokenRevocationStore store = new TokenRevocationStore(bus, repository, Duration.ofMinutes(1), TINY_BLOOM);
+		String digest = randomDigest(new Random(47));
+		long expired = System.currentTimeMillis() - 1;
+
+		store.revoke(digest, expired);
+
+		assertFalse(store.isRevoked(digest, expired));
+	}
+
+	@Test
+	void purgeDropsExpiredBucketsAndKeepsLiveRevocations() throws InterruptedException {
+		Random random = new Random(53);
+		TokenRevocationStore store = new TokenRevocationStore(bus, repository, Duration.ofMillis(20), TINY_BLOOM);
+		long now = System.currentTimeMillis();
+		Map<String, Long> shortLived = new HashMap<>();
+		Map<String, Long> longLived = new HashMap<>();
+		for (int i = 0; i < 200; i++) {
+			String digest = randomDigest(random);
+			long expiresAt = i % 2 == 0 ? now + 100 + random.nextInt(50) : now + 60_000 + random.nextInt(60_000);
+			store.revoke(digest, expiresAt);
+			(i % 2 == 0 ? shortLived : longLived).put(digest, expiresAt);
+		}
+
+		Thread.sleep(300);
+		store.purge();
+
+		// The rebuilt Bloom filter must still hold every revocation that is still live.
+		longLived.forEach((digest, expiresAt) -> assertTrue(store.isRevoked(digest, expiresAt), digest));
+		shortLived.forEach((digest, expiresAt) -> assertFalse(store.isRevoked(digest, expiresAt), digest));
+	}
+
+	@Test
+	void revocationsReachOtherInstancesOverTheBus() {
+		TokenRevocationStore first = new TokenRevocationStore(bus, repository, Duration.ofMinutes(1), TINY_BLOOM);
+		TokenRevocationStore second = new TokenRevocationStore(bus, repository, Duration.ofMinutes(1), TINY_BLOOM);
+		Random random = new Random(59);
+		String digest = randomDigest(random);
+		String other = randomDigest(random);
+		long expiresAt = System.currentTimeMillis() + 3_600_000;
+
+		first.revoke(digest, expiresAt);
+
+		assertTrue(first.isRevoked(digest, expiresAt));
+		assertTrue(second.isRevoked(digest, expiresAt));
+		assertFalse(second.isRevoked(other, expiresAt));
+	}
+
+	@Test
+	void loadsStoredRevocationsAndPicksUpLaterOnesOnSync() {
+		Random random = new Random(61);
+		Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+		List<RevokedToken> stored = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			stored.add(new RevokedToken(randomDigest(random), expiresAt, Instant.now()));
+		}
+		RevokedToken missedOnTheBus = new RevokedToken(randomDigest(random), expiresAt, Instant.now());
+		when(repository.findByExpiresAtAfter(any())).thenReturn(stored);
+		when(repository.findByRevokedAtAfterAndExpiresAtAfter(any(), any())).thenReturn(List.of(missedOnTheBus));
+		TokenRevocationStore store = new TokenRevocationStore(bus, repository, Duration.ofMinutes(1), TINY_BLOOM);
+
+		store.load();
+		stored.forEach(row -> assertTrue(store.isRevoked(row.getDigest(), expiresAt.toEpochMilli())));
+		assertFalse(store.isRevoked(missedOnTheBus.getDigest(), expiresAt.toEpochMilli()));
+
+		store.sync();
+		assertTrue(store.isRevoked(missedOnTheBus.getDigest(), expiresAt.toEpochMilli()));
+	}
+
+	/** Same shape as {@link JwtUtil#digest}: 64 hex characters. */
+	private static String randomDigest(Random random) {
+		byte[] bytes = new byte[32];
+		random.nextBytes(bytes);
+		return HexFormat.of().formatHex(bytes);
+	}
+}
@@ -0,0 +1,142 @@
+package com.ooter.backend.repository;
+
+import com.ooter.backend.entity.Hoarding;
+import com.ooter.backend.entity.HoardingCategory;
+import com.ooter.backend.entity.HoardingStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.jpa.domain.Specification;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN with sequential scans disabled on the keyset page query each filter
+ * produces ({@link HoardingRepository#findPageAfter}), against a throwaway Postgres whose
+ * schema Hibernate creates from the entity mappings. A filter whose index is missing or
+ * unusable for that query fails here instead of slowly in production. Needs Docker.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+				+ "com.ooter.backend.repository.HoardingQueryPlanTest$CapturingInspector",
+		"spring.datasource.hikari.data-source-properties.sslmode=disable",
+		"spring.datasource.hikari.data-source-properties.ssl=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+class HoardingQueryPlanTest {
+
+	// 16+ for EXPLAIN (GENERIC_PLAN), which plans the statement without bind values.
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	private static final int PAGE_SIZE = 50;
+
+	@Autowired
+	private HoardingRepository hoardingRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	public static class CapturingInspector implements StatementInspector {
+
+		static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+		@Override
+		public String inspect(String sql) {
+			List<String> captured = CAPTURED.get();
+			if (captured != null) {
+				captured.add(sql);
+			}
+			return sql;
+		}
+	}
+
+	static Stream<Arguments> filters() {
+		return Stream.of(
+				Arguments.of("city", HoardingSpecifications.cityIs("mumbai"), "idx_hoarding_city_key_id"),
+				Arguments.of("category", HoardingSpecifications.categoryIs(HoardingCategory.RECOMMENDED),
+						"idx_hoarding_category_id"),
+				Arguments.of("status", HoardingSpecifications.statusIn(Set.of(HoardingStatus.ACTIVE)),
+						"idx_hoarding_status_id"),
+				Arguments.of("owner", HoardingSpecifications.ownerIs(1L), "idx_hoarding_owner_id"),
+				Arguments.of("price", HoardingSpecifications.priceBetween(1000.0, 50000.0), "idx_hoarding_price"),
+				Arguments.of("size", HoardingSpecifications.sizeIs("20x10"), "idx_hoarding_size_id"),
+				Arguments.of("siteType", HoardingSpecifications.siteTypeIs("Billboard"), "idx_hoarding_site_type_id"),
+				Arguments.of("material", HoardingSpecifications.materialIs("Vinyl"), "idx_hoarding_material_id"));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("filters")
+	void pageQueryUsesFilterIndex(String name, Specification<Hoarding> filter, String index) throws Exception {
+		String sql = capturePageSql(filter);
+		assertNotNull(sql, "no SQL captured for " + name);
+
+		String plan = explain(sql);
+		assertFalse(plan.contains("Seq Scan on hoarding"), name + " filter is not index-backed:\n" + plan);
+		assertTrue(plan.contains(index), name + " filter does not use " + index + ":\n" + plan);
+	}
+
+	private String capturePageSql(Specification<Hoarding> filter) {
+		List<String> captured = new ArrayList<>();
+		CapturingInspector.CAPTURED.set(captured);
+		try {
+			hoardingRepository.findPageAfter(filter, 0L, PAGE_SIZE);
+		} finally {
+			CapturingInspector.CAPTURED.remove();
+		}
+		return captured.stream().filter(s -> s.contains(" from hoarding ")).findFirst().orElse(null);
+	}
+
+	private String explain(String sql) throws Exception {
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+			StringBuilder plan = new StringBuilder();
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("SET LOCAL enable_seqscan = off");
+				try (ResultSet rows = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql))) {
+					while (rows.next()) {
+						plan.append(rows.getString(1)).append('\n');
+					}
+				}
+			} finally {
+				connection.rollback();
+			}
+			return plan.toString();
+		}
+	}
+
+	/** Rewrites JDBC {@code ?} placeholders as the {@code $n} parameters GENERIC_PLAN expects. */
+	private static String numberParameters(String sql) {
+		StringBuilder numbered = new StringBuilder(sql.length() + 8);
+		int n = 0;
+		for (int i = 0; i < sql.length(); i++) {
+			char c = sql.charAt(i);
+			if (c == '?') {
+				numbered.append('$').append(++n);
+			} else {
+				numbered.append(c);
+			}
+		}
+		return numbered.toString();
+	}
+}
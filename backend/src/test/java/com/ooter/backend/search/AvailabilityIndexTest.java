@@ -0,0 +1,158 @@
+package com.ooter.backend.search;
+
+import com.ooter.backend.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares {@link AvailabilityIndex#isFree} with an overlap check against every booking that
+ * currently holds its dates.
+ */
+class AvailabilityIndexTest {
+
+	private static final LocalDate DAY_ZERO = LocalDate.of(2025, 1, 1);
+	private static final int HOARDINGS = 8;
+	private static final int DAYS = 60;
+
+	private final BookingRepository bookingRepository = mock(BookingRepository.class);
+	private final AvailabilityIndex index = new AvailabilityIndex(bookingRepository);
+
+	@Test
+	void matchesOverlapScanThroughRandomBookingChanges() {
+		Random random = new Random(29);
+		Map<Long, BookingSpan> holding = new HashMap<>();
+		for (int step = 0; step < 2000; step++) {
+			long bookingId = 1 + random.nextInt(120);
+			BookingSpan span = randomSpan(random, bookingId);
+			// Cancellations, new bookings, changed dates and bookings moved to another hoarding.
+			boolean blocking = random.nextInt(4) != 0;
+			index.onBookingChanged(new BookingChangedEvent(span, blocking));
+			if (blocking) {
+				holding.put(bookingId, span);
+			} else {
+				holding.remove(bookingId);
+			}
+			if (step % 100 == 0) {
+				assertFreeMatchesScan(random, holding);
+			}
+		}
+		assertFreeMatchesScan(random, holding);
+	}
+
+	@Test
+	void mergesOverlappingAndTouchingBookings() {
+		book(1, 1, 1, 5);
+		book(2, 1, 6, 10);
+		book(3, 1, 3, 4);
+		book(4, 1, 20, 30);
+		book(5, 1, 25, 26);
+
+		assertFalse(isFree(1, 5, 5));
+		assertFalse(isFree(1, 6, 6));
+		assertFalse(isFree(1, 10, 19));
+		assertTrue(isFree(1, 11, 19));
+		assertFalse(isFree(1, 0, 1));
+		assertTrue(isFree(1, 31, 40));
+
+		// Cancelling the long booking leaves the shorter one inside it in place.
+		cancel(4, 1, 20, 30);
+		assertTrue(isFree(1, 20, 24));
+		assertFalse(isFree(1, 26, 26));
+		assertTrue(isFree(1, 27, 30));
+		assertTrue(isFree(2, 1, 60));
+	}
+
+	@Test
+	void movingABookingReleasesTheOldHoarding() {
+		book(1, 1, 10, 12);
+
+		book(1, 2, 10, 12);
+
+		assertTrue(isFree(1, 10, 12));
+		assertFalse(isFree(2, 12, 14));
+	}
+
+	@Test
+	void pruneDropsOnlyBookingsThatEndedBeforeToday() {
+		book(1, 1, 1, 9);
+		book(2, 1, 5, 10);
+		book(3, 2, 2, 3);
+		book(4, 3, 20, 25);
+
+		assertEquals(2, index.pruneEndedBefore(day(10)));
+
+		assertTrue(isFree(1, 1, 4));
+		assertFalse(isFree(1, 10, 10));
+		assertTrue(isFree(2, 0, DAYS));
+		assertFalse(isFree(3, 20, 20));
+		assertEquals(0, index.pruneEndedBefore(day(10)));
+	}
+
+	@Test
+	void seedingKeepsChangesThatArrivedWhileItRan() {
+		when(bookingRepository.findBlockingSpans(any(), any())).thenReturn(List.of(
+				span(1, 1, 1, 5), span(2, 1, 10, 12), span(3, 2, 1, 5)));
+		// Written after the seed query read its rows, but delivered before seeding finished.
+		cancel(2, 1, 10, 12);
+		book(3, 2, 20, 22);
+
+		index.seed();
+
+		assertTrue(index.isReady());
+		assertFalse(isFree(1, 5, 5));
+		assertTrue(isFree(1, 10, 12));
+		assertTrue(isFree(2, 1, 5));
+		assertFalse(isFree(2, 21, 21));
+	}
+
+	private void assertFreeMatchesScan(Random random, Map<Long, BookingSpan> holding) {
+		for (int i = 0; i < 300; i++) {
+			long hoardingId = 1 + random.nextInt(HOARDINGS + 1);
+			int from = random.nextInt(DAYS + 10) - 5;
+			int to = from + random.nextInt(random.nextBoolean() ? 3 : 20);
+			boolean expected = holding.values().stream()
+					.noneMatch(s -> s.hoardingId() == hoardingId
+							&& !s.startDate().isAfter(day(to)) && !s.endDate().isBefore(day(from)));
+			assertEquals(expected, isFree(hoardingId, from, to),
+					"hoarding " + hoardingId + " days " + from + ".." + to);
+		}
+	}
+
+	private void book(long bookingId, long hoardingId, int start, int end) {
+		index.onBookingChanged(new BookingChangedEvent(span(bookingId, hoardingId, start, end), true));
+	}
+
+	private void cancel(long bookingId, long hoardingId, int start, int end) {
+		index.onBookingChanged(new BookingChangedEvent(span(bookingId, hoardingId, start, end), false));
+	}
+
+	private boolean isFree(long hoardingId, int from, int to) {
+		return index.isFree(hoardingId, day(from), day(to));
+	}
+
+	private static BookingSpan randomSpan(Random random, long bookingId) {
+		int start = random.nextInt(DAYS);
+		int end = start + (random.nextInt(5) == 0 ? 0 : random.nextInt(10));
+		return span(bookingId, 1 + random.nextInt(HOARDINGS), start, end);
+	}
+
+	private static BookingSpan span(long bookingId, long hoardingId, int start, int end) {
+		return new BookingSpan(bookingId, hoardingId, day(start), day(end));
+	}
+
+	private static LocalDate day(int offset) {
+		return DAY_ZERO.plusDays(offset);
+	}
+}
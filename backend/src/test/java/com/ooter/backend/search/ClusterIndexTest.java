@@ -0,0 +1,215 @@
+package com.ooter.backend.search;
+
+import com.ooter.backend.entity.HoardingCategory;
+import com.ooter.backend.entity.HoardingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares {@link ClusterIndex} with grouping every located hoarding into its Web Mercator
+ * cell from scratch, after rebuilds and after incremental writes.
+ */
+class ClusterIndexTest {
+
+	private static final double MAX_LATITUDE = 85.05112878;
+	private static final int CELL_BITS = 3;
+
+	/** South, west, north, east. */
+	private static final double[][] BOXES = {
+			{-90, -180, 90, 180},
+			{8, 68, 35, 97},
+			{18.9, 72.7, 19.3, 73.1},
+			{-60, 170, 60, -170},
+			{80, -180, 90, 180},
+			{-10, 100, 10, 100.5},
+			{0, -190, 10, 190}};
+
+	private final ClusterIndex index = new ClusterIndex();
+
+	@Test
+	void matchesGroupingForEveryZoomAndBox() {
+		Random random = new Random(31);
+		Map<Long, HoardingSnapshot> catalog = randomCatalog(random, 3000);
+		index.rebuild(catalog.values());
+
+		assertClustersMatch(index, catalog);
+	}
+
+	@Test
+	void incrementalWritesMatchARebuild() {
+		Random random = new Random(37);
+		Map<Long, HoardingSnapshot> catalog = randomCatalog(random, 1500);
+		index.rebuild(catalog.values());
+
+		for (int step = 0; step < 3000; step++) {
+			long id = 1 + random.nextInt(1800);
+			HoardingSnapshot previous = catalog.get(id);
+			int action = random.nextInt(4);
+			if (action == 0 && previous != null) {
+				index.remove(catalog.remove(id));
+			} else if (action == 1 && previous != null) {
+				// Same spot, new price: exercises recomputing a cell's price range.
+				HoardingSnapshot repriced = withPrice(previous, random.nextInt(100_000));
+				catalog.put(id, repriced);
+				index.upsert(previous, repriced);
+			} else {
+				HoardingSnapshot current = randomSnapshot(random, id);
+				catalog.put(id, current);
+				index.upsert(previous, current);
+			}
+		}
+
+		ClusterIndex rebuilt = new ClusterIndex();
+		rebuilt.rebuild(catalog.values());
+		assertClustersMatch(index, catalog);
+		assertClustersMatch(rebuilt, catalog);
+	}
+
+	@Test
+	void worldBoxCountsEveryLocatedHoardingAtEveryZoom() {
+		Random random = new Random(41);
+		Map<Long, HoardingSnapshot> catalog = randomCatalog(random, 2000);
+		index.rebuild(catalog.values());
+		long located = catalog.values().stream().filter(HoardingSnapshot::hasLocation).count();
+
+		for (int zoom = -1; zoom <= ClusterIndex.MAX_ZOOM + 2; zoom++) {
+			List<ClusterIndex.Cluster> clusters = index.clusters(-90, -180, 90, 180, zoom);
+			assertTrue(clusters.size() <= ClusterIndex.MAX_CLUSTERS, "zoom " + zoom);
+			assertEquals(located, clusters.stream().mapToLong(ClusterIndex.Cluster::count).sum(), "zoom " + zoom);
+		}
+	}
+
+	@Test
+	void emptyIndexAndEmptyBoxReturnNothing() {
+		assertTrue(index.clusters(-90, -180, 90, 180, 5).isEmpty());
+
+		index.rebuild(List.of(snapshot(1, 19.07, 72.87, 10_000)));
+		assertTrue(index.clusters(-10, -10, 10, 10, 12).isEmpty());
+		assertEquals(List.of(new ClusterIndex.Cluster(19.07, 72.87, 1, 10_000, 10_000)),
+				index.clusters(19, 72, 20, 73, 12));
+	}
+
+	private void assertClustersMatch(ClusterIndex clusterIndex, Map<Long, HoardingSnapshot> catalog) {
+		for (double[] box : BOXES) {
+			for (int zoom = 0; zoom <= ClusterIndex.MAX_ZOOM; zoom += 2) {
+				String query = "box " + box[0] + "," + box[1] + "," + box[2] + "," + box[3] + " zoom " + zoom;
+				int level = zoom + CELL_BITS;
+				Map<Long, Expected> expected = group(catalog, box, level);
+				while (expected.size() > ClusterIndex.MAX_CLUSTERS && level > 0) {
+					expected = group(catalog, box, --level);
+				}
+
+				List<ClusterIndex.Cluster> clusters = clusterIndex.clusters(box[0], box[1], box[2], box[3], zoom);
+
+				Map<Long, ClusterIndex.Cluster> actual = new TreeMap<>();
+				for (ClusterIndex.Cluster c : clusters) {
+					actual.put(key(cellX(c.longitude(), level), cellY(c.latitude(), level)), c);
+				}
+				assertEquals(expected.keySet(), actual.keySet(), query);
+				for (Map.Entry<Long, Expected> e : expected.entrySet()) {
+					Expected want = e.getValue();
+					ClusterIndex.Cluster got = actual.get(e.getKey());
+					assertEquals(want.count, got.count(), query);
+					assertEquals(want.sumLat / want.count, got.latitude(), 1e-6, query);
+					assertEquals(want.sumLng / want.count, got.longitude(), 1e-6, query);
+					assertEquals(want.minPrice, got.minPrice(), 0, query);
+					assertEquals(want.maxPrice, got.maxPrice(), 0, query);
+				}
+			}
+		}
+	}
+
+	private static final class Expected {
+		int count;
+		double sumLat;
+		double sumLng;
+		double minPrice = Double.POSITIVE_INFINITY;
+		double maxPrice = Double.NEGATIVE_INFINITY;
+	}
+
+	/** Every located hoarding whose cell at {@code level} falls inside the box, per cell. */
+	private static Map<Long, Expected> group(Map<Long, HoardingSnapshot> catalog, double[] box, int level) {
+		int size = 1 << level;
+		int x0 = box[1] <= -180 ? 0 : cellX(box[1], level);
+		int x1 = box[3] >= 180 ? size - 1 : cellX(box[3], level);
+		int y0 = cellY(box[2], level);
+		int y1 = cellY(box[0], level);
+		boolean wraps = box[1] > box[3];
+		Map<Long, Expected> cells = new HashMap<>();
+		for (HoardingSnapshot s : catalog.values()) {
+			if (!s.hasLocation()) {
+				continue;
+			}
+			int x = cellX(s.longitude(), level);
+			int y = cellY(s.latitude(), level);
+			boolean inX = wraps ? x >= x0 || x <= x1 : x >= x0 && x <= x1;
+			if (inX && y >= y0 && y <= y1) {
+				Expected cell = cells.computeIfAbsent(key(x, y), k -> new Expected());
+				cell.count++;
+				cell.sumLat += s.latitude();
+				cell.sumLng += s.longitude();
+				cell.minPrice = Math.min(cell.minPrice, s.pricePerMonth());
+				cell.maxPrice = Math.max(cell.maxPrice, s.pricePerMonth());
+			}
+		}
+		return cells;
+	}
+
+	private static long key(int x, int y) {
+		return ((long) x << 32) | y;
+	}
+
+	private static int cellX(double lng, int level) {
+		int size = 1 << level;
+		double normalized = ((lng + 180.0) % 360.0 + 360.0) % 360.0 / 360.0;
+		return Math.min(size - 1, (int) (normalized * size));
+	}
+
+	private static int cellY(double lat, int level) {
+		int size = 1 << level;
+		double rad = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat)));
+		double y = (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2;
+		return Math.max(0, Math.min(size - 1, (int) (y * size)));
+	}
+
+	/** Mostly around Mumbai and across India, some anywhere, some polar by the antimeridian, some unlocated. */
+	private static Map<Long, HoardingSnapshot> randomCatalog(Random random, int size) {
+		Map<Long, HoardingSnapshot> catalog = new HashMap<>();
+		for (long id = 1; id <= size; id++) {
+			catalog.put(id, randomSnapshot(random, id));
+		}
+		return catalog;
+	}
+
+	private static HoardingSnapshot randomSnapshot(Random random, long id) {
+		double price = random.nextInt(100_000);
+		return switch (random.nextInt(10)) {
+			case 0 -> snapshot(id, null, null, price);
+			case 1 -> snapshot(id, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180, price);
+			case 2 -> snapshot(id, (random.nextBoolean() ? 1 : -1) * (80 + random.nextDouble() * 10),
+					random.nextDouble() * 10 + (random.nextBoolean() ? 170 : -180), price);
+			case 3, 4, 5 -> snapshot(id, 18.9 + random.nextDouble() * 0.4, 72.7 + random.nextDouble() * 0.4, price);
+			default -> snapshot(id, 8 + random.nextDouble() * 27, 68 + random.nextDouble() * 29, price);
+		};
+	}
+
+	private static HoardingSnapshot withPrice(HoardingSnapshot s, double price) {
+		return snapshot(s.id(), s.latitude(), s.longitude(), price);
+	}
+
+	private static HoardingSnapshot snapshot(long id, Double lat, Double lng, double price) {
+		return new HoardingSnapshot(id, 1L, "Location " + id, "City", null, null, null, null, lat, lng,
+				HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED, price, null, null, null,
+				false, false, false, Instant.EPOCH);
+	}
+}
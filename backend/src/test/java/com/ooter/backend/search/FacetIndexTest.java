@@ -0,0 +1,251 @@
+package com.ooter.backend.search;
+
+import com.ooter.backend.entity.HoardingCategory;
+import com.ooter.backend.entity.HoardingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.LongPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Compares {@link FacetIndex} results and disjunctive counts with a scan that filters every
+ * listing directly, including after enough removals to trigger ordinal compaction.
+ */
+class FacetIndexTest {
+
+	private static final FacetIndex.Facet[] FACETS = FacetIndex.Facet.values();
+	private static final String[] CITIES = {"mumbai", "pune", "delhi", "nagpur"};
+	private static final String[] SITE_TYPES = {"billboard", "unipole", "gantry"};
+
+	private final FacetIndex index = new FacetIndex();
+
+	@Test
+	void matchesScanForRandomFilters() {
+		Random random = new Random(19);
+		Map<Long, HoardingSnapshot> catalog = new TreeMap<>();
+		for (long id = 1; id <= 500; id++) {
+			catalog.put(id, randomSnapshot(random, id));
+		}
+		index.rebuild(catalog.values());
+
+		assertFiltersMatch(random, catalog);
+	}
+
+	@Test
+	void staysConsistentThroughUpsertsRemovalsAndCompaction() {
+		Random random = new Random(23);
+		Map<Long, HoardingSnapshot> catalog = new TreeMap<>();
+		for (long id = 1; id <= 800; id++) {
+			catalog.put(id, randomSnapshot(random, id));
+		}
+		index.rebuild(catalog.values());
+
+		// Removing most listings leaves far more dead ordinals than live ones, which compacts.
+		long nextId = 801;
+		for (int step = 0; step < 1500; step++) {
+			int action = random.nextInt(5);
+			if (action < 3 && !catalog.isEmpty()) {
+				List<Long> ids = new ArrayList<>(catalog.keySet());
+				index.remove(catalog.remove(ids.get(random.nextInt(ids.size()))));
+			} else if (action == 3 && !catalog.isEmpty()) {
+				List<Long> ids = new ArrayList<>(catalog.keySet());
+				long id = ids.get(random.nextInt(ids.size()));
+				HoardingSnapshot updated = randomSnapshot(random, id);
+				index.upsert(catalog.put(id, updated), updated);
+			} else {
+				HoardingSnapshot added = randomSnapshot(random, nextId++);
+				catalog.put(added.id(), added);
+				index.upsert(null, added);
+			}
+			if (step % 300 == 0) {
+				assertFiltersMatch(random, catalog);
+			}
+		}
+		assertFiltersMatch(random, catalog);
+	}
+
+	@Test
+	void pagesThroughResultsInIdOrder() {
+		List<HoardingSnapshot> catalog = new ArrayList<>();
+		for (long id = 10; id >= 1; id--) {
+			catalog.add(snapshot(id, "pune", HoardingStatus.ACTIVE, 5_000));
+		}
+		index.rebuild(catalog);
+		Map<FacetIndex.Facet, List<String>> none = Map.of();
+
+		assertEquals(List.of(1L, 2L, 3L), index.search(none, 0, 3, id -> true).ids());
+		assertEquals(List.of(9L, 10L), index.search(none, 8, 3, id -> true).ids());
+		assertEquals(List.of(), index.search(none, 10, 3, id -> true).ids());
+		assertEquals(List.of(), index.search(none, 0, 0, id -> true).ids());
+		assertEquals(10, index.search(none, 10, 3, id -> true).total());
+	}
+
+	@Test
+	void matchesValuesIgnoringCaseAndKeepsSelectedValuesWithoutResults() {
+		index.rebuild(List.of(
+				snapshot(1, "Pune", HoardingStatus.ACTIVE, 5_000),
+				snapshot(2, " PUNE ", HoardingStatus.BOOKED, 30_000),
+				snapshot(3, "Delhi", HoardingStatus.BOOKED, 30_000)));
+
+		FacetIndex.Result result = index.search(Map.of(
+				FacetIndex.Facet.CITY, List.of("pune"),
+				FacetIndex.Facet.STATUS, List.of("ACTIVE")), 0, 10, id -> true);
+
+		assertEquals(List.of(1L), result.ids());
+		assertEquals(Map.of("Pune", 1), result.facets().get("city"));
+		assertEquals(List.of("ACTIVE", "BOOKED"), List.copyOf(result.facets().get("status").keySet()));
+
+		FacetIndex.Result none = index.search(Map.of(
+				FacetIndex.Facet.CITY, List.of("delhi"),
+				FacetIndex.Facet.STATUS, List.of("active")), 0, 10, id -> true);
+		assertEquals(List.of(), none.ids());
+		assertEquals(List.of(Map.entry("BOOKED", 1), Map.entry("ACTIVE", 0)),
+				List.copyOf(none.facets().get("status").entrySet()));
+		assertEquals("Pune", index.label(FacetIndex.Facet.CITY, "PUNE"));
+		assertNull(index.label(FacetIndex.Facet.CITY, "nagpur"));
+	}
+
+	@Test
+	void bucketsPricesByLowerBound() {
+		assertEquals("0-10000", FacetIndex.priceBucket(0));
+		assertEquals("0-10000", FacetIndex.priceBucket(9_999.99));
+		assertEquals("10000-25000", FacetIndex.priceBucket(10_000));
+		assertEquals("100000-250000", FacetIndex.priceBucket(249_999));
+		assertEquals("250000+", FacetIndex.priceBucket(250_000));
+	}
+
+	private void assertFiltersMatch(Random random, Map<Long, HoardingSnapshot> catalog) {
+		for (int i = 0; i < 60; i++) {
+			Map<FacetIndex.Facet, List<String>> filters = randomFilters(random);
+			LongPredicate accept = i % 3 == 0 ? id -> id % 3 != 0 : id -> true;
+			int offset = random.nextInt(3) == 0 ? random.nextInt(50) : 0;
+			int limit = 1 + random.nextInt(40);
+
+			FacetIndex.Result result = index.search(filters, offset, limit, accept);
+
+			List<Long> matches = catalog.values().stream()
+					.filter(s -> accept.test(s.id()) && matchesAllExcept(s, filters, null))
+					.map(HoardingSnapshot::id)
+					.toList();
+			String query = filters + " offset " + offset + " limit " + limit;
+			assertEquals(matches.size(), result.total(), query);
+			assertEquals(matches.subList(Math.min(offset, matches.size()), Math.min(offset + limit, matches.size())),
+					result.ids(), query);
+			for (FacetIndex.Facet facet : FACETS) {
+				assertEquals(List.copyOf(scanCounts(catalog, filters, facet, accept).entrySet()),
+						List.copyOf(result.facets().get(facet.param()).entrySet()), query + " facet " + facet);
+			}
+		}
+	}
+
+	/** Counts every value of the facet against all filters but its own, largest first. */
+	private static Map<String, Integer> scanCounts(Map<Long, HoardingSnapshot> catalog,
+												   Map<FacetIndex.Facet, List<String>> filters,
+												   FacetIndex.Facet facet, LongPredicate accept) {
+		Map<String, Integer> counts = new HashMap<>();
+		for (HoardingSnapshot s : catalog.values()) {
+			String value = valueOf(s, facet);
+			if (value == null) {
+				continue;
+			}
+			counts.merge(value, 0, Integer::sum);
+			if (accept.test(s.id()) && matchesAllExcept(s, filters, facet)) {
+				counts.merge(value, 1, Integer::sum);
+			}
+		}
+		List<String> selected = filters.getOrDefault(facet, List.of());
+		Map<String, Integer> sorted = new LinkedHashMap<>();
+		counts.entrySet().stream()
+				.filter(e -> e.getValue() > 0 || selected.contains(e.getKey()))
+				.sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+						.thenComparing(Map.Entry.comparingByKey()))
+				.forEach(e -> sorted.put(e.getKey(), e.getValue()));
+		return sorted;
+	}
+
+	private static boolean matchesAllExcept(HoardingSnapshot s, Map<FacetIndex.Facet, List<String>> filters,
+											FacetIndex.Facet skip) {
+		for (Map.Entry<FacetIndex.Facet, List<String>> filter : filters.entrySet()) {
+			if (filter.getKey() != skip && !filter.getValue().isEmpty()
+					&& !filter.getValue().contains(valueOf(s, filter.getKey()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String valueOf(HoardingSnapshot s, FacetIndex.Facet facet) {
+		return switch (facet) {
+			case CATEGORY -> s.category().name();
+			case STATUS -> s.status().name();
+			case CITY -> s.city();
+			case STATE -> s.state();
+			case SITE_TYPE -> s.siteType();
+			case MATERIAL -> s.material();
+			case SCREEN_TYPE -> s.screenType();
+			case PRICE -> FacetIndex.priceBucket(s.pricePerMonth());
+			case EYE_CATCHING -> String.valueOf(s.eyeCatching());
+			case MAIN_HIGHWAY -> String.valueOf(s.mainHighway());
+			case VERIFIED_PROPERTY -> String.valueOf(s.verifiedProperty());
+		};
+	}
+
+	/** Zero to three facets with one or two values each; an empty value list does not filter. */
+	private static Map<FacetIndex.Facet, List<String>> randomFilters(Random random) {
+		Map<FacetIndex.Facet, List<String>> filters = new EnumMap<>(FacetIndex.Facet.class);
+		int count = random.nextInt(4);
+		for (int i = 0; i < count; i++) {
+			FacetIndex.Facet facet = FACETS[random.nextInt(FACETS.length)];
+			List<String> values = new ArrayList<>();
+			int n = random.nextInt(3);
+			for (int v = 0; v < n; v++) {
+				values.add(randomValue(random, facet));
+			}
+			filters.put(facet, values);
+		}
+		return filters;
+	}
+
+	private static String randomValue(Random random, FacetIndex.Facet facet) {
+		return switch (facet) {
+			case CATEGORY -> pick(random, HoardingCategory.values()).name();
+			case STATUS -> pick(random, HoardingStatus.values()).name();
+			case CITY -> pick(random, CITIES);
+			case STATE -> "maharashtra";
+			case SITE_TYPE -> pick(random, SITE_TYPES);
+			case MATERIAL, SCREEN_TYPE -> random.nextBoolean() ? "vinyl" : "led";
+			case PRICE -> FacetIndex.priceBucket(random.nextInt(300_000));
+			case EYE_CATCHING, MAIN_HIGHWAY, VERIFIED_PROPERTY -> String.valueOf(random.nextBoolean());
+		};
+	}
+
+	private static <T> T pick(Random random, T[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	private static HoardingSnapshot randomSnapshot(Random random, long id) {
+		return new HoardingSnapshot(id, 1L, "Location " + id, pick(random, CITIES),
+				random.nextBoolean() ? "maharashtra" : null, null, null, null, null, null,
+				pick(random, HoardingStatus.values()), pick(random, HoardingCategory.values()),
+				random.nextInt(300_000), random.nextInt(4) == 0 ? null : pick(random, SITE_TYPES),
+				random.nextBoolean() ? "vinyl" : null, random.nextBoolean() ? "led" : null,
+				random.nextBoolean(), random.nextBoolean(), random.nextBoolean(), Instant.EPOCH);
+	}
+
+	private static HoardingSnapshot snapshot(long id, String city, HoardingStatus status, double price) {
+		return new HoardingSnapshot(id, 1L, "Location " + id, city, null, null, null, null, null, null,
+				status, HoardingCategory.RECOMMENDED, price, null, null, null,
+				false, false, false, Instant.EPOCH);
+	}
+}
@@ -0,0 +1,174 @@
+package com.ooter.backend.search;
+
+import com.ooter.backend.entity.HoardingCategory;
+import com.ooter.backend.entity.HoardingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares {@link NearestHoardingIndex} and its {@link KdTree} with a brute-force scan
+ * ordered by haversine distance.
+ */
+class NearestHoardingIndexTest {
+
+	private static final HoardingStatus[] STATUSES = HoardingStatus.values();
+	private static final HoardingCategory[] CATEGORIES = HoardingCategory.values();
+
+	private final NearestHoardingIndex index = new NearestHoardingIndex();
+
+	@Test
+	void matchesBruteForceAcrossTheGlobe() {
+		Random random = new Random(7);
+		List<HoardingSnapshot> catalog = randomCatalog(random, 600);
+		index.rebuild(catalog);
+
+		double[][] queries = {
+				{19.07, 72.87}, {89.9, 0}, {-89.9, 45}, {0, 179.99}, {0, -179.99}, {-33.9, 151.2}};
+		for (double[] q : queries) {
+			for (int k : new int[]{1, 7, 50, catalog.size() + 10}) {
+				assertNearest(catalog, q[0], q[1], k, null, null, id -> true);
+			}
+		}
+		for (int i = 0; i < 50; i++) {
+			assertNearest(catalog, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180,
+					1 + random.nextInt(20), null, null, id -> true);
+		}
+	}
+
+	@Test
+	void appliesFiltersLikeBruteForce() {
+		Random random = new Random(11);
+		List<HoardingSnapshot> catalog = randomCatalog(random, 400);
+		index.rebuild(catalog);
+
+		Set<HoardingStatus> statuses = Set.of(HoardingStatus.ACTIVE, HoardingStatus.AVAILABLE);
+		Set<HoardingCategory> categories = Set.of(HoardingCategory.RECOMMENDED);
+		LongPredicate evenIds = id -> id % 2 == 0;
+		assertNearest(catalog, 20, 78, 10, statuses, null, id -> true);
+		assertNearest(catalog, 20, 78, 10, null, categories, id -> true);
+		assertNearest(catalog, 20, 78, 10, statuses, categories, evenIds);
+		assertNearest(catalog, 20, 78, 10, Set.of(), Set.of(), evenIds);
+	}
+
+	@Test
+	void returnsEveryLocatedHoardingWhenKExceedsTheCatalog() {
+		List<HoardingSnapshot> catalog = List.of(
+				snapshot(1, 19.0, 72.8, HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED),
+				snapshot(2, null, null, HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED),
+				snapshot(3, 28.6, 77.2, HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED),
+				snapshot(4, Double.NaN, 77.2, HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED),
+				snapshot(5, 13.0, 80.2, HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED));
+		index.rebuild(catalog);
+
+		List<NearestHoardingIndex.Hit> hits = index.nearest(19.0, 72.8, 100, null, null, id -> true);
+
+		assertEquals(List.of(1L, 5L, 3L), hits.stream().map(NearestHoardingIndex.Hit::id).toList());
+		assertEquals(0.0, hits.get(0).distanceKm(), 1e-9);
+	}
+
+	@Test
+	void emptyIndexOrNonPositiveKReturnsNothing() {
+		assertTrue(index.nearest(0, 0, 5, null, null, id -> true).isEmpty());
+
+		index.rebuild(List.of(snapshot(1, 10.0, 10.0, HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED)));
+		assertTrue(index.nearest(0, 0, 0, null, null, id -> true).isEmpty());
+		assertTrue(index.nearest(0, 0, -1, null, null, id -> true).isEmpty());
+	}
+
+	@Test
+	void handlesManyHoardingsAtTheSameSpot() {
+		List<HoardingSnapshot> catalog = new ArrayList<>();
+		for (long id = 1; id <= 40; id++) {
+			catalog.add(snapshot(id, 12.97, 77.59, HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED));
+		}
+		catalog.add(snapshot(41, 13.5, 77.59, HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED));
+		index.rebuild(catalog);
+
+		List<NearestHoardingIndex.Hit> hits = index.nearest(12.97, 77.59, 41, null, null, id -> true);
+
+		assertEquals(41, hits.size());
+		assertEquals(41L, hits.get(40).id());
+	}
+
+	@Test
+	void writesAreVisibleBeforeTheTreeIsRebuilt() {
+		HoardingSnapshot near = snapshot(1, 19.0, 72.8, HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED);
+		HoardingSnapshot far = snapshot(2, 28.6, 77.2, HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED);
+		index.rebuild(List.of(near, far));
+
+		index.remove(near);
+		assertEquals(List.of(2L), ids(index.nearest(19.0, 72.8, 5, null, null, id -> true)));
+
+		HoardingSnapshot booked = snapshot(2, 28.6, 77.2, HoardingStatus.BOOKED, HoardingCategory.RECOMMENDED);
+		index.upsert(far, booked);
+		assertTrue(index.nearest(19.0, 72.8, 5, Set.of(HoardingStatus.ACTIVE), null, id -> true).isEmpty());
+	}
+
+	private void assertNearest(List<HoardingSnapshot> catalog, double lat, double lng, int k,
+							   Set<HoardingStatus> statuses, Set<HoardingCategory> categories, LongPredicate accept) {
+		List<HoardingSnapshot> expected = catalog.stream()
+				.filter(HoardingSnapshot::hasLocation)
+				.filter(s -> statuses == null || statuses.isEmpty() || statuses.contains(s.status()))
+				.filter(s -> categories == null || categories.isEmpty() || categories.contains(s.category()))
+				.filter(s -> accept.test(s.id()))
+				.sorted(Comparator.comparingDouble(s -> distance(s, lat, lng)))
+				.limit(k)
+				.toList();
+
+		List<NearestHoardingIndex.Hit> hits = index.nearest(lat, lng, k, statuses, categories, accept);
+
+		String query = "k=" + k + " at " + lat + "," + lng;
+		assertEquals(expected.stream().map(HoardingSnapshot::id).toList(), ids(hits), query);
+		for (int i = 0; i < hits.size(); i++) {
+			assertEquals(distance(expected.get(i), lat, lng), hits.get(i).distanceKm(), 1e-6, query);
+		}
+	}
+
+	private static List<Long> ids(List<NearestHoardingIndex.Hit> hits) {
+		return hits.stream().map(NearestHoardingIndex.Hit::id).toList();
+	}
+
+	private static double distance(HoardingSnapshot s, double lat, double lng) {
+		return GeoMath.distanceKm(lat, lng, s.latitude(), s.longitude());
+	}
+
+	/** Mostly clustered over India, some anywhere on earth, some without coordinates. */
+	private static List<HoardingSnapshot> randomCatalog(Random random, int size) {
+		List<HoardingSnapshot> catalog = new ArrayList<>(size);
+		for (long id = 1; id <= size; id++) {
+			Double lat;
+			Double lng;
+			int kind = random.nextInt(10);
+			if (kind == 0) {
+				lat = null;
+				lng = null;
+			} else if (kind < 3) {
+				lat = random.nextDouble() * 180 - 90;
+				lng = random.nextDouble() * 360 - 180;
+			} else {
+				lat = 8 + random.nextDouble() * 27;
+				lng = 68 + random.nextDouble() * 29;
+			}
+			catalog.add(snapshot(id, lat, lng, STATUSES[random.nextInt(STATUSES.length)],
+					CATEGORIES[random.nextInt(CATEGORIES.length)]));
+		}
+		return catalog;
+	}
+
+	private static HoardingSnapshot snapshot(long id, Double lat, Double lng,
+											 HoardingStatus status, HoardingCategory category) {
+		return new HoardingSnapshot(id, 1L, "Location " + id, "City", "State", "District", "Landmark",
+				"400001", lat, lng, status, category, 10_000, "Billboard", "Vinyl", null,
+				false, false, false, Instant.EPOCH);
+	}
+}
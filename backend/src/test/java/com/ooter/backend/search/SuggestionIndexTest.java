@@ -0,0 +1,198 @@
+package com.ooter.backend.search;
+
+import com.ooter.backend.entity.HoardingCategory;
+import com.ooter.backend.entity.HoardingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares {@link PrefixTrie} and {@link SuggestionIndex} with a scan over every term, ranked
+ * by weight and then by term order.
+ */
+class SuggestionIndexTest {
+
+	private final SuggestionIndex index = new SuggestionIndex();
+
+	@Test
+	void trieMatchesScanForEveryPrefix() {
+		Random random = new Random(13);
+		// Enough shared prefixes that many nodes cover more terms than the scan threshold.
+		Set<String> terms = new HashSet<>();
+		while (terms.size() < 2000) {
+			terms.add(randomText(random, "abc", 1 + random.nextInt(8)));
+		}
+		String[] keys = terms.stream().sorted().toArray(String[]::new);
+		int[] weights = IntStream.range(0, keys.length).map(i -> random.nextInt(20)).toArray();
+		PrefixTrie trie = new PrefixTrie(keys, weights);
+
+		Set<String> prefixes = new HashSet<>(List.of("", "a", "b", "c", "d", "abcabcabc"));
+		for (String key : keys) {
+			prefixes.add(key.substring(0, random.nextInt(key.length() + 1)));
+		}
+		for (String prefix : prefixes) {
+			for (int limit : new int[]{1, 3, PrefixTrie.TOP_K, 25, keys.length + 1}) {
+				assertArrayEquals(scan(keys, weights, prefix, limit), trie.complete(prefix, limit),
+						"prefix '" + prefix + "' limit " + limit);
+			}
+		}
+	}
+
+	@Test
+	void emptyTrieAndNonPositiveLimitReturnNothing() {
+		assertEquals(0, PrefixTrie.EMPTY.complete("", 5).length);
+
+		PrefixTrie trie = new PrefixTrie(new String[]{"a", "ab"}, new int[]{1, 2});
+		assertEquals(0, trie.complete("a", 0).length);
+		assertEquals(0, trie.complete("a", -1).length);
+		assertEquals(0, trie.complete("abc", 5).length);
+	}
+
+	@Test
+	void prefersHeavierTermsThenEarlierOnes() {
+		PrefixTrie trie = new PrefixTrie(new String[]{"pu", "pune", "pune camp", "punjab"}, new int[]{1, 5, 2, 5});
+
+		assertArrayEquals(new int[]{1, 3, 2, 0}, trie.complete("pu", 10));
+		assertArrayEquals(new int[]{1, 2}, trie.complete("pune", 10));
+	}
+
+	@Test
+	void suggestionsMatchScanOverTheCatalog() {
+		Random random = new Random(17);
+		Map<Long, HoardingSnapshot> catalog = new HashMap<>();
+		for (long id = 1; id <= 500; id++) {
+			catalog.put(id, randomSnapshot(random, id));
+		}
+		index.rebuild(catalog.values());
+		assertSuggestionsMatch(random, catalog);
+
+		// Writes reach suggestions on the next rebuild; rebuild from the same catalog to get there.
+		for (int step = 0; step < 200; step++) {
+			long id = 1 + random.nextInt(600);
+			if (random.nextInt(3) == 0) {
+				catalog.remove(id);
+			} else {
+				catalog.put(id, randomSnapshot(random, id));
+			}
+		}
+		index.rebuild(catalog.values());
+		assertSuggestionsMatch(random, catalog);
+	}
+
+	@Test
+	void countsEachValueOncePerListingAndKeepsFieldsApart() {
+		index.rebuild(List.of(
+				snapshot(1, "Pune", "Pune", "Pune", "411001"),
+				snapshot(2, "Pune Station", " PUNE ", null, "411001"),
+				snapshot(3, "Camp", "Pune", null, "411002")));
+
+		List<SuggestionIndex.Suggestion> suggestions = index.suggest("  pune ", 10);
+
+		assertEquals(List.of(
+				new SuggestionIndex.Suggestion("Pune", SuggestionIndex.Field.CITY, 3),
+				new SuggestionIndex.Suggestion("Pune", SuggestionIndex.Field.LOCATION, 1),
+				new SuggestionIndex.Suggestion("Pune", SuggestionIndex.Field.LANDMARK, 1),
+				new SuggestionIndex.Suggestion("Pune Station", SuggestionIndex.Field.LOCATION, 1)), suggestions);
+		assertEquals(List.of(new SuggestionIndex.Suggestion("411001", SuggestionIndex.Field.PIN_CODE, 2),
+				new SuggestionIndex.Suggestion("411002", SuggestionIndex.Field.PIN_CODE, 1)), index.suggest("411", 10));
+	}
+
+	@Test
+	void blankQueryAndEmptyCatalogSuggestNothing() {
+		assertTrue(index.suggest("pune", 10).isEmpty());
+
+		index.rebuild(List.of(snapshot(1, "Pune", "Pune", null, null)));
+		assertTrue(index.suggest("", 10).isEmpty());
+		assertTrue(index.suggest("   ", 10).isEmpty());
+		assertTrue(index.suggest(null, 10).isEmpty());
+		assertTrue(index.suggest("pune", 0).isEmpty());
+	}
+
+	private void assertSuggestionsMatch(Random random, Map<Long, HoardingSnapshot> catalog) {
+		List<String> queries = new ArrayList<>(List.of("a", "b", "ab", "4", "41", "zzz"));
+		for (int i = 0; i < 100; i++) {
+			queries.add(randomText(random, "abc", 1 + random.nextInt(3)).toUpperCase());
+		}
+		for (String query : queries) {
+			for (int limit : new int[]{1, 4, SuggestionIndex.MAX_SUGGESTIONS, 50}) {
+				assertEquals(scanSuggestions(catalog, query, limit), describe(index.suggest(query, limit)),
+						"query '" + query + "' limit " + limit);
+			}
+		}
+	}
+
+	/** Ranks every term starting with the prefix by weight, then position; the trie's contract. */
+	private static int[] scan(String[] keys, int[] weights, String prefix, int limit) {
+		return IntStream.range(0, keys.length)
+				.filter(p -> keys[p].startsWith(prefix))
+				.boxed()
+				.sorted(Comparator.<Integer>comparingInt(p -> -weights[p]).thenComparingInt(p -> p))
+				.limit(limit)
+				.mapToInt(Integer::intValue)
+				.toArray();
+	}
+
+	/** Suggestions as normalized text, field and count; which raw spelling is shown is not compared. */
+	private static List<String> scanSuggestions(Map<Long, HoardingSnapshot> catalog, String query, int limit) {
+		String prefix = TrigramIndex.normalize(query);
+		if (prefix.isEmpty()) {
+			return List.of();
+		}
+		// Keyed like the index, so iteration order is the order ties are broken in.
+		Map<String, Set<Long>> listings = new TreeMap<>();
+		for (HoardingSnapshot s : catalog.values()) {
+			String[] values = {s.city(), s.location(), s.landmark(), s.pinCode()};
+			for (SuggestionIndex.Field field : SuggestionIndex.Field.values()) {
+				String normalized = TrigramIndex.normalize(values[field.ordinal()]);
+				if (normalized.startsWith(prefix)) {
+					listings.computeIfAbsent(normalized + '\u0000' + field.ordinal(), k -> new HashSet<>()).add(s.id());
+				}
+			}
+		}
+		return listings.entrySet().stream()
+				.sorted(Comparator.comparingInt(e -> -e.getValue().size()))
+				.limit(Math.min(limit, SuggestionIndex.MAX_SUGGESTIONS))
+				.map(e -> e.getKey().replace('\u0000', '/') + "=" + e.getValue().size())
+				.toList();
+	}
+
+	private static List<String> describe(List<SuggestionIndex.Suggestion> suggestions) {
+		return suggestions.stream()
+				.map(s -> TrigramIndex.normalize(s.text()) + "/" + s.field().ordinal() + "=" + s.listings())
+				.toList();
+	}
+
+	private static String randomText(Random random, String alphabet, int length) {
+		StringBuilder text = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return text.toString();
+	}
+
+	private static HoardingSnapshot randomSnapshot(Random random, long id) {
+		return snapshot(id, randomText(random, "abc ", 1 + random.nextInt(5)), randomText(random, "abc", 1 + random.nextInt(3)),
+				random.nextBoolean() ? randomText(random, "abc", 2 + random.nextInt(3)) : null,
+				random.nextInt(4) == 0 ? null : "41" + random.nextInt(30));
+	}
+
+	private static HoardingSnapshot snapshot(long id, String location, String city, String landmark, String pinCode) {
+		return new HoardingSnapshot(id, 1L, location, city, null, null, landmark, pinCode, null, null,
+				HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED, 10_000, null, null, null,
+				false, false, false, Instant.EPOCH);
+	}
+}
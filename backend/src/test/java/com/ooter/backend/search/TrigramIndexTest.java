@@ -0,0 +1,230 @@
+package com.ooter.backend.search;
+
+import com.ooter.backend.entity.HoardingCategory;
+import com.ooter.backend.entity.HoardingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares {@link TrigramIndex} with a substring scan over the same normalized fields, and
+ * {@link PostingList} with a {@link TreeSet}.
+ */
+class TrigramIndexTest {
+
+	private static final String ALPHABET = "abcde ";
+
+	private final TrigramIndex index = new TrigramIndex();
+
+	@Test
+	void matchesSubstringScanForRandomQueries() {
+		Random random = new Random(3);
+		Map<Long, HoardingSnapshot> catalog = new HashMap<>();
+		for (long id = 1; id <= 300; id++) {
+			catalog.put(id, randomSnapshot(random, id));
+		}
+		index.rebuild(catalog.values());
+
+		assertQueriesMatch(random, catalog);
+	}
+
+	@Test
+	void staysConsistentThroughUpsertsAndRemovals() {
+		Random random = new Random(5);
+		Map<Long, HoardingSnapshot> catalog = new HashMap<>();
+		for (long id = 1; id <= 200; id++) {
+			catalog.put(id, randomSnapshot(random, id));
+		}
+		index.rebuild(catalog.values());
+
+		long nextId = 201;
+		for (int step = 0; step < 600; step++) {
+			int action = random.nextInt(3);
+			if (action == 0 && !catalog.isEmpty()) {
+				HoardingSnapshot removed = catalog.remove(anyId(random, catalog));
+				index.remove(removed);
+			} else if (action == 1 && !catalog.isEmpty()) {
+				long id = anyId(random, catalog);
+				HoardingSnapshot updated = randomSnapshot(random, id);
+				index.upsert(catalog.put(id, updated), updated);
+			} else {
+				// New listings take the ordinals freed by removals.
+				HoardingSnapshot added = randomSnapshot(random, nextId++);
+				catalog.put(added.id(), added);
+				index.upsert(null, added);
+			}
+		}
+
+		assertQueriesMatch(random, catalog);
+	}
+
+	@Test
+	void shortQueriesAreNotServed() {
+		index.rebuild(List.of(snapshot(1, "Andheri East", "Mumbai", null)));
+
+		assertNull(index.search("", 10, id -> true));
+		assertNull(index.search("  m ", 10, id -> true));
+		assertNull(index.search(null, 10, id -> true));
+	}
+
+	@Test
+	void twoCharacterQueriesMatchAtTheStartOfAWord() {
+		index.rebuild(List.of(
+				snapshot(1, "Andheri East", "Mumbai", null),
+				snapshot(2, "Bandra", "Mumbai", null),
+				snapshot(3, "Connaught Place", "Delhi", "Near Ea Gate")));
+
+		assertEquals(Set.of(1L, 3L), ids(index.search("ea", 10, id -> true)));
+		assertEquals(Set.of(1L, 2L), ids(index.search("mu", 10, id -> true)));
+		assertTrue(index.search("nd", 10, id -> true).isEmpty());
+	}
+
+	@Test
+	void ranksExactThenPrefixThenSubstringMatches() {
+		index.rebuild(List.of(
+				snapshot(1, "Old Pune Road", "Satara", null),
+				snapshot(2, "Pune Station", "Satara", null),
+				snapshot(3, "Pune", "Satara", null)));
+
+		List<TrigramIndex.Hit> hits = index.search("PUNE", 10, id -> true);
+
+		assertEquals(List.of(3L, 2L, 1L), hits.stream().map(TrigramIndex.Hit::id).toList());
+	}
+
+	@Test
+	void nonPositiveLimitReturnsNothing() {
+		index.rebuild(List.of(snapshot(1, "Andheri East", "Mumbai", null)));
+
+		assertTrue(index.search("andheri", 0, id -> true).isEmpty());
+	}
+
+	@Test
+	void appliesLimitAndAcceptFilter() {
+		List<HoardingSnapshot> catalog = new ArrayList<>();
+		for (long id = 1; id <= 20; id++) {
+			catalog.add(snapshot(id, "Ring Road " + id, "Nagpur", null));
+		}
+		index.rebuild(catalog);
+
+		List<TrigramIndex.Hit> hits = index.search("ring road", 5, id -> id % 2 == 0);
+
+		assertEquals(List.of(2L, 4L, 6L, 8L, 10L), hits.stream().map(TrigramIndex.Hit::id).toList());
+	}
+
+	@Test
+	void postingListMatchesASortedSet() {
+		Random random = new Random(9);
+		PostingList list = new PostingList();
+		TreeSet<Integer> expected = new TreeSet<>();
+		for (int i = 0; i < 5000; i++) {
+			int doc = random.nextInt(300);
+			if (random.nextInt(3) == 0) {
+				list.remove(doc);
+				expected.remove(doc);
+			} else {
+				list.add(doc);
+				expected.add(doc);
+			}
+			if (i % 100 == 0) {
+				int probe = random.nextInt(300);
+				assertEquals(expected.contains(probe), list.contains(probe));
+			}
+		}
+		assertEquals(expected.size(), list.size());
+		assertEquals(expected.stream().toList(), Arrays.stream(list.toArray()).boxed().toList());
+	}
+
+	private void assertQueriesMatch(Random random, Map<Long, HoardingSnapshot> catalog) {
+		List<String> queries = new ArrayList<>(List.of("ab", "a b", "ABC", "  a   b ", "eee", "dc", "bad"));
+		List<HoardingSnapshot> values = new ArrayList<>(catalog.values());
+		for (int i = 0; i < 150; i++) {
+			if (i % 2 == 0 && !values.isEmpty()) {
+				String field = fields(values.get(random.nextInt(values.size())))
+						.get(random.nextInt(6));
+				if (field.length() >= 2) {
+					int from = random.nextInt(field.length() - 1);
+					int to = Math.min(field.length(), from + 2 + random.nextInt(5));
+					queries.add(field.substring(from, to).toUpperCase());
+				}
+			} else {
+				queries.add(randomText(random, 2 + random.nextInt(3)));
+			}
+		}
+		for (String query : queries) {
+			List<TrigramIndex.Hit> hits = index.search(query, Integer.MAX_VALUE, id -> true);
+			if (TrigramIndex.normalize(query).length() < TrigramIndex.MIN_QUERY_LENGTH) {
+				assertNull(hits, "query '" + query + "'");
+			} else {
+				assertEquals(scan(catalog, query), ids(hits), "query '" + query + "'");
+			}
+		}
+	}
+
+	/** Substring match on any field, or word-prefix match for two-character queries. */
+	private static Set<Long> scan(Map<Long, HoardingSnapshot> catalog, String query) {
+		String q = TrigramIndex.normalize(query);
+		Set<Long> matches = new TreeSet<>();
+		for (HoardingSnapshot s : catalog.values()) {
+			for (String field : fields(s)) {
+				boolean match = q.length() < 3 ? (" " + field).contains(" " + q) : field.contains(q);
+				if (!field.isEmpty() && match) {
+					matches.add(s.id());
+					break;
+				}
+			}
+		}
+		return matches;
+	}
+
+	private static List<String> fields(HoardingSnapshot s) {
+		return Stream.of(s.location(), s.city(), s.state(), s.landmark(), s.district(), s.pinCode())
+				.map(TrigramIndex::normalize)
+				.toList();
+	}
+
+	private static Set<Long> ids(List<TrigramIndex.Hit> hits) {
+		return hits.stream().map(TrigramIndex.Hit::id).collect(Collectors.toCollection(TreeSet::new));
+	}
+
+	private static long anyId(Random random, Map<Long, HoardingSnapshot> catalog) {
+		List<Long> ids = new ArrayList<>(catalog.keySet());
+		return ids.get(random.nextInt(ids.size()));
+	}
+
+	private static String randomText(Random random, int length) {
+		StringBuilder text = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		}
+		return text.toString();
+	}
+
+	private static HoardingSnapshot randomSnapshot(Random random, long id) {
+		return new HoardingSnapshot(id, 1L, randomText(random, 3 + random.nextInt(10)),
+				randomText(random, 3 + random.nextInt(6)), random.nextBoolean() ? randomText(random, 4) : null,
+				random.nextBoolean() ? randomText(random, 5) : null, random.nextBoolean() ? randomText(random, 6) : null,
+				random.nextInt(4) == 0 ? null : "4110" + random.nextInt(10), null, null,
+				HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED, 10_000, null, null, null,
+				false, false, false, Instant.EPOCH);
+	}
+
+	private static HoardingSnapshot snapshot(long id, String location, String city, String landmark) {
+		return new HoardingSnapshot(id, 1L, location, city, null, null, landmark, null, null, null,
+				HoardingStatus.ACTIVE, HoardingCategory.RECOMMENDED, 10_000, null, null, null,
+				false, false, false, Instant.EPOCH);
+	}
+}
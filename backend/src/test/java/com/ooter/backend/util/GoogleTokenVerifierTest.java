@@ -0,0 +1,150 @@
+package com.ooter.backend.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies tokens against a local JWKS endpoint standing in for Google's, counting how often
+ * the keys are fetched.
+ */
+class GoogleTokenVerifierTest {
+
+	private static final String CLIENT_ID = "test-client-id";
+
+	private final Map<String, KeyPair> published = new ConcurrentHashMap<>();
+	private final AtomicInteger fetches = new AtomicInteger();
+	private HttpServer jwks;
+	private GoogleSigningKeys signingKeys;
+	private GoogleTokenVerifier verifier;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		published.put("key-1", newKeyPair());
+		jwks = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		jwks.createContext("/certs", exchange -> {
+			fetches.incrementAndGet();
+			byte[] body = jwksJson().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600, must-revalidate");
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		jwks.start();
+		signingKeys = new GoogleSigningKeys(new ObjectMapper(),
+				URI.create("http://127.0.0.1:" + jwks.getAddress().getPort() + "/certs"),
+				Duration.ofMinutes(5), Duration.ZERO, Duration.ofSeconds(2));
+		verifier = new GoogleTokenVerifier(signingKeys, CLIENT_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		signingKeys.shutdown();
+		jwks.stop(0);
+	}
+
+	@Test
+	void verifiesLocallyAfterTheFirstFetch() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			GoogleTokenVerifier.GoogleUser user = verifier.verify(token("key-1", published.get("key-1"), CLIENT_ID));
+			assertEquals("user@example.com", user.email);
+			assertEquals("google-123", user.googleId);
+		}
+		assertEquals(1, fetches.get());
+	}
+
+	@Test
+	void fetchesAgainWhenGoogleRotatesToAnUnknownKey() throws Exception {
+		verifier.verify(token("key-1", published.get("key-1"), CLIENT_ID));
+		published.put("key-2", newKeyPair());
+
+		GoogleTokenVerifier.GoogleUser user = verifier.verify(token("key-2", published.get("key-2"), CLIENT_ID));
+
+		assertEquals("user@example.com", user.email);
+		assertEquals(2, fetches.get());
+	}
+
+	@Test
+	void rejectsForeignSignaturesAudiencesAndIssuers() throws Exception {
+		assertThrows(RuntimeException.class, () -> verifier.verify(token("key-1", newKeyPair(), CLIENT_ID)));
+		assertThrows(RuntimeException.class, () -> verifier.verify(token("key-1", published.get("key-1"), "other-client")));
+		assertThrows(RuntimeException.class, () -> verifier.verify(Jwts.builder()
+				.setHeaderParam("kid", "key-1")
+				.setIssuer("https://evil.example.com")
+				.setAudience(CLIENT_ID)
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(published.get("key-1").getPrivate(), SignatureAlgorithm.RS256)
+				.compact()));
+	}
+
+	@Test
+	void limitsFetchesForUnknownKeysToTheMinimumInterval() throws Exception {
+		GoogleSigningKeys throttled = new GoogleSigningKeys(new ObjectMapper(),
+				URI.create("http://127.0.0.1:" + jwks.getAddress().getPort() + "/certs"),
+				Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofSeconds(2));
+		try {
+			GoogleTokenVerifier throttledVerifier = new GoogleTokenVerifier(throttled, CLIENT_ID);
+			for (int i = 0; i < 5; i++) {
+				assertThrows(RuntimeException.class,
+						() -> throttledVerifier.verify(token("unknown", newKeyPair(), CLIENT_ID)));
+			}
+			assertEquals(1, fetches.get());
+		} finally {
+			throttled.shutdown();
+		}
+	}
+
+	private static String token(String keyId, KeyPair keyPair, String audience) {
+		return Jwts.builder()
+				.setHeaderParam("kid", keyId)
+				.setIssuer("https://accounts.google.com")
+				.setAudience(audience)
+				.setSubject("google-123")
+				.claim("email", "user@example.com")
+				.claim("name", "Test User")
+				.setIssuedAt(new Date())
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+				.compact();
+	}
+
+	private String jwksJson() {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		return published.entrySet().stream()
+				.map(entry -> {
+					RSAPublicKey key = (RSAPublicKey) entry.getValue().getPublic();
+					return "{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"" + entry.getKey()
+							+ "\",\"n\":\"" + encoder.encodeToString(key.getModulus().toByteArray())
+							+ "\",\"e\":\"" + encoder.encodeToString(key.getPublicExponent().toByteArray()) + "\"}";
+				})
+				.collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+	}
+
+	private static KeyPair newKeyPair() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		return generator.generateKeyPair();
+	}
+}